@@ -122,12 +122,12 @@ public class CustomTranslationManagementServiceImpl implements CustomTranslation
 
     @Override
     public List<Entity> getCustomTranslations(final String locale) {
-        return getCustomTranslationDD().find().add(SearchRestrictions.eq(LOCALE, locale)).list().getEntities();
+        return getCustomTranslationDD().find().add(SearchRestrictions.eq(LOCALE, locale)).listWithoutCount().getEntities();
     }
 
     @Override
     public List<Entity> getCustomTranslations() {
-        return getCustomTranslationDD().find().list().getEntities();
+        return getCustomTranslationDD().find().listWithoutCount().getEntities();
     }
 
     @Override
@@ -37,7 +37,6 @@ import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchRestrictions;
-import com.qcadoo.model.api.search.SearchResult;
 import com.qcadoo.plugin.api.PluginStateResolver;
 
 @Service
@@ -62,9 +61,7 @@ public final class CustomTranslationModelHooks {
             searchCriteriaBuilder.add(SearchRestrictions.ne("id", customTranslation.getId()));
         }
 
-        SearchResult searchResult = searchCriteriaBuilder.list();
-
-        if (!searchResult.getEntities().isEmpty()) {
+        if (searchCriteriaBuilder.exists()) {
             customTranslation.addError(customTranslationDD.getField(KEY),
                     "customTranslation.customTranslation.error.customTranslationIsntUnique");
 
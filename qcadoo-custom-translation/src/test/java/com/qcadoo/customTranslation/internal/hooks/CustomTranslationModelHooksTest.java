@@ -32,8 +32,6 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
-import java.util.List;
-
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -49,7 +47,6 @@ import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchCriterion;
-import com.qcadoo.model.api.search.SearchResult;
 import com.qcadoo.plugin.api.PluginStateResolver;
 
 @Ignore
@@ -72,12 +69,6 @@ public class CustomTranslationModelHooksTest {
     @Mock
     private SearchCriteriaBuilder searchCriteriaBuilder;
 
-    @Mock
-    private SearchResult searchResult;
-
-    @Mock
-    private List<Entity> customTranslations;
-
     @Before
     public void init() {
         MockitoAnnotations.initMocks(this);
@@ -99,9 +90,7 @@ public class CustomTranslationModelHooksTest {
 
         given(customTranslationDD.find()).willReturn(searchCriteriaBuilder);
         given(searchCriteriaBuilder.add(Mockito.any(SearchCriterion.class))).willReturn(searchCriteriaBuilder);
-        given(searchCriteriaBuilder.list()).willReturn(searchResult);
-        given(searchResult.getEntities()).willReturn(customTranslations);
-        given(customTranslations.isEmpty()).willReturn(true);
+        given(searchCriteriaBuilder.exists()).willReturn(false);
 
         // when
         boolean result = customTranslationModelHooks.checkIfCustomTranslationIsUnique(customTranslationDD, customTranslation);
@@ -123,9 +112,7 @@ public class CustomTranslationModelHooksTest {
 
         given(customTranslationDD.find()).willReturn(searchCriteriaBuilder);
         given(searchCriteriaBuilder.add(Mockito.any(SearchCriterion.class))).willReturn(searchCriteriaBuilder);
-        given(searchCriteriaBuilder.list()).willReturn(searchResult);
-        given(searchResult.getEntities()).willReturn(customTranslations);
-        given(customTranslations.isEmpty()).willReturn(true);
+        given(searchCriteriaBuilder.exists()).willReturn(false);
 
         // when
         boolean result = customTranslationModelHooks.checkIfCustomTranslationIsUnique(customTranslationDD, customTranslation);
@@ -151,9 +138,7 @@ public class CustomTranslationModelHooksTest {
 
         given(customTranslationDD.find()).willReturn(searchCriteriaBuilder);
         given(searchCriteriaBuilder.add(Mockito.any(SearchCriterion.class))).willReturn(searchCriteriaBuilder);
-        given(searchCriteriaBuilder.list()).willReturn(searchResult);
-        given(searchResult.getEntities()).willReturn(customTranslations);
-        given(customTranslations.isEmpty()).willReturn(false);
+        given(searchCriteriaBuilder.exists()).willReturn(true);
 
         // when
         boolean result = customTranslationModelHooks.checkIfCustomTranslationIsUnique(customTranslationDD, customTranslation);
@@ -179,9 +164,7 @@ public class CustomTranslationModelHooksTest {
 
         given(customTranslationDD.find()).willReturn(searchCriteriaBuilder);
         given(searchCriteriaBuilder.add(Mockito.any(SearchCriterion.class))).willReturn(searchCriteriaBuilder);
-        given(searchCriteriaBuilder.list()).willReturn(searchResult);
-        given(searchResult.getEntities()).willReturn(customTranslations);
-        given(customTranslations.isEmpty()).willReturn(false);
+        given(searchCriteriaBuilder.exists()).willReturn(true);
 
         // when
         boolean result = customTranslationModelHooks.checkIfCustomTranslationIsUnique(customTranslationDD, customTranslation);
@@ -28,13 +28,17 @@ import static com.qcadoo.commons.functional.Either.left;
 import static com.qcadoo.commons.functional.Either.right;
 
 import java.text.ParseException;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.time.DateFormatUtils;
 import org.joda.time.DateTime;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
 import com.qcadoo.commons.functional.Either;
 
 /**
@@ -66,6 +70,11 @@ public final class DateUtils {
     private static final String[] SUPPORTED_PATTERNS = new String[] { L_DATE_TIME_FORMAT, "yyyy-MM-dd HH:mm:",
             "yyyy-MM-dd HH:mm", "yyyy-MM-dd HH:", "yyyy-MM-dd HH", "yyyy-MM-dd", "yyyy-MM-", "yyyy-MM", "yyyy-", "yyyy" };
 
+    private static final String[] DATE_TIME_AND_DATE_PATTERNS = new String[] { L_DATE_TIME_FORMAT, L_DATE_FORMAT };
+
+    // SimpleDateFormat isn't thread-safe, so strict parsers are reused only within a thread
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> STRICT_PARSERS = ThreadLocal.withInitial(Maps::newHashMap);
+
     private DateUtils() {
     }
 
@@ -104,8 +113,7 @@ public final class DateUtils {
      */
     public static Date parseAndComplete(final String dateExpression, final boolean upComplete) throws ParseException {
         final String trimmedDateExpression = StringUtils.trim(dateExpression);
-        DateTime parsedDate = new DateTime(org.apache.commons.lang3.time.DateUtils.parseDateStrictly(trimmedDateExpression,
-                SUPPORTED_PATTERNS));
+        DateTime parsedDate = new DateTime(parseDateStrictly(trimmedDateExpression, SUPPORTED_PATTERNS));
 
         final String[] dateAndTime = trimmedDateExpression.split(" ");
         if (dateAndTime.length > 2 || parsedDate.getYear() < 1500 || parsedDate.getYear() > 2500) {
@@ -210,8 +218,7 @@ public final class DateUtils {
         if (value instanceof String) {
             if (StringUtils.isNotBlank((String) value)) {
                 try {
-                    date = org.apache.commons.lang3.time.DateUtils.parseDateStrictly((String) value, new String[] {
-                            DateUtils.L_DATE_TIME_FORMAT, DateUtils.L_DATE_FORMAT });
+                    date = parseDateStrictly((String) value, DATE_TIME_AND_DATE_PATTERNS);
                 } catch (ParseException e) {
                     throw new IllegalArgumentException(String.format(PARSE_EXCEPTION_MSG, value), e);
                 }
@@ -227,12 +234,45 @@ public final class DateUtils {
         return date;
     }
 
+    /**
+     * Same as {@link org.apache.commons.lang3.time.DateUtils#parseDateStrictly(String, String...)}, but doesn't build new
+     * parsers on every call.
+     */
+    private static Date parseDateStrictly(final String value, final String[] patterns) throws ParseException {
+        if (value == null) {
+            throw new IllegalArgumentException("Date and Patterns must not be null");
+        }
+
+        Map<String, SimpleDateFormat> parsers = STRICT_PARSERS.get();
+        ParsePosition position = new ParsePosition(0);
+
+        for (String pattern : patterns) {
+            SimpleDateFormat parser = parsers.computeIfAbsent(pattern, DateUtils::createStrictParser);
+
+            position.setIndex(0);
+            position.setErrorIndex(-1);
+
+            Date date = parser.parse(value, position);
+
+            if (date != null && position.getIndex() == value.length()) {
+                return date;
+            }
+        }
+
+        throw new ParseException("Unable to parse the date: " + value, -1);
+    }
+
+    private static SimpleDateFormat createStrictParser(final String pattern) {
+        SimpleDateFormat parser = new SimpleDateFormat(pattern);
+        parser.setLenient(false);
+        return parser;
+    }
+
     public static Either<? extends Exception, Optional<DateTime>> tryParse(final Object value) {
         if (value instanceof String) {
             if (StringUtils.isNotBlank((String) value)) {
                 try {
-                    Date date = org.apache.commons.lang3.time.DateUtils.parseDateStrictly((String) value, new String[] {
-                            DateUtils.L_DATE_TIME_FORMAT, DateUtils.L_DATE_FORMAT });
+                    Date date = parseDateStrictly((String) value, DATE_TIME_AND_DATE_PATTERNS);
                     return right(of(new DateTime(date)));
                 } catch (ParseException e) {
                     return left(new IllegalArgumentException(String.format(PARSE_EXCEPTION_MSG, value), e));
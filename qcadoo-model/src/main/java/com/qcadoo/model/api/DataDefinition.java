@@ -29,6 +29,7 @@ import com.qcadoo.model.api.search.SearchQueryBuilder;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Object defines database structure. The {@link #getPluginIdentifier()} and {@link #getName()} are used to calculate table name.
@@ -60,6 +61,19 @@ public interface DataDefinition {
      */
     Entity get(final Long id);
 
+    /**
+     * Return the read-only entity related with this data definition, by its id. Read-only entity is meant for internal scans
+     * (reports, exports, lookups): no view hooks are called, expression fields are evaluated on first access, belongsTo fields
+     * are converted on first access and Hibernate doesn't dirty-check the loaded database entity. Any attempt to modify it
+     * throws {@link UnsupportedOperationException}, use {@link Entity#copy()} to get a modifiable copy.
+     * 
+     * @param id
+     *            id
+     * @return read-only entity
+     * @since 1.5
+     */
+    Entity getReadOnly(final Long id);
+
     /**
      * Return the entity related with master model data definition, by its id.
      * 
@@ -140,6 +154,38 @@ public interface DataDefinition {
      */
     long count(final SearchCriterion criterion);
 
+    /**
+     * Streams entities found by given criteria one by one, using forward-only database cursor and stateless session. Memory
+     * usage doesn't depend on number of found entities, which makes it suitable for large batch jobs. Entities' belongsTo fields
+     * which weren't fetched using {@link SearchCriteriaBuilder#fetch(String)} are lazy proxies loaded by the current session,
+     * the same goes for hasMany and manyToMany fields. Consumer is called within read-only transaction (or the caller's one, if
+     * there is any).
+     *
+     * @param searchCriteriaBuilder
+     *          criteria created using {@link #find()}
+     * @param consumer
+     *          consumer called for each found entity
+     * @return number of streamed entities
+     * @since 1.5
+     */
+    int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final Consumer<Entity> consumer);
+
+    /**
+     * Streams entities found by given criteria in chunks of given size, see {@link #stream(SearchCriteriaBuilder, Consumer)}.
+     * Each chunk is processed in its own transaction, which is committed before the next chunk is passed to the consumer.
+     *
+     * @param searchCriteriaBuilder
+     *          criteria created using {@link #find()}
+     * @param chunkSize
+     *          maximum number of entities in chunk
+     * @param chunkConsumer
+     *          consumer called for each chunk of found entities
+     * @return number of streamed entities
+     * @since 1.5
+     */
+    int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final int chunkSize,
+            final Consumer<List<Entity>> chunkConsumer);
+
     /**
      * Create search criteria builder for this data definition. Root data definition will use given alias. This is usable for
      * subqueries.
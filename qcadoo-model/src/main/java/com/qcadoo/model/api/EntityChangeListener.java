@@ -0,0 +1,66 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.api;
+
+/**
+ * Listener notified about entities saved or deleted through {@link DataDefinition}. All beans implementing this interface are
+ * registered automatically.
+ * 
+ * Listeners are called synchronously, inside the transaction which modifies the entity, so they should only do cheap work like
+ * invalidating caches.
+ * 
+ * @since 1.5
+ */
+public interface EntityChangeListener {
+
+    /**
+     * Called after entity has been saved.
+     * 
+     * @param dataDefinition
+     *            data definition of saved entity
+     * @param savedEntity
+     *            saved entity
+     */
+    void onSave(DataDefinition dataDefinition, Entity savedEntity);
+
+    /**
+     * Called after entity has been deleted.
+     * 
+     * @param dataDefinition
+     *            data definition of deleted entity
+     * @param entityId
+     *            id of deleted entity
+     */
+    void onDelete(DataDefinition dataDefinition, Long entityId);
+
+    /**
+     * Called after entities have been updated by a single bulk statement, without per-entity notifications, e.g. when
+     * priorities of entities are shifted.
+     * 
+     * @param dataDefinition
+     *            data definition of updated entities
+     */
+    void onBulkUpdate(DataDefinition dataDefinition);
+
+}
@@ -29,8 +29,9 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * Describes monitorable attributes on a method. Every call of this method will be logged into log file (method name, parameters
- * and the time of execution).
+ * Describes monitorable attributes on a method. Calls of such method are measured by the probe from qcadoo-monitoring plugin
+ * (if it is installed and enabled): durations are collected per method and calls taking longer than threshold are logged into
+ * PERFORMANCE log, together with sampled method's parameters.
  * 
  * @since 0.4.0
  */
@@ -39,7 +40,7 @@ import java.lang.annotation.Target;
 public @interface Monitorable {
 
     /**
-     * Number of milliseconds over which the warn is logged.
+     * Number of milliseconds over which the warn is logged and the call is counted as slow.
      * 
      * @return time threshold
      */
@@ -0,0 +1,112 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.api.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Single value of a metric, identified by name and labels. Samples of one metric family (e.g. buckets, count and sum of a
+ * histogram) share the family name and type, which is what Prometheus needs to interpret them.
+ * 
+ * @since 1.5
+ */
+public final class MetricSample {
+
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM, SUMMARY;
+
+        public String getPrometheusName() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+    }
+
+    private final String family;
+
+    private final Type type;
+
+    private final String name;
+
+    private final Map<String, String> labels;
+
+    private final double value;
+
+    public MetricSample(final String family, final Type type, final String name, final Map<String, String> labels,
+            final double value) {
+        this.family = family;
+        this.type = type;
+        this.name = name;
+        this.labels = ImmutableMap.copyOf(labels);
+        this.value = value;
+    }
+
+    public MetricSample(final Type type, final String name, final String labelName, final String labelValue,
+            final double value) {
+        this(name, type, name, ImmutableMap.of(labelName, labelValue), value);
+    }
+
+    public MetricSample(final Type type, final String name, final double value) {
+        this(name, type, name, ImmutableMap.<String, String> of(), value);
+    }
+
+    public MetricSample(final String name, final Map<String, String> labels, final double value) {
+        this(name, Type.GAUGE, name, labels, value);
+    }
+
+    public MetricSample(final String name, final double value) {
+        this(name, ImmutableMap.<String, String> of(), value);
+    }
+
+    public MetricSample(final String name, final String labelName, final String labelValue, final double value) {
+        this(name, ImmutableMap.of(labelName, labelValue), value);
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return name + labels + " " + value;
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.api.metrics;
+
+import java.util.List;
+
+/**
+ * In-process registry of metrics. Latencies are kept as histograms, counters only grow, and gauges are read from
+ * {@link MetricsSource} beans when samples are requested.
+ * 
+ * @since 1.5
+ */
+public interface MetricsService {
+
+    /**
+     * Records single duration in histogram with given name and label.
+     * 
+     * @param name
+     *            name of the histogram, e.g. qcadoo_model_query_duration_seconds
+     * @param labelName
+     *            name of the label
+     * @param labelValue
+     *            value of the label
+     * @param durationInNanos
+     *            measured duration, in nanoseconds
+     */
+    void recordTime(String name, String labelName, String labelValue, long durationInNanos);
+
+    /**
+     * Increments counter with given name and label.
+     * 
+     * @param name
+     *            name of the counter, e.g. qcadoo_model_query_rows_total
+     * @param labelName
+     *            name of the label
+     * @param labelValue
+     *            value of the label
+     * @param amount
+     *            amount to add
+     */
+    void increment(String name, String labelName, String labelValue, long amount);
+
+    /**
+     * Returns current values of all histograms, counters and gauges.
+     * 
+     * @return samples
+     */
+    List<MetricSample> getSamples();
+
+}
@@ -0,0 +1,80 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.api.metrics;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Summary of SQL statements executed during single profiled scope, e.g. one view event.
+ * 
+ * @since 1.5
+ */
+public final class QueryProfile {
+
+    private final String name;
+
+    private final int queryCount;
+
+    private final long databaseTimeInNanos;
+
+    private final Map<String, Integer> repeatedStatements;
+
+    public QueryProfile(final String name, final int queryCount, final long databaseTimeInNanos,
+            final Map<String, Integer> repeatedStatements) {
+        this.name = name;
+        this.queryCount = queryCount;
+        this.databaseTimeInNanos = databaseTimeInNanos;
+        this.repeatedStatements = ImmutableMap.copyOf(repeatedStatements);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getDatabaseTimeInNanos() {
+        return databaseTimeInNanos;
+    }
+
+    /**
+     * Returns fingerprints (statements without literals) of statements which were executed at least as many times as the
+     * configured threshold, together with number of their executions.
+     * 
+     * @return repeated statements
+     */
+    public Map<String, Integer> getRepeatedStatements() {
+        return repeatedStatements;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + queryCount + " queries, " + databaseTimeInNanos / 1000000 + " ms";
+    }
+
+}
@@ -0,0 +1,57 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.api.metrics;
+
+/**
+ * Counts SQL statements executed by the current thread, to find N+1 selects hidden behind lazy loaded entities and lists.
+ * Profiling is meant for development and is disabled by default (queryProfilingEnabled property).
+ * 
+ * @since 1.5
+ */
+public interface QueryProfilingService {
+
+    /**
+     * Returns true if profiling is enabled.
+     * 
+     * @return true if profiling is enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Starts counting statements executed by the current thread. Does nothing if profiling is disabled or some profile is
+     * already started in the current thread (nested scope is counted into the outer one).
+     * 
+     * @param name
+     *            name of the scope, used in warnings, e.g. plugin/view
+     */
+    void startProfile(String name);
+
+    /**
+     * Finishes the profile started by {@link #startProfile(String)}.
+     * 
+     * @return summary of the finished profile or null if profiling is disabled or it was nested scope
+     */
+    QueryProfile finishProfile();
+
+}
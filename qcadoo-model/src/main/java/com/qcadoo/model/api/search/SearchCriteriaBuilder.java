@@ -59,6 +59,16 @@ public interface SearchCriteriaBuilder {
      */
     SearchResult list();
 
+    /**
+     * Finds entities using this criteria, without counting all matching entities up front. Total number of entities is counted
+     * lazily, on the first call of {@link SearchResult#getTotalNumberOfEntities()}, within the current session - or not at all
+     * when the fetched page already determines it.
+     * 
+     * @return search result
+     * @since 1.5
+     */
+    SearchResult listWithoutCount();
+
     /**
      * Finds unique entity.
      * 
@@ -66,6 +76,15 @@ public interface SearchCriteriaBuilder {
      */
     Entity uniqueResult();
 
+    /**
+     * Checks if there is any entity matching this criteria. Unlike {@link #list()} it neither counts nor converts matching
+     * entities - only a single row is fetched.
+     * 
+     * @return true if at least one entity matches this criteria
+     * @since 1.5
+     */
+    boolean exists();
+
     /**
      * Sets the ascending order by given field, by default there is an order by id.
      * 
@@ -189,6 +208,28 @@ public interface SearchCriteriaBuilder {
 
     boolean existsAliasForAssociation(final String association);
 
+    /**
+     * Adds association to the fetch plan of this criteria. Entities referenced by the given path of belongsTo fields are
+     * fetched by the same query (using left outer joins) and are converted together with the found entities, instead of being
+     * loaded one by one later. All intermediate associations of the path are fetched too, e.g. fetch("product.unit") fetches
+     * both product and its unit.
+     * 
+     * @param associationPath
+     *            path of belongsTo fields, separated by dots
+     * @return this search builder
+     * @since 1.5
+     */
+    SearchCriteriaBuilder fetch(final String associationPath);
+
+    /**
+     * Makes this criteria return read-only entities, see {@link com.qcadoo.model.api.DataDefinition#getReadOnly(Long)}.
+     * Entities are loaded by Hibernate in read-only mode, so they are not dirty-checked on flush.
+     * 
+     * @return this search builder
+     * @since 1.5
+     */
+    SearchCriteriaBuilder readOnly();
+
     /**
      * Enable caching of this query result, provided query caching is enabled for the underlying session factory.
      * 
@@ -39,6 +39,7 @@ import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.internal.api.DataAccessService;
 import com.qcadoo.model.internal.api.InternalDataDefinition;
 import com.qcadoo.model.internal.search.InExpressionIgnoringCase;
+import com.qcadoo.model.internal.search.LowerCaseLikeExpression;
 import com.qcadoo.model.internal.search.SearchConjunctionImpl;
 import com.qcadoo.model.internal.search.SearchCriterionImpl;
 import com.qcadoo.model.internal.search.SearchDisjunctionImpl;
@@ -263,6 +264,28 @@ public final class SearchRestrictions {
         return new SearchCriterionImpl(Restrictions.ilike(field, convertWildcards(value), mode.getHibernateMatchMode()));
     }
 
+    /**
+     * Creates criterion which checks if lower-cased field is equal (using "like" operator) to lower-cased given value. It
+     * matches the same values as {@link #ilike(String, String, SearchMatchMode)}, but with {@link SearchMatchMode#START} it can
+     * be served by an index on lower-cased field, e.g. "create index ... on table (lower(field) text_pattern_ops)" on PostgreSQL.
+     * 
+     * @param field
+     *            field
+     * @param value
+     *            value
+     * @param mode
+     *            match mode
+     * @return criterion
+     * @since 1.5
+     */
+    public static SearchCriterion lowerCaseLike(final String field, final String value, final SearchMatchMode mode) {
+        if (value == null) {
+            return isNull(field);
+        }
+        return new SearchCriterionImpl(new LowerCaseLikeExpression(field, mode.getHibernateMatchMode().toMatchString(
+                convertWildcards(value))));
+    }
+
     private static String convertWildcards(final String value) {
         return StringUtils.replaceEach(value, QCADOO_WILDCARDS, HIBERNATE_WILDCARDS);
     }
@@ -28,6 +28,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -37,11 +38,18 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Matcher;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.criterion.Restrictions;
 import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,17 +57,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.qcadoo.localization.api.TranslationService;
 import com.qcadoo.model.api.CopyException;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.DataDefinitionService;
 import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.EntityChangeListener;
 import com.qcadoo.model.api.EntityList;
 import com.qcadoo.model.api.EntityMessagesHolder;
 import com.qcadoo.model.api.EntityOpResult;
@@ -67,6 +81,8 @@ import com.qcadoo.model.api.ExpressionService;
 import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.api.aop.Auditable;
 import com.qcadoo.model.api.aop.Monitorable;
+import com.qcadoo.model.api.metrics.MetricsService;
+import com.qcadoo.model.api.search.SearchProjections;
 import com.qcadoo.model.api.search.SearchRestrictions;
 import com.qcadoo.model.api.search.SearchResult;
 import com.qcadoo.model.api.types.Cascadeable;
@@ -88,6 +104,7 @@ import com.qcadoo.model.internal.api.InternalDataDefinition;
 import com.qcadoo.model.internal.api.InternalFieldDefinition;
 import com.qcadoo.model.internal.api.PriorityService;
 import com.qcadoo.model.internal.api.ValidationService;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
 import com.qcadoo.model.internal.search.SearchCriteria;
 import com.qcadoo.model.internal.search.SearchQuery;
 import com.qcadoo.model.internal.search.SearchResultImpl;
@@ -100,6 +117,22 @@ public class DataAccessServiceImpl implements DataAccessService {
 
     private static final String L_DATA_DEFINITION_MUST_BE_GIVEN = "DataDefinition must be given";
 
+    private static final String L_COPY_VALUE = "copyValue";
+
+    private static final Pattern COPY_SUFFIX_PATTERN = Pattern.compile("(.+)\\((\\d+)\\)");
+
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private static final String L_DATA_DEFINITION = "dataDefinition";
+
+    private static final String L_QUERY_DURATION = "qcadoo_model_query_duration_seconds";
+
+    private static final String L_COUNT_DURATION = "qcadoo_model_count_duration_seconds";
+
+    private static final String L_QUERY_ROWS = "qcadoo_model_query_rows_total";
+
     @Autowired
     private DataDefinitionService dataDefinitionService;
 
@@ -120,6 +153,12 @@ public class DataAccessServiceImpl implements DataAccessService {
 
     @Autowired
     private TranslationService translationService;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired(required = false)
+    private List<EntityChangeListener> entityChangeListeners = Lists.newArrayList();
     
     private static final Logger LOG = LoggerFactory.getLogger(DataAccessServiceImpl.class);
     
@@ -270,9 +309,23 @@ public class DataAccessServiceImpl implements DataAccessService {
             newlySavedEntities.add(savedEntity);
         }
 
+        notifyEntitySaved(dataDefinition, savedEntity);
+
         return savedEntity;
     }
 
+    private void notifyEntitySaved(final InternalDataDefinition dataDefinition, final Entity savedEntity) {
+        for (EntityChangeListener entityChangeListener : entityChangeListeners) {
+            entityChangeListener.onSave(dataDefinition, savedEntity);
+        }
+    }
+
+    private void notifyEntityDeleted(final InternalDataDefinition dataDefinition, final Long entityId) {
+        for (EntityChangeListener entityChangeListener : entityChangeListeners) {
+            entityChangeListener.onDelete(dataDefinition, entityId);
+        }
+    }
+
     private void logDeletionErrors(final Entity entity) {
         logEntityErrors(entity, entity + " hasn't been deleted, because of onDelete hook rejection");
     }
@@ -418,6 +471,10 @@ public class DataAccessServiceImpl implements DataAccessService {
 
         InternalDataDefinition dataDefinitionToActivate = getDataDefinitionByMasterModel(dataDefinition);
 
+        if (canChangeActiveInBulk(dataDefinitionToActivate)) {
+            return changeActiveInBulk(dataDefinitionToActivate, true, entityIds);
+        }
+
         List<Entity> activatedEntities = new ArrayList<Entity>();
 
         for (Long entityId : entityIds) {
@@ -454,6 +511,10 @@ public class DataAccessServiceImpl implements DataAccessService {
 
         InternalDataDefinition dataDefinitionToDeactivate = getDataDefinitionByMasterModel(dataDefinition);
 
+        if (canChangeActiveInBulk(dataDefinitionToDeactivate)) {
+            return changeActiveInBulk(dataDefinitionToDeactivate, false, entityIds);
+        }
+
         List<Entity> deactivatedEntities = new ArrayList<Entity>();
 
         for (Long entityId : entityIds) {
@@ -480,6 +541,91 @@ public class DataAccessServiceImpl implements DataAccessService {
         return deactivatedEntities;
     }
 
+    private boolean canChangeActiveInBulk(final InternalDataDefinition dataDefinition) {
+        // bulk update skips validation, hooks and audit fields, so it is used only when save wouldn't do anything more,
+        // built-in field validators would only check again values which aren't changed by the update
+        return !dataDefinition.hasUpdateHooks() && !dataDefinition.isAuditable();
+    }
+
+    private List<Entity> changeActiveInBulk(final InternalDataDefinition dataDefinition, final boolean active,
+            final Long... entityIds) {
+        Session session = hibernateService.getCurrentSession();
+
+        // bulk update bypasses the session, so pending changes have to be written before it
+        session.flush();
+
+        List<Entity> changedEntities = Lists.newArrayList();
+        List<Object> changedDatabaseEntities = Lists.newArrayList();
+        List<Long> missingEntityIds = Lists.newArrayList();
+
+        for (List<Long> chunkOfIds : Lists.partition(Lists.newArrayList(Sets.newLinkedHashSet(Arrays.asList(entityIds))),
+                BULK_UPDATE_CHUNK_SIZE)) {
+            Map<Long, Object> databaseEntitiesById = Maps.newHashMap();
+
+            for (Object databaseEntity : session.createCriteria(dataDefinition.getClassForEntity())
+                    .add(Restrictions.in(EntityService.FIELD_ID, chunkOfIds)).list()) {
+                databaseEntitiesById.put(entityService.getId(databaseEntity), databaseEntity);
+            }
+
+            for (Long entityId : chunkOfIds) {
+                Object databaseEntity = databaseEntitiesById.get(entityId);
+
+                if (databaseEntity == null) {
+                    missingEntityIds.add(entityId);
+                    continue;
+                }
+
+                Entity entity = entityService.convertToGenericEntity(dataDefinition, databaseEntity);
+
+                if (entity.isActive() != active) {
+                    entity.setActive(active);
+                    changedEntities.add(entity);
+                    changedDatabaseEntities.add(databaseEntity);
+                }
+            }
+        }
+
+        if (!missingEntityIds.isEmpty()) {
+            throw new IllegalStateException("Cannot " + (active ? "activate " : "deactivate ") + missingEntityIds
+                    + " (entity not found)");
+        }
+
+        // instances loaded into the session would hold the old flag, so they are detached before the update
+        for (Object databaseEntity : changedDatabaseEntities) {
+            session.evict(databaseEntity);
+        }
+
+        StringBuilder queryBuilder = new StringBuilder("update ");
+
+        if (dataDefinition.isVersionable()) {
+            // increments entityVersion of the updated rows, like a regular update would
+            queryBuilder.append("versioned ");
+        }
+
+        queryBuilder.append(dataDefinition.getFullyQualifiedClassName());
+        queryBuilder.append(" set ").append(EntityService.FIELD_ACTIVE).append(" = :active");
+        queryBuilder.append(" where ").append(EntityService.FIELD_ID).append(" in (:ids)");
+
+        for (List<Entity> chunkOfEntities : Lists.partition(changedEntities, BULK_UPDATE_CHUNK_SIZE)) {
+            List<Long> chunkOfIds = Lists.newArrayListWithCapacity(chunkOfEntities.size());
+
+            for (Entity entity : chunkOfEntities) {
+                chunkOfIds.add(entity.getId());
+            }
+
+            session.createQuery(queryBuilder.toString()).setParameter("active", active).setParameterList("ids", chunkOfIds)
+                    .executeUpdate();
+        }
+
+        for (Entity entity : changedEntities) {
+            LOG.debug(entity + (active ? " has been activated" : " has been deactivated"));
+
+            notifyEntitySaved(dataDefinition, entity);
+        }
+
+        return changedEntities;
+    }
+
     @Override
     @Transactional
     @Monitorable
@@ -638,7 +784,7 @@ public class DataAccessServiceImpl implements DataAccessService {
         if (value == null) {
             return value;
         } else {
-            Matcher matcher = Pattern.compile("(.+)\\((\\d+)\\)").matcher(value);
+            Matcher matcher = COPY_SUFFIX_PATTERN.matcher(value);
 
             String oldValue = value;
             int index = 1;
@@ -648,17 +794,36 @@ public class DataAccessServiceImpl implements DataAccessService {
                 index = Integer.valueOf(matcher.group(2)) + 1;
             }
 
-            while (true) {
-                String newValue = oldValue + "(" + (index++) + ")";
+            Set<Integer> usedIndexes = getUsedCopyIndexes(dataDefinition, fieldDefinition, oldValue);
 
-                int matches = dataDefinition.find().setMaxResults(1)
-                        .add(SearchRestrictions.eq(fieldDefinition.getName(), newValue)).list().getTotalNumberOfEntities();
+            while (usedIndexes.contains(index)) {
+                index++;
+            }
 
-                if (matches == 0) {
-                    return newValue;
-                }
+            return oldValue + "(" + index + ")";
+        }
+    }
+
+    private Set<Integer> getUsedCopyIndexes(final DataDefinition dataDefinition, final FieldDefinition fieldDefinition,
+            final String oldValue) {
+        // like may match more values than needed (wildcards in oldValue), exact matching is done below
+        List<Entity> copies = dataDefinition.find()
+                .add(SearchRestrictions.like(fieldDefinition.getName(), oldValue.replace("\\", "\\\\") + "(%)"))
+                .setProjection(SearchProjections.alias(SearchProjections.field(fieldDefinition.getName()), L_COPY_VALUE))
+                .listWithoutCount().getEntities();
+
+        Pattern copyPattern = Pattern.compile(Pattern.quote(oldValue) + "\\((\\d{1,9})\\)");
+        Set<Integer> usedIndexes = new HashSet<Integer>();
+
+        for (Entity copy : copies) {
+            Matcher matcher = copyPattern.matcher(String.valueOf(copy.getField(L_COPY_VALUE)));
+
+            if (matcher.matches()) {
+                usedIndexes.add(Integer.valueOf(matcher.group(1)));
             }
         }
+
+        return usedIndexes;
     }
 
     @Override
@@ -669,7 +834,9 @@ public class DataAccessServiceImpl implements DataAccessService {
         checkState(dataDefinition.isEnabled(), L_DATA_DEFINITION_BELONGS_TO_DISABLED_PLUGIN);
         checkNotNull(entityId, "EntityId must be given");
 
+        long start = System.nanoTime();
         Object databaseEntity = getDatabaseEntity(dataDefinition, entityId);
+        QueryProfiler.addDatabaseTime(System.nanoTime() - start);
 
         if (databaseEntity == null) {
             logEntityInfo(dataDefinition, entityId, "hasn't been retrieved, because it doesn't exist");
@@ -685,6 +852,39 @@ public class DataAccessServiceImpl implements DataAccessService {
         return entity;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    @Monitorable
+    public Entity getReadOnly(final InternalDataDefinition dataDefinition, final Long entityId) {
+        checkNotNull(dataDefinition, L_DATA_DEFINITION_MUST_BE_GIVEN);
+        checkState(dataDefinition.isEnabled(), L_DATA_DEFINITION_BELONGS_TO_DISABLED_PLUGIN);
+        checkNotNull(entityId, "EntityId must be given");
+
+        Session session = hibernateService.getCurrentSession();
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+
+        // entities already present in the session keep their mode, only newly loaded ones become read-only
+        session.setDefaultReadOnly(true);
+
+        long start = System.nanoTime();
+        Object databaseEntity;
+
+        try {
+            databaseEntity = getDatabaseEntity(dataDefinition, entityId);
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+        }
+
+        QueryProfiler.addDatabaseTime(System.nanoTime() - start);
+
+        if (databaseEntity == null) {
+            logEntityInfo(dataDefinition, entityId, "hasn't been retrieved, because it doesn't exist");
+            return null;
+        }
+
+        return entityService.convertToReadOnlyEntity(dataDefinition, databaseEntity, Collections.<String> emptySet());
+    }
+
     @Override
     @Transactional
     @Monitorable
@@ -730,7 +930,7 @@ public class DataAccessServiceImpl implements DataAccessService {
         int totalNumberOfEntities = -1;
 
         if (searchQuery.hasFirstAndMaxResults()) {
-            totalNumberOfEntities = hibernateService.list(query).size();
+            totalNumberOfEntities = list(searchQuery.getDataDefinition(), query).size();
             searchQuery.addFirstAndMaxResults(query);
         }
 
@@ -741,7 +941,7 @@ public class DataAccessServiceImpl implements DataAccessService {
             return getResultSet(null, totalNumberOfEntities, Collections.emptyList());
         }
 
-        List<?> results = hibernateService.list(query);
+        List<?> results = list(searchQuery.getDataDefinition(), query);
 
         if (totalNumberOfEntities == -1) {
             totalNumberOfEntities = results.size();
@@ -775,7 +975,12 @@ public class DataAccessServiceImpl implements DataAccessService {
 
         Criteria criteria = searchCriteria.createCriteria(hibernateService.getCurrentSession());
 
+        long countStart = System.nanoTime();
         int totalNumberOfEntities = hibernateService.getTotalNumberOfEntities(criteria);
+        long countDuration = System.nanoTime() - countStart;
+        metricsService.recordTime(L_COUNT_DURATION, L_DATA_DEFINITION, getMetricsLabel(searchCriteria.getDataDefinition()),
+                countDuration);
+        QueryProfiler.addDatabaseTime(countDuration);
 
         if (totalNumberOfEntities == 0) {
             LOG.debug("There is no entity matching criteria " + searchCriteria);
@@ -785,8 +990,10 @@ public class DataAccessServiceImpl implements DataAccessService {
         searchCriteria.addFirstAndMaxResults(criteria);
         searchCriteria.addOrders(criteria);
         searchCriteria.addCacheable(criteria);
+        searchCriteria.addFetchPlan(criteria);
+        searchCriteria.addReadOnly(criteria);
 
-        List<?> results = hibernateService.list(criteria);
+        List<?> results = list(searchCriteria.getDataDefinition(), criteria);
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("There are " + totalNumberOfEntities + " entities matching criteria " + searchCriteria);
@@ -798,7 +1005,165 @@ public class DataAccessServiceImpl implements DataAccessService {
             searchQueryDataDefinition = hibernateService.resolveDataDefinition(criteria);
         }
 
-        return getResultSet(searchQueryDataDefinition, totalNumberOfEntities, results);
+        return getResultSet(searchQueryDataDefinition, totalNumberOfEntities, results, searchCriteria);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Monitorable
+    public SearchResult findWithoutCount(final SearchCriteria searchCriteria) {
+        checkArgument(searchCriteria != null, "SearchCriteria must be given");
+
+        final Criteria criteria = searchCriteria.createCriteria(hibernateService.getCurrentSession());
+
+        searchCriteria.addFirstAndMaxResults(criteria);
+        searchCriteria.addOrders(criteria);
+        searchCriteria.addCacheable(criteria);
+        searchCriteria.addFetchPlan(criteria);
+        searchCriteria.addReadOnly(criteria);
+
+        List<?> results = list(searchCriteria.getDataDefinition(), criteria);
+
+        SearchResultImpl resultSet;
+
+        if (results.isEmpty()) {
+            LOG.debug("There is no entity matching criteria " + searchCriteria);
+            resultSet = getResultSet(null, 0, Collections.emptyList());
+        } else {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("There are " + results.size() + " entities fetched for criteria " + searchCriteria);
+            }
+
+            InternalDataDefinition searchQueryDataDefinition = (InternalDataDefinition) searchCriteria.getDataDefinition();
+
+            if (searchQueryDataDefinition == null) {
+                searchQueryDataDefinition = hibernateService.resolveDataDefinition(criteria);
+            }
+
+            resultSet = getResultSet(searchQueryDataDefinition, results.size(), results, searchCriteria);
+        }
+
+        if (results.size() < searchCriteria.getMaxResults() && (!results.isEmpty() || searchCriteria.getFirstResult() == 0)) {
+            resultSet.setTotalNumberOfEntities(searchCriteria.getFirstResult() + results.size());
+        } else {
+            resultSet.setTotalNumberOfEntities(new Supplier<Integer>() {
+
+                @Override
+                public Integer get() {
+                    return hibernateService.getTotalNumberOfEntities(criteria);
+                }
+
+            });
+        }
+
+        return resultSet;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Monitorable
+    public boolean exists(final SearchCriteria searchCriteria) {
+        checkArgument(searchCriteria != null, "SearchCriteria must be given");
+
+        Criteria criteria = searchCriteria.createCriteria(hibernateService.getCurrentSession());
+
+        boolean exists = hibernateService.exists(criteria);
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("There is " + (exists ? "an" : "no") + " entity matching criteria " + searchCriteria);
+        }
+
+        return exists;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Monitorable
+    public int stream(final SearchCriteria searchCriteria, final Consumer<Entity> consumer) {
+        checkArgument(searchCriteria != null, "SearchCriteria must be given");
+        checkNotNull(consumer, "Consumer must be given");
+
+        return scroll(searchCriteria, consumer);
+    }
+
+    @Override
+    @Monitorable
+    public int stream(final SearchCriteria searchCriteria, final int chunkSize, final Consumer<List<Entity>> chunkConsumer) {
+        checkArgument(searchCriteria != null, "SearchCriteria must be given");
+        checkArgument(chunkSize > 0, "Chunk size must be greater than 0");
+        checkNotNull(chunkConsumer, "Consumer must be given");
+
+        final List<Entity> chunk = Lists.newArrayListWithCapacity(chunkSize);
+
+        int numberOfEntities = scroll(searchCriteria, new Consumer<Entity>() {
+
+            @Override
+            public void accept(final Entity entity) {
+                chunk.add(entity);
+
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunkConsumer, ImmutableList.copyOf(chunk));
+                    chunk.clear();
+                }
+            }
+
+        });
+
+        if (!chunk.isEmpty()) {
+            processChunk(chunkConsumer, ImmutableList.copyOf(chunk));
+        }
+
+        return numberOfEntities;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    protected void processChunk(final Consumer<List<Entity>> chunkConsumer, final List<Entity> chunk) {
+        chunkConsumer.accept(chunk);
+    }
+
+    private int scroll(final SearchCriteria searchCriteria, final Consumer<Entity> consumer) {
+        InternalDataDefinition dataDefinition = (InternalDataDefinition) searchCriteria.getDataDefinition();
+        checkNotNull(dataDefinition, "Cannot stream projections");
+        checkState(dataDefinition.isEnabled(), L_DATA_DEFINITION_BELONGS_TO_DISABLED_PLUGIN);
+
+        // stateless session keeps nothing in its persistence context, so memory usage doesn't grow with number of rows
+        StatelessSession session = hibernateService.openStatelessSession();
+        Transaction transaction = session.beginTransaction();
+        ScrollableResults results = null;
+        int numberOfEntities = 0;
+
+        try {
+            Criteria criteria = searchCriteria.createCriteria(session);
+
+            searchCriteria.addFirstAndMaxResults(criteria);
+            searchCriteria.addOrders(criteria);
+            searchCriteria.addFetchPlan(criteria);
+            criteria.setFetchSize(STREAM_FETCH_SIZE);
+
+            results = criteria.scroll(ScrollMode.FORWARD_ONLY);
+
+            while (results.next()) {
+                consumer.accept(convertToEntity(dataDefinition, results.get(0), searchCriteria.getFetchPaths(),
+                        searchCriteria.isReadOnly()));
+                numberOfEntities++;
+            }
+
+            transaction.commit();
+        } catch (RuntimeException e) {
+            transaction.rollback();
+            throw e;
+        } finally {
+            if (results != null) {
+                results.close();
+            }
+            session.close();
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("There were " + numberOfEntities + " entities streamed for criteria " + searchCriteria);
+        }
+
+        return numberOfEntities;
     }
 
     @Override
@@ -822,7 +1187,7 @@ public class DataAccessServiceImpl implements DataAccessService {
         checkState(dataDefinitionToMove.isEnabled(), L_DATA_DEFINITION_BELONGS_TO_DISABLED_PLUGIN);
         checkNotNull(entityId, "EntityId must be given");
 
-        Object databaseEntity = getDatabaseEntity(dataDefinitionToMove, entityId);
+        Object databaseEntity = getModifiableDatabaseEntity(dataDefinitionToMove, entityId);
         if (databaseEntity == null) {
             logEntityInfo(dataDefinitionToMove, entityId, "hasn't been prioritized, because it doesn't exist");
             return;
@@ -830,13 +1195,16 @@ public class DataAccessServiceImpl implements DataAccessService {
 
         priorityService.move(dataDefinitionToMove, databaseEntity, position, offset);
         logEntityInfo(dataDefinitionToMove, entityId, "has been prioritized");
+
+        // listeners only need to know which entity has changed, full conversion would run view hooks and load belongsTo fields
+        notifyEntitySaved(dataDefinitionToMove, new ProxyEntity(dataDefinitionToMove, entityId));
     }
 
     private Object getExistingDatabaseEntity(final InternalDataDefinition dataDefinition, final Entity entity) {
         Object existingDatabaseEntity = null;
 
         if (entity.getId() != null) {
-            existingDatabaseEntity = getDatabaseEntity(dataDefinition, entity.getId());
+            existingDatabaseEntity = getModifiableDatabaseEntity(dataDefinition, entity.getId());
             checkState(existingDatabaseEntity != null, "Entity[%s][id=%s] cannot be found",
                     dataDefinition.getPluginIdentifier() + "." + dataDefinition.getName(), entity.getId());
         }
@@ -896,6 +1264,8 @@ public class DataAccessServiceImpl implements DataAccessService {
                 if (databaseEntity != null) {
                     hibernateService.getCurrentSession().delete(databaseEntity);
                     hibernateService.getCurrentSession().flush();
+
+                    notifyEntityDeleted(dataDefinition, entityId);
                 }
             } catch (ConstraintViolationException e) {
                 throw new IllegalStateException(getConstraintViolationMessage(entity), e);
@@ -975,12 +1345,55 @@ public class DataAccessServiceImpl implements DataAccessService {
         return expressionService.getValue(entity, dataDef.getIdentifierExpression(), Locale.ENGLISH);
     }
 
+    private List<?> list(final DataDefinition dataDefinition, final Query query) {
+        long start = System.nanoTime();
+        List<?> results = hibernateService.list(query);
+        recordQuery(dataDefinition, System.nanoTime() - start, results.size());
+
+        return results;
+    }
+
+    private List<?> list(final DataDefinition dataDefinition, final Criteria criteria) {
+        long start = System.nanoTime();
+        List<?> results = hibernateService.list(criteria);
+        recordQuery(dataDefinition, System.nanoTime() - start, results.size());
+
+        return results;
+    }
+
+    private void recordQuery(final DataDefinition dataDefinition, final long durationInNanos, final int numberOfRows) {
+        String label = getMetricsLabel(dataDefinition);
+
+        metricsService.recordTime(L_QUERY_DURATION, L_DATA_DEFINITION, label, durationInNanos);
+        metricsService.increment(L_QUERY_ROWS, L_DATA_DEFINITION, label, numberOfRows);
+        QueryProfiler.addDatabaseTime(durationInNanos);
+    }
+
+    private String getMetricsLabel(final DataDefinition dataDefinition) {
+        if (dataDefinition == null) {
+            return "none";
+        }
+
+        return dataDefinition.getPluginIdentifier() + "." + dataDefinition.getName();
+    }
+
     private SearchResultImpl getResultSet(final InternalDataDefinition dataDefinition, final int totalNumberOfEntities,
             final List<?> results) {
+        return getResultSet(dataDefinition, totalNumberOfEntities, results, Collections.<String> emptySet(), false);
+    }
+
+    private SearchResultImpl getResultSet(final InternalDataDefinition dataDefinition, final int totalNumberOfEntities,
+            final List<?> results, final SearchCriteria searchCriteria) {
+        return getResultSet(dataDefinition, totalNumberOfEntities, results, searchCriteria.getFetchPaths(),
+                searchCriteria.isReadOnly());
+    }
+
+    private SearchResultImpl getResultSet(final InternalDataDefinition dataDefinition, final int totalNumberOfEntities,
+            final List<?> results, final Set<String> fetchPaths, final boolean readOnly) {
         List<Entity> genericResults = new ArrayList<Entity>();
 
         for (Object databaseEntity : results) {
-            genericResults.add(entityService.convertToGenericEntity(dataDefinition, databaseEntity));
+            genericResults.add(convertToEntity(dataDefinition, databaseEntity, fetchPaths, readOnly));
         }
 
         SearchResultImpl resultSet = new SearchResultImpl();
@@ -990,10 +1403,33 @@ public class DataAccessServiceImpl implements DataAccessService {
         return resultSet;
     }
 
+    private Entity convertToEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity,
+            final Set<String> fetchPaths, final boolean readOnly) {
+        if (readOnly) {
+            return entityService.convertToReadOnlyEntity(dataDefinition, databaseEntity, fetchPaths);
+        } else if (fetchPaths == null || fetchPaths.isEmpty()) {
+            return entityService.convertToGenericEntity(dataDefinition, databaseEntity);
+        } else {
+            return entityService.convertToGenericEntity(dataDefinition, databaseEntity, fetchPaths);
+        }
+    }
+
     protected Object getDatabaseEntity(final InternalDataDefinition dataDefinition, final Long entityId) {
         return hibernateService.getCurrentSession().get(dataDefinition.getClassForEntity(), entityId);
     }
 
+    private Object getModifiableDatabaseEntity(final InternalDataDefinition dataDefinition, final Long entityId) {
+        Object databaseEntity = getDatabaseEntity(dataDefinition, entityId);
+        Session session = hibernateService.getCurrentSession();
+
+        // instance could be loaded into this session by getReadOnly or readOnly() search, changes made to it wouldn't be flushed
+        if (databaseEntity != null && session.isReadOnly(databaseEntity)) {
+            session.setReadOnly(databaseEntity, false);
+        }
+
+        return databaseEntity;
+    }
+
     protected void saveDatabaseEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity) {
         hibernateService.getCurrentSession().save(databaseEntity);
     }
@@ -36,6 +36,7 @@ import com.qcadoo.model.internal.AbstractModelXmlConverter.HooksTag;
 import com.qcadoo.model.internal.api.DataAccessService;
 import com.qcadoo.model.internal.api.EntityHookDefinition;
 import com.qcadoo.model.internal.api.InternalDataDefinition;
+import com.qcadoo.model.internal.api.InternalFieldDefinition;
 import com.qcadoo.model.internal.search.SearchCriteria;
 import com.qcadoo.model.internal.search.SearchCriteriaImpl;
 import com.qcadoo.model.internal.search.SearchQueryImpl;
@@ -44,6 +45,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.*;
 import static com.qcadoo.model.api.search.SearchOrders.asc;
@@ -99,6 +101,11 @@ public final class DataDefinitionImpl implements InternalDataDefinition {
         return dataAccessService.get(this, id);
     }
 
+    @Override
+    public Entity getReadOnly(final Long id) {
+        return dataAccessService.getReadOnly(this, id);
+    }
+
     @Override
     public List<Entity> copy(final Long... id) {
         return dataAccessService.copy(this, id);
@@ -155,6 +162,17 @@ public final class DataDefinitionImpl implements InternalDataDefinition {
         return (Long) countProjection.getField(countAlias);
     }
 
+    @Override
+    public int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final Consumer<Entity> consumer) {
+        return dataAccessService.stream((SearchCriteria) searchCriteriaBuilder, consumer);
+    }
+
+    @Override
+    public int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final int chunkSize,
+            final Consumer<List<Entity>> chunkConsumer) {
+        return dataAccessService.stream((SearchCriteria) searchCriteriaBuilder, chunkSize, chunkConsumer);
+    }
+
     @Override
     public SearchCriteriaBuilder findWithAlias(final String alias) {
         return new SearchCriteriaImpl(this, alias);
@@ -165,6 +183,16 @@ public final class DataDefinitionImpl implements InternalDataDefinition {
         return dataAccessService.find(searchCriteria);
     }
 
+    @Override
+    public boolean exists(final SearchCriteria searchCriteria) {
+        return dataAccessService.exists(searchCriteria);
+    }
+
+    @Override
+    public SearchResult findWithoutCount(final SearchCriteria searchCriteria) {
+        return dataAccessService.findWithoutCount(searchCriteria);
+    }
+
     @Override
     public void move(final Long id, final int offset) {
         dataAccessService.move(this, id, offset);
@@ -408,6 +436,21 @@ public final class DataDefinitionImpl implements InternalDataDefinition {
         return auditable;
     }
 
+    @Override
+    public boolean hasUpdateHooks() {
+        if (!getValidators().isEmpty() || !getSaveHooks().isEmpty() || !getUpdateHooks().isEmpty()) {
+            return true;
+        }
+
+        for (FieldDefinition fieldDefinition : getFields().values()) {
+            if (((InternalFieldDefinition) fieldDefinition).hasCustomValidators()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public boolean isInstertable() {
         return creatable;
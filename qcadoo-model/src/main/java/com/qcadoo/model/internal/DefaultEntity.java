@@ -38,6 +38,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import com.qcadoo.model.api.validators.GlobalMessage;
@@ -56,10 +57,92 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
 
     private boolean active = true;
 
+    private final boolean readOnly;
+
+    private final Map<String, Function<Entity, Object>> lazyFields;
+
     public DefaultEntity(final DataDefinition dataDefinition, final Long id, final Map<String, Object> fields) {
         this.dataDefinition = dataDefinition;
         this.id = id;
         this.fields = fields;
+        this.readOnly = false;
+        this.lazyFields = null;
+    }
+
+    /**
+     * Creates read-only entity. Values of lazy fields are computed on first access, all attempts to change the entity throw
+     * {@link UnsupportedOperationException}. Such entity may be shared between threads, so both maps are accessed only while
+     * holding lock on lazyFields.
+     */
+    DefaultEntity(final DataDefinition dataDefinition, final Long id, final boolean active, final Map<String, Object> fields,
+            final Map<String, Function<Entity, Object>> lazyFields) {
+        this.dataDefinition = dataDefinition;
+        this.id = id;
+        this.active = active;
+        this.fields = fields;
+        this.readOnly = true;
+        this.lazyFields = lazyFields;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkNotReadOnly() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Entity " + dataDefinition + "#" + id + " is read-only");
+        }
+    }
+
+    private Object getReadOnlyField(final String fieldName) {
+        synchronized (lazyFields) {
+            Function<Entity, Object> lazyField = lazyFields.remove(fieldName);
+
+            if (lazyField != null) {
+                fields.put(fieldName, lazyField.apply(this));
+            }
+
+            return fields.get(fieldName);
+        }
+    }
+
+    private Map<String, Object> getComputedFields() {
+        if (!readOnly) {
+            return fields;
+        }
+
+        synchronized (lazyFields) {
+            for (String fieldName : new ArrayList<String>(lazyFields.keySet())) {
+                getReadOnlyField(fieldName);
+            }
+        }
+
+        // nothing is written to fields once all lazy ones are computed
+        return fields;
+    }
+
+    /**
+     * Returns values of all fields without storing values of lazy ones, so hashCode, equals and toString don't change the
+     * entity.
+     */
+    private Map<String, Object> getFieldsSnapshot() {
+        if (!readOnly) {
+            return fields;
+        }
+
+        synchronized (lazyFields) {
+            if (lazyFields.isEmpty()) {
+                return fields;
+            }
+
+            Map<String, Object> snapshot = new HashMap<>(fields);
+
+            for (Map.Entry<String, Function<Entity, Object>> lazyField : new ArrayList<>(lazyFields.entrySet())) {
+                snapshot.put(lazyField.getKey(), lazyField.getValue().apply(this));
+            }
+
+            return snapshot;
+        }
     }
 
     public DefaultEntity(final DataDefinition dataDefinition, final Long id) {
@@ -72,6 +155,7 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
 
     @Override
     public void setId(final Long id) {
+        checkNotReadOnly();
         this.id = id;
     }
 
@@ -82,16 +166,22 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
 
     @Override
     public void setActive(final boolean active) {
+        checkNotReadOnly();
         this.active = active;
     }
 
     @Override
     public void setField(final String fieldName, final Object fieldValue) {
+        checkNotReadOnly();
         fields.put(fieldName, fieldValue);
     }
 
     @Override
     public Map<String, Object> getFields() {
+        if (readOnly) {
+            return Collections.unmodifiableMap(getComputedFields());
+        }
+
         return fields;
     }
 
@@ -164,7 +254,7 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
     public int hashCode() {
         HashCodeBuilder hcb = new HashCodeBuilder(23, 41).append(id).append(dataDefinition);
 
-        for (Map.Entry<String, Object> field : fields.entrySet()) {
+        for (Map.Entry<String, Object> field : getFieldsSnapshot().entrySet()) {
             if (field.getValue() instanceof Collection) {
                 continue;
             }
@@ -213,8 +303,10 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
     }
 
     private boolean fieldsAreEquals(final Entity otherEntity, final PerformerEntitiesChain performersChain, final boolean flat) {
+        final Map<String, Object> fieldValues = getFieldsSnapshot();
+
         for (String fieldName : dataDefinition.getFields().keySet()) {
-            final Object fieldValue = fields.get(fieldName);
+            final Object fieldValue = fieldValues.get(fieldName);
             final Object otherFieldValue = otherEntity.getField(fieldName);
             if (fieldValue == null) {
                 if (otherFieldValue != null) {
@@ -258,7 +350,7 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
     @Override
     public DefaultEntity copy(final PerformerEntitiesChain performersChain) {
         DefaultEntity entity = new DefaultEntity(dataDefinition, id);
-        for (Map.Entry<String, Object> field : fields.entrySet()) {
+        for (Map.Entry<String, Object> field : getComputedFields().entrySet()) {
             Object fieldValueCopy = null;
             if (field.getValue() instanceof Entity) {
                 fieldValueCopy = copyFieldEntityValue(performersChain, (Entity) field.getValue());
@@ -286,6 +378,10 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
 
     @Override
     public Object getField(final String fieldName) {
+        if (readOnly) {
+            return getReadOnlyField(fieldName);
+        }
+
         return fields.get(fieldName);
     }
 
@@ -439,7 +535,7 @@ public final class DefaultEntity implements Entity, EntityAwareCopyPerformers, E
     @Override
     public String toString() {
         StringBuilder entity = new StringBuilder("Entity[" + dataDefinition + "][id=" + id + ",active=" + active);
-        for (Map.Entry<String, Object> field : fields.entrySet()) {
+        for (Map.Entry<String, Object> field : getFieldsSnapshot().entrySet()) {
 
             entity.append(",").append(field.getKey()).append("=");
             if (field.getValue() instanceof Collection) {
@@ -38,6 +38,7 @@ import com.qcadoo.model.internal.search.SearchCriteria;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class DynamicDataDefinitionImpl implements InternalDataDefinition {
 
@@ -66,6 +67,11 @@ public class DynamicDataDefinitionImpl implements InternalDataDefinition {
         throw new UnsupportedOperationException("Cannot get entity for dynamic data definition");
     }
 
+    @Override
+    public Entity getReadOnly(final Long id) {
+        throw new UnsupportedOperationException("Cannot get entity for dynamic data definition");
+    }
+
     @Override
     public List<Entity> copy(final Long... id) {
         throw new UnsupportedOperationException("Cannot copy entity for dynamic data definition");
@@ -112,6 +118,17 @@ public class DynamicDataDefinitionImpl implements InternalDataDefinition {
         throw new UnsupportedOperationException("Cannot count entities for dynamic data definition");
     }
 
+    @Override
+    public int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final Consumer<Entity> consumer) {
+        throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
+    }
+
+    @Override
+    public int stream(final SearchCriteriaBuilder searchCriteriaBuilder, final int chunkSize,
+            final Consumer<List<Entity>> chunkConsumer) {
+        throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
+    }
+
     @Override
     public SearchCriteriaBuilder findWithAlias(final String alias) {
         throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
@@ -176,6 +193,16 @@ public class DynamicDataDefinitionImpl implements InternalDataDefinition {
         throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
     }
 
+    @Override
+    public boolean exists(final SearchCriteria searchCriteria) {
+        throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
+    }
+
+    @Override
+    public SearchResult findWithoutCount(final SearchCriteria searchCriteria) {
+        throw new UnsupportedOperationException(L_CANNOT_FIND_ENTITY_FOR_DYNAMIC_DATA_DEFINITION);
+    }
+
     @Override
     public String getFullyQualifiedClassName() {
         throw new UnsupportedOperationException("Cannot get class for dynamic data definition");
@@ -236,6 +263,11 @@ public class DynamicDataDefinitionImpl implements InternalDataDefinition {
         return false;
     }
 
+    @Override
+    public boolean hasUpdateHooks() {
+        return false;
+    }
+
     @Override
     public boolean isVersionable() {
         return false;
@@ -33,6 +33,7 @@ import com.qcadoo.model.api.EntityList;
 import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchRestrictions;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
 
 public final class EntityListImpl extends AbstractList<Entity> implements EntityList {
 
@@ -58,7 +59,16 @@ public final class EntityListImpl extends AbstractList<Entity> implements Entity
 
     private void loadEntities() {
         if (entities == null) {
-            entities = find().list().getEntities();
+            boolean originPushed = QueryProfiler.pushOrigin(() -> "lazy load of list of " + QueryProfiler.describe(dataDefinition)
+                    + " by " + QueryProfiler.describe(joinFieldDefinition));
+
+            try {
+                entities = find().listWithoutCount().getEntities();
+            } finally {
+                if (originPushed) {
+                    QueryProfiler.popOrigin();
+                }
+            }
         }
     }
 
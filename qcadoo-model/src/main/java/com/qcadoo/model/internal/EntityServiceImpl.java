@@ -24,6 +24,7 @@
 package com.qcadoo.model.internal;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.ExpressionService;
@@ -39,15 +40,21 @@ import com.qcadoo.model.internal.api.InternalDataDefinition;
 import com.qcadoo.model.internal.api.InternalFieldDefinition;
 import com.qcadoo.model.internal.types.PasswordType;
 import org.apache.commons.beanutils.PropertyUtils;
+import org.hibernate.Hibernate;
+import org.hibernate.StatelessSession;
+import org.hibernate.collection.AbstractPersistentCollection;
 import org.hibernate.proxy.HibernateProxy;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public final class EntityServiceImpl implements EntityService {
@@ -121,11 +128,16 @@ public final class EntityServiceImpl implements EntityService {
     }
 
     public Object getField(final Object databaseEntity, final FieldDefinition fieldDefinition, final Entity performer) {
+        return getField(databaseEntity, fieldDefinition, performer, Collections.<String> emptySet());
+    }
+
+    private Object getField(final Object databaseEntity, final FieldDefinition fieldDefinition, final Entity performer,
+            final Set<String> fetchPaths) {
         if (!((InternalFieldDefinition) fieldDefinition).isEnabled()) {
             return null;
         }
         if (fieldDefinition.getType() instanceof BelongsToType) {
-            return getBelongsToField(databaseEntity, fieldDefinition, performer);
+            return getBelongsToField(databaseEntity, fieldDefinition, performer, fetchPaths);
         }
         if (fieldDefinition.getType() instanceof HasManyType) {
             return getHasManyField(databaseEntity, fieldDefinition);
@@ -145,8 +157,19 @@ public final class EntityServiceImpl implements EntityService {
         return convertToGenericEntity(dataDefinition, databaseEntity, null);
     }
 
+    @Override
+    public Entity convertToGenericEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity,
+            final Set<String> fetchPaths) {
+        return convertToGenericEntity(dataDefinition, databaseEntity, null, fetchPaths);
+    }
+
     public Entity convertToGenericEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity,
             final Entity performer) {
+        return convertToGenericEntity(dataDefinition, databaseEntity, performer, Collections.<String> emptySet());
+    }
+
+    private Entity convertToGenericEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity,
+            final Entity performer, final Set<String> fetchPaths) {
         Entity genericEntity = null;
 
         if (databaseEntity instanceof Object[]) {
@@ -179,7 +202,7 @@ public final class EntityServiceImpl implements EntityService {
                         currentPerformer = genericEntity;
                     }
                     genericEntity.setField(fieldDefinitionEntry.getKey(),
-                            getField(databaseEntity, fieldDefinitionEntry.getValue(), currentPerformer));
+                            getField(databaseEntity, fieldDefinitionEntry.getValue(), currentPerformer, fetchPaths));
                 }
             }
 
@@ -205,6 +228,66 @@ public final class EntityServiceImpl implements EntityService {
         return genericEntity;
     }
 
+    @Override
+    public Entity convertToReadOnlyEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity,
+            final Set<String> fetchPaths) {
+        if (!databaseEntity.getClass().getName().startsWith("com.qcadoo.model.beans")) {
+            return convertToGenericEntity(dataDefinition, databaseEntity, fetchPaths);
+        }
+
+        Map<String, Object> fields = Maps.newHashMap();
+        Map<String, Function<Entity, Object>> lazyFields = Maps.newHashMap();
+
+        for (Entry<String, FieldDefinition> fieldDefinitionEntry : dataDefinition.getFields().entrySet()) {
+            FieldDefinition fieldDefinition = fieldDefinitionEntry.getValue();
+
+            if (!((InternalFieldDefinition) fieldDefinition).isEnabled()) {
+                continue;
+            }
+
+            if (fieldDefinition.getExpression() != null) {
+                String expression = fieldDefinition.getExpression();
+                lazyFields.put(fieldDefinitionEntry.getKey(),
+                        entity -> expressionService.getValue(entity, expression, Locale.ENGLISH));
+            } else if (fieldDefinition.isPersistent() && fieldDefinition.getType() instanceof BelongsToType) {
+                putReadOnlyBelongsToField(databaseEntity, fieldDefinition, fetchPaths, fields, lazyFields);
+            } else if (fieldDefinition.isPersistent()) {
+                fields.put(fieldDefinitionEntry.getKey(), getField(databaseEntity, fieldDefinition));
+            }
+        }
+
+        if (dataDefinition.isPrioritizable()) {
+            fields.put(dataDefinition.getPriorityField().getName(), getField(databaseEntity, dataDefinition.getPriorityField()));
+        }
+
+        boolean active = !dataDefinition.isActivable() || Boolean.TRUE.equals(getActive(databaseEntity));
+
+        return new DefaultEntity(dataDefinition, getId(databaseEntity), active, fields, lazyFields);
+    }
+
+    private void putReadOnlyBelongsToField(final Object databaseEntity, final FieldDefinition fieldDefinition,
+            final Set<String> fetchPaths, final Map<String, Object> fields,
+            final Map<String, Function<Entity, Object>> lazyFields) {
+        InternalDataDefinition referencedDataDefinition = (InternalDataDefinition) ((BelongsToType) fieldDefinition.getType())
+                .getDataDefinition();
+
+        Object value = getField(databaseEntity, fieldDefinition.getName());
+
+        if (value == null) {
+            fields.put(fieldDefinition.getName(), null);
+        } else if (value instanceof HibernateProxy && ((HibernateProxy) value).getHibernateLazyInitializer().isUninitialized()) {
+            Long id = (Long) ((HibernateProxy) value).getHibernateLazyInitializer().getIdentifier();
+
+            fields.put(fieldDefinition.getName(), new ProxyEntity(referencedDataDefinition, id, fieldDefinition));
+        } else {
+            // referenced entity is already loaded, it will be converted on first access, without any query
+            Set<String> nestedFetchPaths = getNestedFetchPaths(fetchPaths, fieldDefinition.getName());
+
+            lazyFields.put(fieldDefinition.getName(),
+                    entity -> convertToReadOnlyEntity(referencedDataDefinition, value, nestedFetchPaths));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public Object convertToDatabaseEntity(final InternalDataDefinition dataDefinition, final Entity genericEntity,
@@ -284,6 +367,10 @@ public final class EntityServiceImpl implements EntityService {
             if (databaseEntities == null) {
                 return null;
             }
+            if (isLoadedByStatelessSession(databaseEntities)) {
+                // stateless session can't initialize collections, so entities are loaded on access, like lazy ones are
+                return new ProxyList(fieldDefinition, getId(databaseEntity), performer);
+            }
             List<Entity> genericEntities = Lists.newArrayList();
 
             @SuppressWarnings("unchecked")
@@ -302,6 +389,11 @@ public final class EntityServiceImpl implements EntityService {
         }
     }
 
+    private boolean isLoadedByStatelessSession(final Set<Object> databaseEntities) {
+        return !Hibernate.isInitialized(databaseEntities) && databaseEntities instanceof AbstractPersistentCollection
+                && ((AbstractPersistentCollection) databaseEntities).getSession() instanceof StatelessSession;
+    }
+
     private Object getTreeField(final Object databaseEntity, final FieldDefinition fieldDefinition) {
         Long parentId = getId(databaseEntity);
         TreeType treeFieldType = (TreeType) fieldDefinition.getType();
@@ -310,7 +402,8 @@ public final class EntityServiceImpl implements EntityService {
         return new EntityTreeImpl(referencedDataDefinition, treeFieldType.getJoinFieldName(), parentId);
     }
 
-    private Object getBelongsToField(final Object databaseEntity, final FieldDefinition fieldDefinition, final Entity performer) {
+    private Object getBelongsToField(final Object databaseEntity, final FieldDefinition fieldDefinition, final Entity performer,
+            final Set<String> fetchPaths) {
         BelongsToType belongsToFieldType = (BelongsToType) fieldDefinition.getType();
         InternalDataDefinition referencedDataDefinition = (InternalDataDefinition) belongsToFieldType.getDataDefinition();
 
@@ -325,7 +418,9 @@ public final class EntityServiceImpl implements EntityService {
             return performer;
         }
 
-        if (belongsToFieldType.isLazyLoading()) {
+        boolean fetched = fetchPaths.contains(fieldDefinition.getName());
+
+        if (belongsToFieldType.isLazyLoading() && !fetched) {
             Long id = null;
 
             if (value instanceof HibernateProxy) {
@@ -338,14 +433,32 @@ public final class EntityServiceImpl implements EntityService {
                 return null;
             }
 
-            return new ProxyEntity(referencedDataDefinition, id);
+            return new ProxyEntity(referencedDataDefinition, id, fieldDefinition);
         } else {
             Entity currentPerformer = performer;
             if (performer == null || performer.getId() == null && referencedDataDefinition.equals(performer.getDataDefinition())) {
                 currentPerformer = new ProxyEntity(referencedDataDefinition, getId(value));
             }
-            return convertToGenericEntity(referencedDataDefinition, value, currentPerformer);
+            return convertToGenericEntity(referencedDataDefinition, value, currentPerformer,
+                    getNestedFetchPaths(fetchPaths, fieldDefinition.getName()));
+        }
+    }
+
+    private Set<String> getNestedFetchPaths(final Set<String> fetchPaths, final String fieldName) {
+        if (fetchPaths.isEmpty()) {
+            return fetchPaths;
         }
+
+        String prefix = fieldName + ".";
+        Set<String> nestedFetchPaths = Sets.newHashSet();
+
+        for (String fetchPath : fetchPaths) {
+            if (fetchPath.startsWith(prefix)) {
+                nestedFetchPaths.add(fetchPath.substring(prefix.length()));
+            }
+        }
+
+        return nestedFetchPaths;
     }
 
     private void setField(final Object databaseEntity, final String fieldName, final Object value) {
@@ -40,6 +40,8 @@ import com.qcadoo.model.api.types.BelongsToType;
 
 public final class EntityTreeImpl extends AbstractList<Entity> implements EntityTree {
 
+    private static final String L_PARENT = "parent";
+
     private final DataDefinition dataDefinition;
 
     private final Long belongsToId;
@@ -64,7 +66,7 @@ public final class EntityTreeImpl extends AbstractList<Entity> implements Entity
 
     private void loadEntities() {
         if (entities == null) {
-            entities = find().addOrder(SearchOrders.asc("priority")).list().getEntities();
+            entities = find().addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities();
 
             Map<Long, EntityTreeNodeImpl> entitiesById = new LinkedHashMap<>();
 
@@ -72,8 +74,12 @@ public final class EntityTreeImpl extends AbstractList<Entity> implements Entity
                 entitiesById.put(entity.getId(), new EntityTreeNodeImpl(entity));
             }
 
+            Entity owner = new ProxyEntity(((BelongsToType) joinFieldDefinition.getType()).getDataDefinition(), belongsToId);
+
             for (EntityTreeNodeImpl entity : entitiesById.values()) {
-                Entity parent = entity.getBelongsToField("parent");
+                Entity parent = entity.getBelongsToField(L_PARENT);
+
+                linkLoadedEntities(entity, owner, parent == null ? null : entitiesById.get(parent.getId()));
 
                 if (parent == null) {
                     if (root != null) {
@@ -96,6 +102,19 @@ public final class EntityTreeImpl extends AbstractList<Entity> implements Entity
         }
     }
 
+    /**
+     * Replaces lazy references to the owner and to the parent node with entities shared by the whole tree, so reading them
+     * (e.g. while evaluating node labels) doesn't query the database once per node.
+     */
+    private void linkLoadedEntities(final EntityTreeNodeImpl entity, final Entity owner, final EntityTreeNodeImpl parent) {
+        if (entity.getField(joinFieldDefinition.getName()) instanceof ProxyEntity) {
+            entity.setField(joinFieldDefinition.getName(), owner);
+        }
+        if (parent != null && entity.getField(L_PARENT) instanceof ProxyEntity) {
+            entity.setField(L_PARENT, parent.getEntity());
+        }
+    }
+
     @Override
     public SearchCriteriaBuilder find() {
         return dataDefinition.find().add(
@@ -60,6 +60,10 @@ public final class EntityTreeNodeImpl implements EntityTreeNode, EntityAwareCopy
         children.add(entityTreeNode);
     }
 
+    Entity getEntity() {
+        return entity;
+    }
+
     @Override
     public void setId(final Long id) {
         entity.setId(id);
@@ -23,6 +23,8 @@
  */
 package com.qcadoo.model.internal;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.qcadoo.localization.api.TranslationService;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.ExpressionService;
@@ -65,8 +67,15 @@ public final class ExpressionServiceImpl implements ExpressionService {
 
     private static final String EVALUATION_ERROR_MESSAGE = "Error while calculating value of expression \"%s\" for \"%s\".";
 
+    private static final long PARSED_EXPRESSIONS_CACHE_SIZE = 1000;
+
     private static ExpressionService instance = null;
 
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final Cache<String, Expression> parsedExpressions = CacheBuilder.newBuilder()
+            .maximumSize(PARSED_EXPRESSIONS_CACHE_SIZE).build();
+
     @Autowired
     private TranslationService translationService;
 
@@ -126,8 +135,7 @@ public final class ExpressionServiceImpl implements ExpressionService {
     }
 
     private String evaluateExpression(final String expression, final Entity entity, final Locale locale) {
-        ExpressionParser parser = new SpelExpressionParser();
-        Expression exp = parser.parseExpression(expression);
+        Expression exp = parseExpression(expression);
         EvaluationContext evaluationContext = getEvaluationContext(entity, locale);
         try {
             String value = String.valueOf(exp.getValue(evaluationContext));
@@ -144,6 +152,17 @@ public final class ExpressionServiceImpl implements ExpressionService {
         }
     }
 
+    private Expression parseExpression(final String expression) {
+        Expression parsedExpression = parsedExpressions.getIfPresent(expression);
+
+        if (parsedExpression == null) {
+            parsedExpression = parser.parseExpression(expression);
+            parsedExpressions.put(expression, parsedExpression);
+        }
+
+        return parsedExpression;
+    }
+
     private EvaluationContext getEvaluationContext(final Entity entity, final Locale locale) {
         EvaluationContext context = new StandardEvaluationContext();
         if (entity != null) {
@@ -33,18 +33,29 @@ import com.qcadoo.model.internal.api.InternalDataDefinition;
 import com.qcadoo.model.internal.api.InternalFieldDefinition;
 import com.qcadoo.model.internal.types.StringType;
 import com.qcadoo.model.internal.types.TextType;
+import com.qcadoo.model.internal.validators.LengthValidator;
+import com.qcadoo.model.internal.validators.RangeValidator;
+import com.qcadoo.model.internal.validators.RegexValidator;
 import com.qcadoo.model.internal.validators.RequiredValidator;
+import com.qcadoo.model.internal.validators.ScaleValidator;
 import com.qcadoo.model.internal.validators.UniqueValidator;
+import com.qcadoo.model.internal.validators.UnscaledValueValidator;
 import com.qcadoo.plugin.internal.PluginUtilsService;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import com.google.common.collect.ImmutableSet;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
 public final class FieldDefinitionImpl implements InternalFieldDefinition {
 
+    private static final ImmutableSet<Class<?>> BUILT_IN_VALIDATORS = ImmutableSet.<Class<?>> of(LengthValidator.class,
+            RangeValidator.class, RegexValidator.class, RequiredValidator.class, ScaleValidator.class, UniqueValidator.class,
+            UnscaledValueValidator.class);
+
     private final String name;
 
     private FieldType type;
@@ -195,6 +206,16 @@ public final class FieldDefinitionImpl implements InternalFieldDefinition {
         return true;
     }
 
+    @Override
+    public boolean hasCustomValidators() {
+        for (FieldHookDefinition validator : validators) {
+            if (!BUILT_IN_VALIDATORS.contains(validator.getClass())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder(13, 31).append(defaultValue).append(name).append(required).append(type).append(unique)
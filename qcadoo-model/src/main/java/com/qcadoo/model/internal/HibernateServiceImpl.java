@@ -37,13 +37,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.classic.Session;
+import org.hibernate.criterion.Projection;
+import org.hibernate.criterion.Projections;
 import org.hibernate.engine.SessionFactoryImplementor;
 import org.hibernate.engine.SessionImplementor;
 import org.hibernate.impl.CriteriaImpl;
 import org.hibernate.loader.criteria.CriteriaJoinWalker;
 import org.hibernate.loader.criteria.CriteriaQueryTranslator;
 import org.hibernate.persister.entity.OuterJoinLoadable;
+import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,6 +62,9 @@ public class HibernateServiceImpl implements HibernateService {
 
     private static final Logger LOG = LoggerFactory.getLogger(HibernateServiceImpl.class);
 
+    private static final Projection EXISTS_PROJECTION = Projections.sqlProjection("1 as present", new String[] { "present" },
+            new Type[] { StandardBasicTypes.INTEGER });
+
     @Autowired
     private DataDefinitionService dataDefinitionService;
 
@@ -69,6 +76,11 @@ public class HibernateServiceImpl implements HibernateService {
         return sessionFactory.getCurrentSession();
     }
 
+    @Override
+    public StatelessSession openStatelessSession() {
+        return sessionFactory.openStatelessSession();
+    }
+
     @Override
     public int getTotalNumberOfEntities(final Criteria criteria) {
         final CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
@@ -91,6 +103,23 @@ public class HibernateServiceImpl implements HibernateService {
                         translator.getQueryParameters().getPositionalParameterTypes()).uniqueResult()).intValue();
     }
 
+    @Override
+    public boolean exists(final Criteria criteria) {
+        final CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
+        Projection projection = criteriaImpl.getProjection();
+        ResultTransformer resultTransformer = criteriaImpl.getResultTransformer();
+
+        try {
+            criteria.setProjection(EXISTS_PROJECTION).setFirstResult(0).setMaxResults(1);
+
+            return !criteria.list().isEmpty();
+        } finally {
+            // executable criteria shares its state with the builder's detached criteria, so it may be listed afterwards
+            criteriaImpl.setProjection(projection);
+            criteriaImpl.setResultTransformer(resultTransformer);
+        }
+    }
+
     @Override
     public InternalDataDefinition resolveDataDefinition(final Criteria criteria) {
         final CriteriaImpl criteriaImpl = (CriteriaImpl) criteria;
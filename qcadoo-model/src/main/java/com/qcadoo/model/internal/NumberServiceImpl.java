@@ -51,19 +51,16 @@ public final class NumberServiceImpl implements NumberService {
 
     private static final Map<Locale, DecimalFormat> DECIMAL_FORMATS = Maps.newConcurrentMap();
 
+    // DecimalFormat isn't thread-safe, so cached formats are only prototypes and every call works on a copy
     private DecimalFormat getDecimalFormat() {
         final Locale locale = LocaleContextHolder.getLocale();
-        DecimalFormat decimalFormat = DECIMAL_FORMATS.get(locale);
-        if (decimalFormat == null) {
-            decimalFormat = buildDecimalFormat(locale);
-            DECIMAL_FORMATS.put(locale, decimalFormat);
-        }
-        return decimalFormat;
+        return (DecimalFormat) DECIMAL_FORMATS.computeIfAbsent(locale, this::buildDecimalFormat).clone();
     }
 
     private DecimalFormat getDecimalFormat(final int minimumFractionDigits) {
-        final Locale locale = LocaleContextHolder.getLocale();
-        DecimalFormat decimalFormat = buildDecimalFormat(locale, minimumFractionDigits);
+        final DecimalFormat decimalFormat = getDecimalFormat();
+        decimalFormat.setMinimumFractionDigits(minimumFractionDigits);
+        decimalFormat.setMaximumFractionDigits(MAX_PRECISION);
         return decimalFormat;
     }
 
@@ -75,14 +72,6 @@ public final class NumberServiceImpl implements NumberService {
         return decimalFormat;
     }
 
-    private DecimalFormat buildDecimalFormat(final Locale locale, final int minimumFractionDigits) {
-        final DecimalFormat decimalFormat = (DecimalFormat) DecimalFormat.getInstance(locale);
-        decimalFormat.setMinimumFractionDigits(minimumFractionDigits);
-        decimalFormat.setMaximumFractionDigits(MAX_PRECISION);
-        decimalFormat.setRoundingMode(ROUNDING_MODE);
-        return decimalFormat;
-    }
-
     @Override
     public MathContext getMathContext() {
         return MathContext.DECIMAL64;
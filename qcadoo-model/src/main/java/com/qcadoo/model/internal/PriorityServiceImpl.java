@@ -28,14 +28,21 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import java.io.Serializable;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map.Entry;
 
 import org.hibernate.Criteria;
+import org.hibernate.Query;
+import org.hibernate.classic.Session;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.engine.SessionImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
 import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.EntityChangeListener;
 import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.internal.api.EntityService;
 import com.qcadoo.model.internal.api.HibernateService;
@@ -52,6 +59,9 @@ public final class PriorityServiceImpl implements PriorityService {
     @Autowired
     private EntityService entityService;
 
+    @Autowired(required = false)
+    private List<EntityChangeListener> entityChangeListeners = Lists.newArrayList();
+
     @Override
     public void prioritizeEntity(final InternalDataDefinition dataDefinition, final Object databaseEntity) {
         if (!dataDefinition.isPrioritizable()) {
@@ -154,19 +164,78 @@ public final class PriorityServiceImpl implements PriorityService {
         return currentPriority + offset;
     }
 
-    @SuppressWarnings("unchecked")
     private void changePriority(final InternalDataDefinition dataDefinition, final FieldDefinition fieldDefinition,
             final Object databaseEntity, final int fromPriority, final int toPriority, final int diff) {
-        Criteria criteria = getCriteria(dataDefinition, fieldDefinition, databaseEntity).add(
-                Restrictions.ge(fieldDefinition.getName(), fromPriority)).add(
-                Restrictions.le(fieldDefinition.getName(), toPriority));
+        Session session = hibernateService.getCurrentSession();
 
-        List<Object> entitiesToDecrement = criteria.list();
+        // bulk update bypasses the session, so pending changes have to be written before it
+        session.flush();
 
-        for (Object entity : entitiesToDecrement) {
-            int priority = (Integer) entityService.getField(entity, fieldDefinition);
-            entityService.setField(entity, fieldDefinition, priority + diff);
-            hibernateService.getCurrentSession().update(entity);
+        String priorityFieldName = fieldDefinition.getName();
+
+        StringBuilder queryBuilder = new StringBuilder("update ");
+
+        if (dataDefinition.isVersionable()) {
+            // increments entityVersion of the shifted rows, like a regular update would
+            queryBuilder.append("versioned ");
+        }
+
+        queryBuilder.append(dataDefinition.getFullyQualifiedClassName());
+        queryBuilder.append(" set ").append(priorityFieldName).append(" = ").append(priorityFieldName).append(" + :diff");
+        queryBuilder.append(" where ").append(priorityFieldName).append(" between :fromPriority and :toPriority");
+
+        FieldDefinition scopeFieldDefinition = getScopeForPriority(fieldDefinition);
+        Object scopeValue = null;
+
+        if (scopeFieldDefinition != null) {
+            scopeValue = entityService.getField(databaseEntity, scopeFieldDefinition);
+
+            if (scopeValue instanceof Entity) {
+                queryBuilder.append(" and ").append(scopeFieldDefinition.getName()).append(".id = :scope");
+                scopeValue = ((Entity) scopeValue).getId();
+            } else {
+                queryBuilder.append(" and ").append(scopeFieldDefinition.getName()).append(" = :scope");
+            }
+        }
+
+        Query query = session.createQuery(queryBuilder.toString()).setParameter("diff", diff)
+                .setParameter("fromPriority", fromPriority).setParameter("toPriority", toPriority);
+
+        if (scopeFieldDefinition != null) {
+            query.setParameter("scope", scopeValue);
+        }
+
+        query.executeUpdate();
+
+        for (EntityChangeListener entityChangeListener : entityChangeListeners) {
+            entityChangeListener.onBulkUpdate(dataDefinition);
+        }
+
+        refreshShiftedEntities(session, dataDefinition, fieldDefinition, databaseEntity, fromPriority, toPriority);
+    }
+
+    private void refreshShiftedEntities(final Session session, final InternalDataDefinition dataDefinition,
+            final FieldDefinition fieldDefinition, final Object databaseEntity, final int fromPriority, final int toPriority) {
+        List<Object> shiftedEntities = Lists.newArrayList();
+
+        for (Object entry : ((SessionImplementor) session).getPersistenceContext().getEntitiesByKey().entrySet()) {
+            EntityKey entityKey = (EntityKey) ((Entry<?, ?>) entry).getKey();
+            Object entity = ((Entry<?, ?>) entry).getValue();
+
+            if (entity == databaseEntity || !dataDefinition.getFullyQualifiedClassName().equals(entityKey.getEntityName())) {
+                continue;
+            }
+
+            Integer priority = (Integer) entityService.getField(entity, fieldDefinition);
+
+            if (priority != null && priority >= fromPriority && priority <= toPriority) {
+                shiftedEntities.add(entity);
+            }
+        }
+
+        // entities already loaded into the session still hold old priority (and version), reload them
+        for (Object entity : shiftedEntities) {
+            session.refresh(entity);
         }
     }
 
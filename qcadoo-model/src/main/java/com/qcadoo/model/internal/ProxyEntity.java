@@ -28,6 +28,7 @@ import com.qcadoo.model.api.validators.ErrorMessage;
 import com.qcadoo.model.internal.api.EntityAwareCopyPerformers;
 import com.qcadoo.model.internal.api.EntityAwareEqualsPerformers;
 import com.qcadoo.model.internal.api.PerformerEntitiesChain;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 
 import java.math.BigDecimal;
@@ -45,22 +46,47 @@ public final class ProxyEntity implements Entity, EntityAwareCopyPerformers, Ent
 
     private final Long id;
 
+    private final FieldDefinition sourceFieldDefinition;
+
     private AtomicReference<Entity> entity = new AtomicReference<Entity>(null);
 
     public ProxyEntity(final DataDefinition dataDefinition, final Long id) {
+        this(dataDefinition, id, null);
+    }
+
+    ProxyEntity(final DataDefinition dataDefinition, final Long id, final FieldDefinition sourceFieldDefinition) {
         checkNotNull(id, "missing id for proxied entity");
         this.dataDefinition = dataDefinition;
         this.id = id;
+        this.sourceFieldDefinition = sourceFieldDefinition;
     }
 
     private Entity getEntity() {
         if (entity.get() == null) {
-            entity.compareAndSet(null, dataDefinition.get(id));
+            boolean originPushed = QueryProfiler.pushOrigin(this::describeLazyLoad);
+
+            try {
+                entity.compareAndSet(null, dataDefinition.get(id));
+            } finally {
+                if (originPushed) {
+                    QueryProfiler.popOrigin();
+                }
+            }
             checkNotNull(entity.get(), "Proxy can't load entity");
         }
         return entity.get();
     }
 
+    private String describeLazyLoad() {
+        String loadedEntity = QueryProfiler.describe(dataDefinition) + "#" + id;
+
+        if (sourceFieldDefinition == null) {
+            return "lazy load of " + loadedEntity;
+        }
+
+        return "lazy load of " + QueryProfiler.describe(sourceFieldDefinition) + " (" + loadedEntity + ")";
+    }
+
     @Override
     public void setId(final Long id) {
         getEntity().setId(id);
@@ -7,6 +7,7 @@ import com.qcadoo.model.api.search.JoinType;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchRestrictions;
 import com.qcadoo.model.api.types.ManyToManyType;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -39,7 +40,16 @@ public class ProxyList implements List<Entity> {
         if (list.get() == null) {
             SearchCriteriaBuilder searchCriteriaBuilder = referencedDataDefinition.find().createAlias(manyToManyType.getJoinFieldName(), manyToManyType.getJoinFieldName(), JoinType.INNER).add(SearchRestrictions.eq(manyToManyType.getJoinFieldName()+".id", parentId));
 
-            List<Entity> entities = searchCriteriaBuilder.list().getEntities();
+            boolean originPushed = QueryProfiler.pushOrigin(() -> "lazy load of " + QueryProfiler.describe(fieldDefinition));
+            List<Entity> entities;
+
+            try {
+                entities = searchCriteriaBuilder.listWithoutCount().getEntities();
+            } finally {
+                if (originPushed) {
+                    QueryProfiler.popOrigin();
+                }
+            }
 
             list.compareAndSet(null, entities);
             checkNotNull(list.get(), "Proxy can't load list");
@@ -24,6 +24,7 @@
 package com.qcadoo.model.internal.api;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.EntityOpResult;
@@ -75,6 +76,15 @@ public interface DataAccessService {
      */
     Entity get(InternalDataDefinition dataDefinition, Long entityId);
 
+    /**
+     * Return the read-only entity related with given data definition, by its id.
+     * 
+     * @param dataDefinition
+     * @param entityId
+     * @return read-only entity
+     */
+    Entity getReadOnly(InternalDataDefinition dataDefinition, Long entityId);
+
     /**
      * Return the entity related with master model data definition, by its id.
      * 
@@ -110,6 +120,41 @@ public interface DataAccessService {
      */
     SearchResult find(SearchCriteria searchCriteria);
 
+    /**
+     * Check if there is any entity matching given search criteria, without counting nor converting them.
+     * 
+     * @param searchCriteria
+     * @return true if at least one entity matches
+     */
+    boolean exists(SearchCriteria searchCriteria);
+
+    /**
+     * Find search result for given search criteria, without counting all matching entities up front.
+     * 
+     * @param searchCriteria
+     * @return result of search with lazily counted total number of entities
+     */
+    SearchResult findWithoutCount(SearchCriteria searchCriteria);
+
+    /**
+     * Stream entities matching given search criteria one by one, using forward-only cursor of stateless session.
+     * 
+     * @param searchCriteria
+     * @param consumer
+     * @return number of streamed entities
+     */
+    int stream(SearchCriteria searchCriteria, Consumer<Entity> consumer);
+
+    /**
+     * Stream entities matching given search criteria in chunks, each chunk is processed in its own transaction.
+     * 
+     * @param searchCriteria
+     * @param chunkSize
+     * @param chunkConsumer
+     * @return number of streamed entities
+     */
+    int stream(SearchCriteria searchCriteria, int chunkSize, Consumer<List<Entity>> chunkConsumer);
+
     /**
      * Find search result for given search query.
      * 
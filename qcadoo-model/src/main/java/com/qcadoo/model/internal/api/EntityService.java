@@ -23,6 +23,8 @@
  */
 package com.qcadoo.model.internal.api;
 
+import java.util.Set;
+
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.FieldDefinition;
 
@@ -42,5 +44,9 @@ public interface EntityService {
 
     Entity convertToGenericEntity(InternalDataDefinition dataDefinition, Object databaseEntity);
 
+    Entity convertToGenericEntity(InternalDataDefinition dataDefinition, Object databaseEntity, Set<String> fetchPaths);
+
+    Entity convertToReadOnlyEntity(InternalDataDefinition dataDefinition, Object databaseEntity, Set<String> fetchPaths);
+
     Object convertToDatabaseEntity(InternalDataDefinition dataDefinition, Entity genericEntity, Object existingDatabaseEntity);
 }
\ No newline at end of file
@@ -27,14 +27,19 @@ import java.util.List;
 
 import org.hibernate.Criteria;
 import org.hibernate.Query;
+import org.hibernate.StatelessSession;
 import org.hibernate.classic.Session;
 
 public interface HibernateService {
 
     Session getCurrentSession();
 
+    StatelessSession openStatelessSession();
+
     int getTotalNumberOfEntities(Criteria criteria);
 
+    boolean exists(Criteria criteria);
+
     InternalDataDefinition resolveDataDefinition(Criteria criteria);
 
     InternalDataDefinition resolveDataDefinition(Query query);
@@ -43,6 +43,24 @@ public interface InternalDataDefinition extends DataDefinition {
      */
     SearchResult find(final SearchCriteria searchCriteria);
 
+    /**
+     * Checks if there is any entity for this data definition matching given search criteria.
+     * 
+     * @param searchCriteria
+     *            search criteria
+     * @return true if at least one entity matches
+     */
+    boolean exists(final SearchCriteria searchCriteria);
+
+    /**
+     * Find entities for this data definition using given search criteria, without counting them up front.
+     * 
+     * @param searchCriteria
+     *            search criteria
+     * @return search result with lazily counted total number of entities
+     */
+    SearchResult findWithoutCount(final SearchCriteria searchCriteria);
+
     /**
      * Get fully qualified class name representing given data definition.
      * 
@@ -134,6 +152,15 @@ public interface InternalDataDefinition extends DataDefinition {
      */
     boolean isAuditable();
 
+    /**
+     * Return true if any validator, save hook or update hook is declared for this data definition or any of its fields has a
+     * custom validator, so changing an existing entity has to go through them. Built-in field validators aren't counted, they
+     * check only field's own value.
+     * 
+     * @return has update hooks
+     */
+    boolean hasUpdateHooks();
+
     /**
      * Call copy hooks on given entity.
      * 
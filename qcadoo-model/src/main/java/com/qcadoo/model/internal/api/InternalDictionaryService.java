@@ -31,4 +31,9 @@ public interface InternalDictionaryService extends DictionaryService {
 
     void disable(String pluginIdentifier, String name);
 
+    /**
+     * Drops cached dictionary items, must be called when dictionaries or their items change.
+     */
+    void invalidateCache();
+
 }
@@ -30,6 +30,13 @@ public interface InternalFieldDefinition extends FieldDefinition {
 
     boolean callValidators(final Entity entity, final Object oldValue, final Object newValue);
 
+    /**
+     * Return true if any validator of this field isn't one of the built-in validators, which check only field's own value.
+     * 
+     * @return has custom validators
+     */
+    boolean hasCustomValidators();
+
     boolean isEnabled();
 
     void enable();
@@ -38,6 +38,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.ImmutableList;
 import com.qcadoo.localization.api.TranslationService;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.DataDefinitionService;
@@ -51,28 +52,36 @@ import com.qcadoo.model.constants.DictionaryFields;
 import com.qcadoo.model.constants.DictionaryItemFields;
 import com.qcadoo.model.constants.QcadooModelConstants;
 import com.qcadoo.model.internal.api.InternalDictionaryService;
+import com.qcadoo.model.internal.utils.TenantAwareCache;
+import com.qcadoo.tenant.api.MultiTenantService;
 
 @Service
 public final class DictionaryServiceImpl implements InternalDictionaryService {
 
+    private static final long L_CACHE_MAXIMUM_SIZE = 1000;
+
     @Autowired
     private TranslationService translationService;
 
     @Autowired
     private DataDefinitionService dataDefinitionService;
 
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private final TenantAwareCache<List<CachedDictionaryItem>> itemsCache = new TenantAwareCache<List<CachedDictionaryItem>>(
+            L_CACHE_MAXIMUM_SIZE);
+
     @Override
     @Transactional(readOnly = true)
     @Monitorable
     public List<String> getKeys(final String dictionary) {
         checkArgument(hasText(dictionary), "dictionary name must be given");
 
-        List<Entity> items = createCriteriaForItemsFrom(dictionary).addOrder(SearchOrders.asc(DictionaryItemFields.NAME)).list()
-                .getEntities();
         List<String> keys = new ArrayList<String>();
 
-        for (Entity item : items) {
-            keys.add(item.getStringField(DictionaryItemFields.NAME));
+        for (CachedDictionaryItem item : getItems(dictionary)) {
+            keys.add(item.getName());
         }
 
         return keys;
@@ -84,12 +93,12 @@ public final class DictionaryServiceImpl implements InternalDictionaryService {
     public List<String> getActiveKeys(final String dictionary) {
         checkArgument(hasText(dictionary), "dictionary name must be given");
 
-        List<Entity> items = createCriteriaForItemsFrom(dictionary).add(SearchRestrictions.eq("active", true))
-                .addOrder(SearchOrders.asc(DictionaryItemFields.NAME)).list().getEntities();
         List<String> keys = new ArrayList<String>();
 
-        for (Entity item : items) {
-            keys.add(item.getStringField(DictionaryItemFields.NAME));
+        for (CachedDictionaryItem item : getItems(dictionary)) {
+            if (item.isActive()) {
+                keys.add(item.getName());
+            }
         }
 
         return keys;
@@ -101,14 +110,13 @@ public final class DictionaryServiceImpl implements InternalDictionaryService {
     public Map<String, String> getValues(final String dictionary, final Locale locale) {
         checkArgument(hasText(dictionary), "dictionary name must be given");
 
-        List<Entity> items = createCriteriaForActiveItemsFrom(dictionary).addOrder(SearchOrders.asc(DictionaryItemFields.NAME))
-                .list().getEntities();
-
         Map<String, String> values = new LinkedHashMap<String, String>();
 
         // TODO MAKU translate dictionary values
-        for (Entity item : items) {
-            values.put(item.getStringField(DictionaryItemFields.NAME), item.getStringField(DictionaryItemFields.NAME));
+        for (CachedDictionaryItem item : getItems(dictionary)) {
+            if (item.isActive()) {
+                values.put(item.getName(), item.getName());
+            }
         }
 
         return values;
@@ -120,13 +128,12 @@ public final class DictionaryServiceImpl implements InternalDictionaryService {
     public Map<String, String> getKeyValues(final String dictionary, final Locale locale) {
         checkArgument(hasText(dictionary), "dictionary name must be given");
 
-        List<Entity> items = createCriteriaForActiveItemsFrom(dictionary).addOrder(SearchOrders.asc(DictionaryItemFields.NAME))
-                .list().getEntities();
-
         Map<String, String> values = new LinkedHashMap<>();
 
-        for (Entity item : items) {
-            values.put(item.getStringField(DictionaryItemFields.TECHNICAL_CODE), item.getStringField(DictionaryItemFields.NAME));
+        for (CachedDictionaryItem item : getItems(dictionary)) {
+            if (item.isActive()) {
+                values.put(item.getTechnicalCode(), item.getName());
+            }
         }
 
         return values;
@@ -192,6 +199,29 @@ public final class DictionaryServiceImpl implements InternalDictionaryService {
                 .setMaxResults(1).uniqueResult();
     }
 
+    @Override
+    public void invalidateCache() {
+        itemsCache.invalidate();
+    }
+
+    private List<CachedDictionaryItem> getItems(final String dictionaryName) {
+        return itemsCache.get(multiTenantService.getCurrentTenantId(), dictionaryName, () -> loadItems(dictionaryName));
+    }
+
+    private List<CachedDictionaryItem> loadItems(final String dictionaryName) {
+        List<Entity> items = createCriteriaForItemsFrom(dictionaryName).addOrder(SearchOrders.asc(DictionaryItemFields.NAME))
+                .listWithoutCount().getEntities();
+
+        ImmutableList.Builder<CachedDictionaryItem> cachedItems = ImmutableList.builder();
+
+        for (Entity item : items) {
+            cachedItems.add(new CachedDictionaryItem(item.getStringField(DictionaryItemFields.NAME), item
+                    .getStringField(DictionaryItemFields.TECHNICAL_CODE), item.getBooleanField(DictionaryItemFields.ACTIVE)));
+        }
+
+        return cachedItems.build();
+    }
+
     private static final String ITEM_DICTIONARY_NAME_PATH = DictionaryItemFields.DICTIONARY + '.' + DictionaryFields.NAME;
 
     private SearchCriteriaBuilder createCriteriaForActiveItemsFrom(final String dictionaryName) {
@@ -231,4 +261,32 @@ public final class DictionaryServiceImpl implements InternalDictionaryService {
         return getItemEntity(QcadooModelConstants.DICTIONARY_UNITS, unit).getBooleanField(DictionaryItemFields.IS_INTEGER);
     }
 
+    private static final class CachedDictionaryItem {
+
+        private final String name;
+
+        private final String technicalCode;
+
+        private final boolean active;
+
+        private CachedDictionaryItem(final String name, final String technicalCode, final boolean active) {
+            this.name = name;
+            this.technicalCode = technicalCode;
+            this.active = active;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getTechnicalCode() {
+            return technicalCode;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+    }
+
 }
@@ -31,7 +31,6 @@ import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchRestrictions;
-import com.qcadoo.model.api.search.SearchResult;
 import com.qcadoo.model.constants.DictionaryItemFields;
 
 @Service
@@ -69,9 +68,7 @@ public class DictionaryItemValidators {
             searchCriteriaBuilder.add(SearchRestrictions.idNe(dictionaryItem.getId()));
         }
 
-        SearchResult searchResult = searchCriteriaBuilder.list();
-
-        return searchResult.getEntities().isEmpty();
+        return !searchCriteriaBuilder.exists();
     }
 
     private boolean disallowNameChange(final DataDefinition dictionaryItemDD, final Entity dictionaryItem) {
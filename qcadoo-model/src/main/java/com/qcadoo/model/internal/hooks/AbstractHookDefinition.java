@@ -23,7 +23,7 @@
  */
 package com.qcadoo.model.internal.hooks;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -33,6 +33,10 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.springframework.context.ApplicationContext;
 
+import com.google.common.base.Throwables;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
+import com.qcadoo.model.internal.utils.MethodHandleUtils;
+
 /**
  * Abstract superclass which provides some common building-blocks for Java hooks.
  * 
@@ -50,6 +54,8 @@ public abstract class AbstractHookDefinition {
 
     private final Method method;
 
+    private final MethodHandle invoker;
+
     protected AbstractHookDefinition(final String className, final String methodName, final String pluginIdentifier,
             final ApplicationContext applicationContext) throws HookInitializationException {
         this.pluginIdentifier = pluginIdentifier;
@@ -61,19 +67,24 @@ public abstract class AbstractHookDefinition {
         this.method = getMethod(clazz, methodName);
 
         checkHookMethodModifiers();
+
+        this.invoker = getInvoker();
     }
 
     protected abstract Class<?>[] getParameterTypes();
 
     protected Object performCall(final Object... args) {
+        boolean originPushed = QueryProfiler.pushOrigin(() -> "hook " + className + "." + methodName);
+
         try {
-            return getMethod().invoke(getBean(), args);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalStateException("Failed to invoke hook method", e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException("Failed to invoke hook method", e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException("Failed to invoke hook method", e);
+            return (Object) invoker.invokeExact(args);
+        } catch (Throwable throwable) {
+            Throwables.propagateIfPossible(throwable);
+            throw new IllegalStateException("Failed to invoke hook method", throwable);
+        } finally {
+            if (originPushed) {
+                QueryProfiler.popOrigin();
+            }
         }
     }
 
@@ -123,6 +134,15 @@ public abstract class AbstractHookDefinition {
         }
     }
 
+    private MethodHandle getInvoker() throws HookInitializationException {
+        try {
+            return MethodHandleUtils.toSpreadInvoker(method, bean);
+        } catch (IllegalAccessException e) {
+            throw new HookInitializationException(className, methodName, "Failed to access hook method '"
+                    + method.getDeclaringClass().getCanonicalName() + "#" + methodName + "'", e);
+        }
+    }
+
     private Method getMethod(final Class<?> clazz, final String methodName) throws HookInitializationException {
         if (StringUtils.isBlank(methodName)) {
             throw new HookInitializationException(className, methodName, "Hook method name cannot be empty");
@@ -0,0 +1,83 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.Lists;
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricsSource;
+
+/**
+ * Exposes utilisation of the c3p0 pool of the main data source.
+ */
+@Service
+public class ConnectionPoolMetricsSource implements MetricsSource {
+
+    private static final String L_DATA_SOURCE = "dataSource";
+
+    private static final String L_POOL = "pool";
+
+    @Autowired(required = false)
+    @Qualifier(L_DATA_SOURCE)
+    private DataSource dataSource;
+
+    @Override
+    public List<MetricSample> getSamples() {
+        if (!(dataSource instanceof ComboPooledDataSource)) {
+            return Collections.emptyList();
+        }
+
+        ComboPooledDataSource pooledDataSource = (ComboPooledDataSource) dataSource;
+
+        List<MetricSample> samples = Lists.newArrayList();
+
+        try {
+            samples.add(new MetricSample("qcadoo_pool_connections_busy", L_POOL, L_DATA_SOURCE, pooledDataSource
+                    .getNumBusyConnectionsDefaultUser()));
+            samples.add(new MetricSample("qcadoo_pool_connections_idle", L_POOL, L_DATA_SOURCE, pooledDataSource
+                    .getNumIdleConnectionsDefaultUser()));
+            samples.add(new MetricSample("qcadoo_pool_connections", L_POOL, L_DATA_SOURCE, pooledDataSource
+                    .getNumConnectionsDefaultUser()));
+            samples.add(new MetricSample("qcadoo_pool_connections_max", L_POOL, L_DATA_SOURCE, pooledDataSource
+                    .getMaxPoolSize()));
+            samples.add(new MetricSample("qcadoo_pool_threads_awaiting_checkout", L_POOL, L_DATA_SOURCE, pooledDataSource
+                    .getNumThreadsAwaitingCheckoutDefaultUser()));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        return samples;
+    }
+
+}
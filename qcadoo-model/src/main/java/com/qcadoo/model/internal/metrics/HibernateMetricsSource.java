@@ -0,0 +1,102 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.Lists;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricSample.Type;
+import com.qcadoo.model.api.metrics.MetricsSource;
+
+/**
+ * Exposes Hibernate statistics, available only when hibernateGenerateStatistics is enabled.
+ */
+@Service
+public class HibernateMetricsSource implements MetricsSource {
+
+    private static final String L_ENTITY = "entity";
+
+    private static final String L_REGION = "region";
+
+    @Autowired
+    private SessionFactory sessionFactory;
+
+    @Override
+    public List<MetricSample> getSamples() {
+        Statistics statistics = sessionFactory.getStatistics();
+
+        if (!statistics.isStatisticsEnabled()) {
+            return Collections.emptyList();
+        }
+
+        List<MetricSample> samples = Lists.newArrayList();
+
+        samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_queries_total", statistics.getQueryExecutionCount()));
+        samples.add(new MetricSample("qcadoo_hibernate_query_max_seconds", statistics.getQueryExecutionMaxTime() / 1000.0));
+        samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_statements_prepared_total", statistics
+                .getPrepareStatementCount()));
+        samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_sessions_opened_total", statistics.getSessionOpenCount()));
+        samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_flushes_total", statistics.getFlushCount()));
+
+        for (String entityName : statistics.getEntityNames()) {
+            EntityStatistics entityStatistics = statistics.getEntityStatistics(entityName);
+
+            // most of the models are never touched, there is no point in publishing zeros for all of them
+            if (entityStatistics.getLoadCount() > 0 || entityStatistics.getFetchCount() > 0) {
+                samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_entity_loads_total", L_ENTITY, entityName,
+                        entityStatistics.getLoadCount()));
+                samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_entity_fetches_total", L_ENTITY, entityName,
+                        entityStatistics.getFetchCount()));
+            }
+        }
+
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            SecondLevelCacheStatistics cacheStatistics = statistics.getSecondLevelCacheStatistics(regionName);
+
+            if (cacheStatistics == null) {
+                continue;
+            }
+
+            long hits = cacheStatistics.getHitCount();
+            long misses = cacheStatistics.getMissCount();
+
+            samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_cache_hits_total", L_REGION, regionName, hits));
+            samples.add(new MetricSample(Type.COUNTER, "qcadoo_hibernate_cache_misses_total", L_REGION, regionName, misses));
+            samples.add(new MetricSample("qcadoo_hibernate_cache_hit_ratio", L_REGION, regionName, hits + misses == 0 ? 0
+                    : (double) hits / (hits + misses)));
+        }
+
+        return samples;
+    }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.collect.ImmutableMap;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricSample.Type;
+
+/**
+ * Histogram of durations with fixed buckets, exported the way Prometheus expects it: cumulative buckets labelled with their
+ * upper bound in seconds, followed by count and sum.
+ */
+final class LatencyHistogram {
+
+    private static final long[] BUCKET_BOUNDS_IN_MILLIS = { 1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000 };
+
+    private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKET_BOUNDS_IN_MILLIS.length + 1];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    LatencyHistogram() {
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    void record(final long durationInNanos) {
+        int bucket = 0;
+
+        // bounds are inclusive, like "le" label says
+        while (bucket < BUCKET_BOUNDS_IN_MILLIS.length
+                && durationInNanos > TimeUnit.MILLISECONDS.toNanos(BUCKET_BOUNDS_IN_MILLIS[bucket])) {
+            bucket++;
+        }
+
+        bucketCounts[bucket].increment();
+        totalNanos.add(durationInNanos);
+    }
+
+    void addSamples(final String name, final Map<String, String> labels, final List<MetricSample> samples) {
+        long count = 0;
+
+        for (int i = 0; i < bucketCounts.length; i++) {
+            count += bucketCounts[i].sum();
+
+            String upperBound = i < BUCKET_BOUNDS_IN_MILLIS.length ? Double.toString(BUCKET_BOUNDS_IN_MILLIS[i] / 1000.0)
+                    : "+Inf";
+
+            samples.add(new MetricSample(name, Type.HISTOGRAM, name + "_bucket", ImmutableMap.<String, String> builder().putAll(labels)
+                    .put("le", upperBound).build(), count));
+        }
+
+        samples.add(new MetricSample(name, Type.HISTOGRAM, name + "_count", labels, count));
+        samples.add(new MetricSample(name, Type.HISTOGRAM, name + "_sum", labels, totalNanos.sum() / NANOS_IN_SECOND));
+    }
+
+}
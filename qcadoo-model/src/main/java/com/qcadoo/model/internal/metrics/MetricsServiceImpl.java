@@ -0,0 +1,159 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricSample.Type;
+import com.qcadoo.model.api.metrics.MetricsService;
+import com.qcadoo.model.api.metrics.MetricsSource;
+
+@Service
+public class MetricsServiceImpl implements MetricsService {
+
+    static final String L_OTHER_LABEL_VALUE = "_other";
+
+    private final ConcurrentMap<MetricKey, LatencyHistogram> histograms = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<MetricKey, LongAdder> counters = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<String, AtomicInteger> labelValuesCounts = Maps.newConcurrentMap();
+
+    @Value("${metricsMaxLabelValues:500}")
+    private int maxLabelValues;
+
+    @Autowired(required = false)
+    private List<MetricsSource> metricsSources = Lists.newArrayList();
+
+    @Override
+    public void recordTime(final String name, final String labelName, final String labelValue, final long durationInNanos) {
+        getMetric(histograms, name, labelName, labelValue, LatencyHistogram::new).record(durationInNanos);
+    }
+
+    @Override
+    public void increment(final String name, final String labelName, final String labelValue, final long amount) {
+        getMetric(counters, name, labelName, labelValue, LongAdder::new).add(amount);
+    }
+
+    /**
+     * Label values often come from outside (e.g. view names taken from URL), so number of distinct values of one metric is
+     * capped - once the limit is reached, all new values are recorded under {@value #L_OTHER_LABEL_VALUE}.
+     */
+    private <T> T getMetric(final ConcurrentMap<MetricKey, T> metrics, final String name, final String labelName,
+            final String labelValue, final Supplier<T> metricFactory) {
+        MetricKey key = new MetricKey(name, labelName, labelValue);
+        T metric = metrics.get(key);
+
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(key, k -> reserveLabelValue(name) ? metricFactory.get() : null);
+        }
+
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(new MetricKey(name, labelName, L_OTHER_LABEL_VALUE), k -> metricFactory.get());
+        }
+
+        return metric;
+    }
+
+    private boolean reserveLabelValue(final String name) {
+        AtomicInteger labelValuesCount = labelValuesCounts.computeIfAbsent(name, k -> new AtomicInteger());
+
+        if (labelValuesCount.incrementAndGet() > maxLabelValues) {
+            labelValuesCount.decrementAndGet();
+
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public List<MetricSample> getSamples() {
+        List<MetricSample> samples = Lists.newArrayList();
+
+        for (Entry<MetricKey, LatencyHistogram> histogramEntry : histograms.entrySet()) {
+            MetricKey key = histogramEntry.getKey();
+            histogramEntry.getValue().addSamples(key.name, ImmutableMap.of(key.labelName, key.labelValue), samples);
+        }
+
+        for (Entry<MetricKey, LongAdder> counterEntry : counters.entrySet()) {
+            MetricKey key = counterEntry.getKey();
+            samples.add(new MetricSample(Type.COUNTER, key.name, key.labelName, key.labelValue, counterEntry.getValue().sum()));
+        }
+
+        for (MetricsSource metricsSource : metricsSources) {
+            samples.addAll(metricsSource.getSamples());
+        }
+
+        return samples;
+    }
+
+    private static final class MetricKey {
+
+        private final String name;
+
+        private final String labelName;
+
+        private final String labelValue;
+
+        private MetricKey(final String name, final String labelName, final String labelValue) {
+            this.name = name;
+            this.labelName = labelName;
+            this.labelValue = labelValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(name, labelName, labelValue);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MetricKey)) {
+                return false;
+            }
+            MetricKey other = (MetricKey) obj;
+            return name.equals(other.name) && labelName.equals(other.labelName) && labelValue.equals(other.labelValue);
+        }
+
+    }
+
+}
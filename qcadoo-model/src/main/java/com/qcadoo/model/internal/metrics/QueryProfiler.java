@@ -0,0 +1,207 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Queues;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.FieldDefinition;
+import com.qcadoo.model.api.metrics.QueryProfile;
+
+/**
+ * Per-thread counter of executed SQL statements. Statements are grouped by their fingerprint (SQL without literals), so the
+ * same select executed for every row of a list shows up as a single, often repeated statement.
+ * 
+ * Code which may trigger queries on behalf of someone else (hooks, lazy loaded entities and lists) pushes its description
+ * as an origin, so warnings about repeated statements can say where they come from. All methods are no-ops when no profile
+ * is started in the current thread.
+ */
+public final class QueryProfiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(QueryProfiler.class);
+
+    private static final ThreadLocal<ActiveProfile> ACTIVE_PROFILE = new ThreadLocal<ActiveProfile>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryProfiler() {
+    }
+
+    static void start(final String name, final int repeatThreshold) {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile == null) {
+            ACTIVE_PROFILE.set(new ActiveProfile(name, repeatThreshold));
+        } else {
+            profile.depth++;
+        }
+    }
+
+    static QueryProfile finish() {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile == null) {
+            return null;
+        }
+
+        if (profile.depth > 0) {
+            profile.depth--;
+
+            return null;
+        }
+
+        ACTIVE_PROFILE.remove();
+
+        Map<String, Integer> repeatedStatements = Maps.newLinkedHashMap();
+
+        for (Entry<String, Integer> statementCount : profile.statementCounts.entrySet()) {
+            if (statementCount.getValue() >= profile.repeatThreshold) {
+                repeatedStatements.put(statementCount.getKey(), statementCount.getValue());
+            }
+        }
+
+        return new QueryProfile(profile.name, profile.queryCount, profile.databaseTimeInNanos, repeatedStatements);
+    }
+
+    public static boolean isActive() {
+        return ACTIVE_PROFILE.get() != null;
+    }
+
+    /**
+     * Pushes description of code which is going to execute queries. Description is built only if profile is started.
+     * 
+     * @param origin
+     *            supplier of the description, e.g. "hook com.qcadoo.SomeHooks.onSave"
+     * @return true if origin was pushed and {@link #popOrigin()} has to be called
+     */
+    public static boolean pushOrigin(final Supplier<String> origin) {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile == null) {
+            return false;
+        }
+
+        profile.origins.push(origin.get());
+
+        return true;
+    }
+
+    public static void popOrigin() {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile != null && !profile.origins.isEmpty()) {
+            profile.origins.pop();
+        }
+    }
+
+    static void onStatement(final String sql) {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile == null) {
+            return;
+        }
+
+        profile.queryCount++;
+
+        String fingerprint = getFingerprint(sql);
+        int count = profile.statementCounts.merge(fingerprint, 1, Integer::sum);
+
+        if (count == profile.repeatThreshold) {
+            LOG.warn("Possible N+1 select during {}: statement executed {} times, triggered by {}: {}", profile.name, count,
+                    profile.getOrigin(), fingerprint);
+        }
+    }
+
+    public static void addDatabaseTime(final long durationInNanos) {
+        ActiveProfile profile = ACTIVE_PROFILE.get();
+
+        if (profile != null) {
+            profile.databaseTimeInNanos += durationInNanos;
+        }
+    }
+
+    static String getFingerprint(final String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMERIC_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("in (?)");
+
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    public static String describe(final DataDefinition dataDefinition) {
+        return dataDefinition.getPluginIdentifier() + "." + dataDefinition.getName();
+    }
+
+    public static String describe(final FieldDefinition fieldDefinition) {
+        return describe(fieldDefinition.getDataDefinition()) + "." + fieldDefinition.getName();
+    }
+
+    private static final class ActiveProfile {
+
+        private final String name;
+
+        private final int repeatThreshold;
+
+        private final Deque<String> origins = Queues.newArrayDeque();
+
+        private final Map<String, Integer> statementCounts = Maps.newHashMap();
+
+        private int depth;
+
+        private int queryCount;
+
+        private long databaseTimeInNanos;
+
+        private ActiveProfile(final String name, final int repeatThreshold) {
+            this.name = name;
+            this.repeatThreshold = repeatThreshold;
+        }
+
+        private String getOrigin() {
+            if (origins.isEmpty()) {
+                return "view rendering";
+            }
+
+            return Joiner.on(" < ").join(origins);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.qcadoo.model.api.metrics.QueryProfile;
+import com.qcadoo.model.api.metrics.QueryProfilingService;
+
+@Service
+public class QueryProfilingServiceImpl implements QueryProfilingService {
+
+    @Value("${queryProfilingEnabled:false}")
+    private boolean enabled;
+
+    @Value("${queryProfilingRepeatThreshold:10}")
+    private int repeatThreshold;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void startProfile(final String name) {
+        if (enabled) {
+            QueryProfiler.start(name, repeatThreshold);
+        }
+    }
+
+    @Override
+    public QueryProfile finishProfile() {
+        if (!enabled) {
+            return null;
+        }
+
+        return QueryProfiler.finish();
+    }
+
+    void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void setRepeatThreshold(final int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+}
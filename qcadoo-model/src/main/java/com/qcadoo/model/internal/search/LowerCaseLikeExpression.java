@@ -0,0 +1,70 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.search;
+
+import java.util.Locale;
+
+import org.hibernate.Criteria;
+import org.hibernate.HibernateException;
+import org.hibernate.criterion.CriteriaQuery;
+import org.hibernate.criterion.Criterion;
+import org.hibernate.engine.TypedValue;
+
+/**
+ * Case-insensitive "like" rendered as "lower(column) like ?" on every dialect. Hibernate's ilike is rendered as "column ilike ?"
+ * on PostgreSQL, which can't use any btree index, while this one can use an index on "lower(column)".
+ */
+public class LowerCaseLikeExpression implements Criterion {
+
+    private final String propertyName;
+
+    private final String value;
+
+    public LowerCaseLikeExpression(final String propertyName, final String value) {
+        this.propertyName = propertyName;
+        this.value = value;
+    }
+
+    @Override
+    public String toSqlString(final Criteria criteria, final CriteriaQuery criteriaQuery) throws HibernateException {
+        String[] columns = criteriaQuery.findColumns(propertyName, criteria);
+
+        if (columns.length != 1) {
+            throw new HibernateException("lower like may only be used with single-column properties");
+        }
+
+        return "lower(" + columns[0] + ") like ?";
+    }
+
+    @Override
+    public TypedValue[] getTypedValues(final Criteria criteria, final CriteriaQuery criteriaQuery) throws HibernateException {
+        return new TypedValue[] { criteriaQuery.getTypedValue(criteria, propertyName, value.toLowerCase(Locale.ROOT)) };
+    }
+
+    @Override
+    public String toString() {
+        return "lower(" + propertyName + ") like " + value;
+    }
+
+}
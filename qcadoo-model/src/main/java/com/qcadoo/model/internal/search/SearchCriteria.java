@@ -23,7 +23,10 @@
  */
 package com.qcadoo.model.internal.search;
 
+import java.util.Set;
+
 import org.hibernate.Criteria;
+import org.hibernate.StatelessSession;
 import org.hibernate.classic.Session;
 import org.hibernate.criterion.DetachedCriteria;
 
@@ -45,12 +48,38 @@ public interface SearchCriteria {
 
     Criteria createCriteria(Session session);
 
+    /**
+     * Creates criteria executable in given stateless session, used for streaming large result sets.
+     * 
+     * @param session
+     *            stateless session
+     * @return executable criteria
+     */
+    Criteria createCriteria(StatelessSession session);
+
     void addFirstAndMaxResults(Criteria criteria);
 
+    int getFirstResult();
+
+    int getMaxResults();
+
     void addCacheable(Criteria criteria);
 
     void addOrders(Criteria criteria);
 
+    void addFetchPlan(Criteria criteria);
+
+    void addReadOnly(Criteria criteria);
+
+    boolean isReadOnly();
+
+    /**
+     * Returns paths of associations which should be fetched and converted together with found entities.
+     * 
+     * @return association paths
+     */
+    Set<String> getFetchPaths();
+
     DetachedCriteria getHibernateDetachedCriteria();
 
 }
@@ -25,6 +25,7 @@ package com.qcadoo.model.internal.search;
 
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.api.search.JoinType;
 import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchCriterion;
@@ -38,15 +39,24 @@ import com.qcadoo.model.internal.api.InternalDataDefinition;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
+import org.hibernate.StatelessSession;
 import org.hibernate.classic.Session;
 import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.impl.CriteriaImpl;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 public final class SearchCriteriaImpl implements SearchCriteriaBuilder, SearchCriteria {
 
@@ -68,6 +78,10 @@ public final class SearchCriteriaImpl implements SearchCriteriaBuilder, SearchCr
 
     private boolean cacheable = false;
 
+    private final Set<String> fetchPaths = new LinkedHashSet<String>();
+
+    private boolean readOnly = false;
+
     public SearchCriteriaImpl(final DataDefinition dataDefinition) {
         checkNotNull(dataDefinition);
         sourceDataDefinition = dataDefinition;
@@ -103,9 +117,19 @@ public final class SearchCriteriaImpl implements SearchCriteriaBuilder, SearchCr
         return ((InternalDataDefinition) sourceDataDefinition).find(this);
     }
 
+    @Override
+    public SearchResult listWithoutCount() {
+        return ((InternalDataDefinition) sourceDataDefinition).findWithoutCount(this);
+    }
+
+    @Override
+    public boolean exists() {
+        return ((InternalDataDefinition) sourceDataDefinition).exists(this);
+    }
+
     @Override
     public Entity uniqueResult() {
-        SearchResult results = list();
+        SearchResult results = listWithoutCount();
 
         if (results.getEntities().isEmpty()) {
             return null;
@@ -123,11 +147,30 @@ public final class SearchCriteriaImpl implements SearchCriteriaBuilder, SearchCr
         return executableCriteria;
     }
 
+    @Override
+    public Criteria createCriteria(final StatelessSession session) {
+        // DetachedCriteria accepts only regular sessions, but the underlying criteria works with any session implementor
+        CriteriaImpl executableCriteria = (CriteriaImpl) criteria.getExecutableCriteria(null);
+        executableCriteria.setSession((SessionImplementor) session);
+
+        return executableCriteria;
+    }
+
     @Override
     public void addFirstAndMaxResults(final Criteria criteria) {
         criteria.setMaxResults(maxResults).setFirstResult(firstResult);
     }
 
+    @Override
+    public int getFirstResult() {
+        return firstResult;
+    }
+
+    @Override
+    public int getMaxResults() {
+        return maxResults;
+    }
+
     @Override
     public void addCacheable(Criteria criteria) {
         if (cacheable) {
@@ -150,6 +193,70 @@ public final class SearchCriteriaImpl implements SearchCriteriaBuilder, SearchCr
         }
     }
 
+    @Override
+    public void addFetchPlan(final Criteria criteria) {
+        if (hasProjection) {
+            return;
+        }
+
+        for (String fetchPath : fetchPaths) {
+            criteria.setFetchMode(fetchPath, FetchMode.JOIN);
+        }
+    }
+
+    @Override
+    public Set<String> getFetchPaths() {
+        if (hasProjection) {
+            return Collections.emptySet();
+        }
+
+        return Collections.unmodifiableSet(fetchPaths);
+    }
+
+    @Override
+    public void addReadOnly(final Criteria criteria) {
+        if (readOnly) {
+            criteria.setReadOnly(true);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public SearchCriteriaBuilder readOnly() {
+        this.readOnly = true;
+        return this;
+    }
+
+    @Override
+    public SearchCriteriaBuilder fetch(final String associationPath) {
+        checkState(sourceDataDefinition != null, "Fetch plan can be defined only for root criteria");
+
+        DataDefinition dataDefinition = sourceDataDefinition;
+        StringBuilder path = new StringBuilder();
+
+        for (String fieldName : associationPath.split("\\.")) {
+            FieldDefinition fieldDefinition = dataDefinition.getField(fieldName);
+
+            checkArgument(fieldDefinition != null && fieldDefinition.getType() instanceof BelongsToType,
+                    "Cannot fetch " + associationPath + ", " + fieldName + " is not a belongsTo field of "
+                            + dataDefinition.getName());
+
+            if (path.length() > 0) {
+                path.append('.');
+            }
+            path.append(fieldName);
+
+            fetchPaths.add(path.toString());
+            dataDefinition = ((BelongsToType) fieldDefinition.getType()).getDataDefinition();
+        }
+
+        return this;
+    }
+
     @Override
     public SearchCriteriaBuilder setMaxResults(final int maxResults) {
         this.maxResults = maxResults;
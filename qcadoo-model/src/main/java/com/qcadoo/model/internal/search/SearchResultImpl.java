@@ -25,6 +25,7 @@ package com.qcadoo.model.internal.search;
 
 import java.util.List;
 
+import com.google.common.base.Supplier;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.search.SearchResult;
 
@@ -34,6 +35,8 @@ public final class SearchResultImpl implements SearchResult {
 
     private int totalNumberOfEntities;
 
+    private Supplier<Integer> totalNumberOfEntitiesSupplier;
+
     @Override
     public List<Entity> getEntities() {
         return results;
@@ -45,11 +48,21 @@ public final class SearchResultImpl implements SearchResult {
 
     @Override
     public int getTotalNumberOfEntities() {
+        if (totalNumberOfEntitiesSupplier != null) {
+            totalNumberOfEntities = totalNumberOfEntitiesSupplier.get();
+            totalNumberOfEntitiesSupplier = null;
+        }
+
         return totalNumberOfEntities;
     }
 
     public void setTotalNumberOfEntities(final int totalNumberOfEntities) {
         this.totalNumberOfEntities = totalNumberOfEntities;
+        this.totalNumberOfEntitiesSupplier = null;
+    }
+
+    public void setTotalNumberOfEntities(final Supplier<Integer> totalNumberOfEntitiesSupplier) {
+        this.totalNumberOfEntitiesSupplier = totalNumberOfEntitiesSupplier;
     }
 
 }
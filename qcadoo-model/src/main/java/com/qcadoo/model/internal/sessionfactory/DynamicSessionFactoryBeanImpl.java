@@ -27,6 +27,7 @@ import java.util.Properties;
 
 import javax.sql.DataSource;
 
+import org.hibernate.Interceptor;
 import org.hibernate.SessionFactory;
 import org.springframework.core.io.Resource;
 import org.springframework.dao.DataAccessException;
@@ -92,6 +93,10 @@ public class DynamicSessionFactoryBeanImpl implements DynamicSessionFactoryBean
         factoryBean.setHibernateProperties(hibernateProperties);
     }
 
+    public void setEntityInterceptor(final Interceptor entityInterceptor) {
+        factoryBean.setEntityInterceptor(entityInterceptor);
+    }
+
     protected LocalSessionFactoryBean getFactoryBean() {
         return factoryBean;
     }
@@ -23,10 +23,10 @@
  */
 package com.qcadoo.model.internal.types;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
@@ -37,6 +37,8 @@ import com.qcadoo.model.internal.api.ValueAndError;
 
 public final class DateTimeType extends AbstractFieldType {
 
+    private static final DateTimeFormatter PARSER = DateTimeFormat.forPattern(DateUtils.L_DATE_TIME_FORMAT);
+
     public DateTimeType() {
         this(true);
     }
@@ -56,8 +58,7 @@ public final class DateTimeType extends AbstractFieldType {
             return ValueAndError.withoutError(value);
         }
         try {
-            DateTimeFormatter fmt = DateTimeFormat.forPattern(DateUtils.L_DATE_TIME_FORMAT);
-            DateTime dt = fmt.parseDateTime(String.valueOf(value));
+            DateTime dt = PARSER.parseDateTime(String.valueOf(value));
             int year = dt.getYear();
             if (year < 1500 || year > 2500) {
                 return ValueAndError.withError("qcadooView.validate.field.error.invalidDateTimeFormat");
@@ -70,7 +71,7 @@ public final class DateTimeType extends AbstractFieldType {
 
     @Override
     public String toString(final Object value, final Locale locale) {
-        return new SimpleDateFormat(DateUtils.L_DATE_TIME_FORMAT, locale).format((Date) value);
+        return FastDateFormat.getInstance(DateUtils.L_DATE_TIME_FORMAT, locale).format((Date) value);
     }
 
     @Override
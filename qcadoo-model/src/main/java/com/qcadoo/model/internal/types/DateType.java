@@ -23,11 +23,11 @@
  */
 package com.qcadoo.model.internal.types;
 
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 
+import org.apache.commons.lang3.time.FastDateFormat;
 import org.joda.time.DateTime;
 import org.joda.time.format.DateTimeFormat;
 import org.joda.time.format.DateTimeFormatter;
@@ -38,6 +38,8 @@ import com.qcadoo.model.internal.api.ValueAndError;
 
 public final class DateType extends AbstractFieldType {
 
+    private static final DateTimeFormatter PARSER = DateTimeFormat.forPattern(DateUtils.L_DATE_FORMAT);
+
     public DateType() {
         this(true);
     }
@@ -57,8 +59,7 @@ public final class DateType extends AbstractFieldType {
             return ValueAndError.withoutError(value);
         }
         try {
-            DateTimeFormatter fmt = DateTimeFormat.forPattern(DateUtils.L_DATE_FORMAT);
-            DateTime dt = fmt.parseDateTime(String.valueOf(value));
+            DateTime dt = PARSER.parseDateTime(String.valueOf(value));
 
             int year = dt.getYear();
             if (year < 1500 || year > 2500) {
@@ -87,7 +88,7 @@ public final class DateType extends AbstractFieldType {
 
     @Override
     public String toString(final Object value, final Locale locale) {
-        return new SimpleDateFormat(DateUtils.L_DATE_FORMAT, locale).format((Date) value);
+        return FastDateFormat.getInstance(DateUtils.L_DATE_FORMAT, locale).format((Date) value);
     }
 
     @Override
@@ -38,6 +38,7 @@ import com.qcadoo.model.internal.NumberServiceImpl;
 import com.qcadoo.model.internal.api.DefaultValidatorsProvider;
 import com.qcadoo.model.internal.api.FieldHookDefinition;
 import com.qcadoo.model.internal.api.ValueAndError;
+import com.qcadoo.model.internal.utils.NumberFormats;
 import com.qcadoo.model.internal.validators.ScaleValidator;
 import com.qcadoo.model.internal.validators.UnscaledValueValidator;
 
@@ -80,13 +81,7 @@ public final class DecimalType extends AbstractFieldType implements DefaultValid
         if(value instanceof String){
             return (String) value;
         }
-        NumberFormat format = null;
-        if (locale == null) {
-            format = NumberFormat.getNumberInstance();
-        } else {
-            format = NumberFormat.getNumberInstance(locale);
-        }
-
+        NumberFormat format = NumberFormats.getNumberFormat(locale);
         format.setMaximumFractionDigits(getMaxFractionDigits(value));
         return format.format(value);
     }
@@ -102,7 +97,7 @@ public final class DecimalType extends AbstractFieldType implements DefaultValid
     public Object fromString(final String value, final Locale locale) {
         ParsePosition parsePosition = new ParsePosition(0);
         String trimedValue = value.replaceAll(" ", "");
-        DecimalFormat formatter = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+        DecimalFormat formatter = (DecimalFormat) NumberFormats.getNumberFormat(locale);
         formatter.setParseBigDecimal(true);
         Object parsedValue = formatter.parseObject(trimedValue, parsePosition);
 
@@ -23,7 +23,6 @@
  */
 package com.qcadoo.model.internal.types;
 
-import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Collection;
 import java.util.Collections;
@@ -35,6 +34,7 @@ import com.qcadoo.model.api.NumberService;
 import com.qcadoo.model.internal.api.DefaultValidatorsProvider;
 import com.qcadoo.model.internal.api.FieldHookDefinition;
 import com.qcadoo.model.internal.api.ValueAndError;
+import com.qcadoo.model.internal.utils.NumberFormats;
 import com.qcadoo.model.internal.validators.UnscaledValueValidator;
 
 public final class IntegerType extends AbstractFieldType implements DefaultValidatorsProvider {
@@ -66,14 +66,14 @@ public final class IntegerType extends AbstractFieldType implements DefaultValid
 
     @Override
     public String toString(final Object value, final Locale locale) {
-        return NumberFormat.getIntegerInstance(locale).format(value);
+        return NumberFormats.getIntegerFormat(locale).format(value);
     }
 
     @Override
     public Object fromString(final String value, final Locale locale) {
         ParsePosition parsePosition = new ParsePosition(0);
         String trimedValue = value.replace(" ", "");
-        Object parsedValue = NumberFormat.getIntegerInstance(locale).parse(trimedValue, parsePosition);
+        Object parsedValue = NumberFormats.getIntegerFormat(locale).parse(trimedValue, parsePosition);
         if (parsePosition.getIndex() == trimedValue.length()) {
             return parsedValue;
         }
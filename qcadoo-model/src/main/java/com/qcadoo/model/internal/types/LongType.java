@@ -29,9 +29,9 @@ import com.qcadoo.model.api.NumberService;
 import com.qcadoo.model.internal.api.DefaultValidatorsProvider;
 import com.qcadoo.model.internal.api.FieldHookDefinition;
 import com.qcadoo.model.internal.api.ValueAndError;
+import com.qcadoo.model.internal.utils.NumberFormats;
 import com.qcadoo.model.internal.validators.UnscaledValueValidator;
 
-import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.Collection;
 import java.util.Collections;
@@ -70,14 +70,14 @@ public final class LongType extends AbstractFieldType implements DefaultValidato
         if(value instanceof Long){
             v = ((Long)value).intValue();
         }
-        return NumberFormat.getIntegerInstance(locale).format(v);
+        return NumberFormats.getIntegerFormat(locale).format(v);
     }
 
     @Override
     public Object fromString(final String value, final Locale locale) {
         ParsePosition parsePosition = new ParsePosition(0);
         String trimedValue = value.replace(" ", "");
-        Object parsedValue = NumberFormat.getIntegerInstance(locale).parse(trimedValue, parsePosition);
+        Object parsedValue = NumberFormats.getIntegerFormat(locale).parse(trimedValue, parsePosition);
         if (parsePosition.getIndex() == trimedValue.length()) {
             if(parsedValue instanceof Integer){
                 parsedValue = ((Integer)parsedValue).longValue();
@@ -66,7 +66,7 @@ public final class PossibleUnitConversionsImpl implements InternalPossibleUnitCo
         this.unitConversionItemDD = unitConversionItemDD;
         this.dictionaryService = dictionaryService;
         this.targetUnitToFactor = Maps.newHashMap();
-        this.targetUnitToIsInteger = Maps.newHashMap();
+        this.targetUnitToIsInteger = Maps.newConcurrentMap();
     }
 
     @Override
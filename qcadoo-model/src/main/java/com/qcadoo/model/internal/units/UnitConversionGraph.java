@@ -0,0 +1,94 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.units;
+
+import java.math.MathContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.qcadoo.model.api.units.UnitConversion;
+
+/**
+ * Conversions indexed by their source unit, each conversion is also available in reversed direction.
+ * 
+ * Graph is immutable after construction, so it can be shared and queried many times.
+ */
+final class UnitConversionGraph {
+
+    private final ListMultimap<String, UnitConversion> conversionsByUnitFrom = ArrayListMultimap.create();
+
+    private final MathContext mathContext;
+
+    UnitConversionGraph(final Collection<UnitConversion> conversions, final MathContext mathContext) {
+        Preconditions.checkNotNull(mathContext);
+
+        this.mathContext = mathContext;
+
+        for (UnitConversion conversion : Sets.newLinkedHashSet(conversions)) {
+            conversionsByUnitFrom.put(conversion.getUnitFrom(), conversion);
+            conversionsByUnitFrom.put(conversion.getUnitTo(), conversion.reverse());
+        }
+    }
+
+    /**
+     * Walks the graph breadth-first, so every reachable unit is converted along the shortest path.
+     * 
+     * @param unit
+     *            source unit
+     * @return conversions from given unit to every other reachable unit
+     */
+    List<UnitConversion> findConversionsFrom(final String unit) {
+        Preconditions.checkNotNull(unit);
+
+        ImmutableList.Builder<UnitConversion> reachableConversions = ImmutableList.builder();
+        Set<String> visitedUnits = Sets.newHashSet(unit);
+        Queue<UnitConversion> conversionsToVisit = Lists.newLinkedList();
+
+        conversionsToVisit.add(UnitConversionImpl.build(unit, mathContext));
+
+        while (!conversionsToVisit.isEmpty()) {
+            UnitConversion parent = conversionsToVisit.poll();
+
+            for (UnitConversion conversion : conversionsByUnitFrom.get(parent.getUnitTo())) {
+                if (visitedUnits.add(conversion.getUnitTo())) {
+                    UnitConversion generatedConversion = parent.merge(conversion);
+
+                    reachableConversions.add(generatedConversion);
+                    conversionsToVisit.add(generatedConversion);
+                }
+            }
+        }
+
+        return reachableConversions.build();
+    }
+
+}
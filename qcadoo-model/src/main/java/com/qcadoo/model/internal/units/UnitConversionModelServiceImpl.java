@@ -60,7 +60,7 @@ public class UnitConversionModelServiceImpl implements UnitConversionModelServic
         final CustomRestriction unitMatchingRestriction = new ConversionMatchingUnitRestriction(unit, customRestriction);
         final SearchCriteriaBuilder searchCriteriaBuilder = getDataDefinition().find();
         unitMatchingRestriction.addRestriction(searchCriteriaBuilder);
-        return searchCriteriaBuilder.list().getEntities();
+        return searchCriteriaBuilder.listWithoutCount().getEntities();
     }
 
     @Override
@@ -24,7 +24,7 @@
 package com.qcadoo.model.internal.units;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Sets;
+import com.google.common.collect.Lists;
 import com.qcadoo.model.api.DictionaryService;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.NumberService;
@@ -32,17 +32,19 @@ import com.qcadoo.model.api.search.CustomRestriction;
 import com.qcadoo.model.api.units.PossibleUnitConversions;
 import com.qcadoo.model.api.units.UnitConversion;
 import com.qcadoo.model.api.units.UnitConversionModelService;
-import com.qcadoo.model.api.units.UnitConversionService;
+import com.qcadoo.model.internal.api.InternalUnitConversionService;
+import com.qcadoo.model.internal.utils.TenantAwareCache;
+import com.qcadoo.tenant.api.MultiTenantService;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Set;
 
 @Service
-public final class UnitConversionServiceImpl implements UnitConversionService {
+public final class UnitConversionServiceImpl implements InternalUnitConversionService {
+
+    private static final long L_CACHE_MAXIMUM_SIZE = 1000;
 
     @Autowired
     private UnitConversionModelService unitConversionModelService;
@@ -53,9 +55,17 @@ public final class UnitConversionServiceImpl implements UnitConversionService {
     @Autowired
     private DictionaryService dictionaryService;
 
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private final TenantAwareCache<PossibleUnitConversions> possibleConversionsCache = new TenantAwareCache<PossibleUnitConversions>(
+            L_CACHE_MAXIMUM_SIZE);
+
     @Override
     public PossibleUnitConversions getPossibleConversions(final String unit) {
-        return getPossibleConversions(unit, unitConversionModelService.find(unit));
+        Preconditions.checkNotNull(unit);
+        return possibleConversionsCache.get(multiTenantService.getCurrentTenantId(), unit,
+                () -> getPossibleConversions(unit, unitConversionModelService.find(unit)));
     }
 
     @Override
@@ -67,42 +77,24 @@ public final class UnitConversionServiceImpl implements UnitConversionService {
         Preconditions.checkNotNull(unit);
         final InternalPossibleUnitConversions possibleUnitConversions = new PossibleUnitConversionsImpl(unit, numberService,
                 unitConversionModelService.getDataDefinition(), dictionaryService);
-        final UnitConversion root = UnitConversionImpl.build(unit, numberService.getMathContext());
-        traverse(possibleUnitConversions, root, convertEntities(matchingDomain));
-        return possibleUnitConversions;
-    }
-
-    private void traverse(final InternalPossibleUnitConversions possibleUnitConversions, final UnitConversion parent,
-            final Set<UnitConversion> domain) {
-        for (final UnitConversion unitConversion : findMatchingConversions(parent.getUnitTo(), domain)) {
-            final UnitConversion generatedConversion = parent.merge(unitConversion);
-            possibleUnitConversions.addConversion(generatedConversion);
-            traverse(possibleUnitConversions, generatedConversion, domain);
-        }
-    }
-
-    private Set<UnitConversion> findMatchingConversions(final String unitToFind, final Set<UnitConversion> domain) {
-        Preconditions.checkArgument(StringUtils.isNotEmpty(unitToFind));
-        final Set<UnitConversion> matchingConversions = Sets.newHashSet();
-        for (final UnitConversion unitConversion : Sets.newHashSet(domain)) {
-            if (unitToFind.equals(unitConversion.getUnitFrom())) {
-                matchingConversions.add(unitConversion);
-                domain.remove(unitConversion);
-            } else if (unitToFind.equals(unitConversion.getUnitTo())) {
-                matchingConversions.add(unitConversion.reverse());
-                domain.remove(unitConversion);
-            }
+        final UnitConversionGraph graph = new UnitConversionGraph(convertEntities(matchingDomain), numberService.getMathContext());
+        for (final UnitConversion unitConversion : graph.findConversionsFrom(unit)) {
+            possibleUnitConversions.addConversion(unitConversion);
         }
-        return matchingConversions;
+        return possibleUnitConversions;
     }
 
-    private Set<UnitConversion> convertEntities(final List<Entity> unitConversionItems) {
-        final Set<UnitConversion> unitConversions = Sets.newHashSet();
+    private List<UnitConversion> convertEntities(final List<Entity> unitConversionItems) {
+        final List<UnitConversion> unitConversions = Lists.newArrayListWithCapacity(unitConversionItems.size());
         for (final Entity unitConversionItem : unitConversionItems) {
             unitConversions.add(UnitConversionImpl.build(unitConversionItem, numberService.getMathContext()));
         }
         return unitConversions;
     }
 
+    @Override
+    public void invalidateCache() {
+        possibleConversionsCache.invalidate();
+    }
 
 }
@@ -0,0 +1,63 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+public final class MethodHandleUtils {
+
+    private static final MethodType SPREAD_INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private MethodHandleUtils() {
+    }
+
+    /**
+     * Binds given method to its target once, so that later calls do not go through reflective access checks.
+     * 
+     * @param method
+     *            method to bind
+     * @param target
+     *            object on which method will be invoked, ignored for static methods
+     * @return method handle of type (Object[])Object, invoke it using {@link MethodHandle#invokeExact(Object...)} with an
+     *         Object[] argument. Void methods return null.
+     * @throws IllegalAccessException
+     *             if method cannot be accessed
+     */
+    public static MethodHandle toSpreadInvoker(final Method method, final Object target) throws IllegalAccessException {
+        method.setAccessible(true);
+
+        MethodHandle handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(target);
+        }
+
+        return handle.asSpreader(Object[].class, method.getParameterTypes().length).asType(SPREAD_INVOKER_TYPE);
+    }
+
+}
@@ -0,0 +1,78 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.utils;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Source of locale specific number formats.
+ * 
+ * Building a format for a locale is expensive, so one prototype per locale is kept and callers get its copy - formats aren't
+ * thread-safe and callers are free to change them.
+ */
+public final class NumberFormats {
+
+    private static final Map<Locale, NumberFormat> NUMBER_FORMATS = Maps.newConcurrentMap();
+
+    private static final Map<Locale, NumberFormat> INTEGER_FORMATS = Maps.newConcurrentMap();
+
+    private NumberFormats() {
+    }
+
+    /**
+     * Returns format equal to {@link NumberFormat#getNumberInstance(Locale)}.
+     * 
+     * @param locale
+     *            locale, default locale is used if null
+     * @return new format instance
+     */
+    public static NumberFormat getNumberFormat(final Locale locale) {
+        return (NumberFormat) NUMBER_FORMATS.computeIfAbsent(getLocaleOrDefault(locale), NumberFormat::getNumberInstance)
+                .clone();
+    }
+
+    /**
+     * Returns format equal to {@link NumberFormat#getIntegerInstance(Locale)}.
+     * 
+     * @param locale
+     *            locale, default locale is used if null
+     * @return new format instance
+     */
+    public static NumberFormat getIntegerFormat(final Locale locale) {
+        return (NumberFormat) INTEGER_FORMATS.computeIfAbsent(getLocaleOrDefault(locale), NumberFormat::getIntegerInstance)
+                .clone();
+    }
+
+    private static Locale getLocaleOrDefault(final Locale locale) {
+        if (locale == null) {
+            return Locale.getDefault(Locale.Category.FORMAT);
+        }
+        return locale;
+    }
+
+}
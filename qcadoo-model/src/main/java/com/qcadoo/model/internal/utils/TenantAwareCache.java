@@ -0,0 +1,121 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Cache of values computed from database, kept separately for each tenant.
+ * 
+ * Invalidation drops values of all tenants - once right away and once again when the modifying transaction completes, so
+ * values loaded concurrently from not yet committed state are not kept.
+ * 
+ * @param <V>
+ *            type of cached values, they have to be immutable or safe to share between threads
+ */
+public final class TenantAwareCache<V> {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Cache<String, CachedValue<V>> cache;
+
+    public TenantAwareCache(final long maximumSize) {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Returns cached value for given tenant and key, loading it if there is no valid value.
+     * 
+     * @param tenantId
+     *            tenant's id
+     * @param key
+     *            key
+     * @param loader
+     *            loads value from database
+     * @return value
+     */
+    public V get(final int tenantId, final String key, final Supplier<V> loader) {
+        String cacheKey = tenantId + "|" + key;
+        long currentGeneration = generation.get();
+
+        CachedValue<V> cachedValue = cache.getIfPresent(cacheKey);
+
+        if (cachedValue != null && cachedValue.getGeneration() == currentGeneration) {
+            return cachedValue.getValue();
+        }
+
+        V value = loader.get();
+
+        if (currentGeneration == generation.get()) {
+            cache.put(cacheKey, new CachedValue<V>(value, currentGeneration));
+        }
+
+        return value;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    generation.incrementAndGet();
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    private static final class CachedValue<V> {
+
+        private final V value;
+
+        private final long generation;
+
+        private CachedValue(final V value, final long generation) {
+            this.value = value;
+            this.generation = generation;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+    }
+
+}
@@ -36,7 +36,6 @@ import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchCriterion;
 import com.qcadoo.model.api.search.SearchProjections;
 import com.qcadoo.model.api.search.SearchRestrictions;
-import com.qcadoo.model.api.search.SearchResult;
 import com.qcadoo.model.internal.api.ErrorMessageDefinition;
 import com.qcadoo.model.internal.api.FieldHookDefinition;
 
@@ -61,13 +60,12 @@ public final class UniqueValidator implements FieldHookDefinition, ErrorMessageD
         if (entity.getField(fieldDefinition.getName()) == null) {
             return true;
         }
-        SearchCriteriaBuilder searchCriteriaBuilder = dataDefinition.find().add(uniqueCriterionFor(entity)).setMaxResults(1);
+        SearchCriteriaBuilder searchCriteriaBuilder = dataDefinition.find().add(uniqueCriterionFor(entity));
         if (entity.getId() != null) {
             searchCriteriaBuilder.add(SearchRestrictions.idNe(entity.getId()));
         }
-        SearchResult results = searchCriteriaBuilder.list();
 
-        if (results.getTotalNumberOfEntities() == 0) {
+        if (!searchCriteriaBuilder.exists()) {
             return true;
         } else {
             entity.addError(fieldDefinition, errorMessage);
@@ -73,6 +73,24 @@ public class SearchRestrictionsTest {
         assertEquals(IS_NULL.toString(), res.getHibernateCriterion().toString());
     }
 
+    @Test
+    public final void shouldLowerCaseLikeReturnIsNullCriteriaIfGivenValueIsNull() {
+        // when
+        SearchCriterion res = SearchRestrictions.lowerCaseLike(FIELD_NAME, null, SearchMatchMode.START);
+
+        // then
+        assertEquals(IS_NULL.toString(), res.getHibernateCriterion().toString());
+    }
+
+    @Test
+    public final void shouldLowerCaseLikeCompareLowerCasedFieldWithMatchModePattern() {
+        // when
+        SearchCriterion res = SearchRestrictions.lowerCaseLike(FIELD_NAME, "Te*st", SearchMatchMode.START);
+
+        // then
+        assertEquals("lower(" + FIELD_NAME + ") like Te%st%", res.getHibernateCriterion().toString());
+    }
+
     @Test
     public final void shouldReplaceQcadooWilcardWithHibernateOne() {
         performWildcardTest("*", "%");
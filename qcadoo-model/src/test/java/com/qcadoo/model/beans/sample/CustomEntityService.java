@@ -82,6 +82,18 @@ public class CustomEntityService {
         appendToName(entity, "d");
     }
 
+    public void failWithError(final DataDefinition dataDefinition, final Entity entity) {
+        throw new AssertionError("hook failed");
+    }
+
+    public void failWithRuntimeException(final DataDefinition dataDefinition, final Entity entity) {
+        throw new IllegalArgumentException("hook failed");
+    }
+
+    public void failWithCheckedException(final DataDefinition dataDefinition, final Entity entity) throws Exception {
+        throw new Exception("hook failed");
+    }
+
     private void appendToName(final Entity entity, final String valueToAppend) {
         String name = entity.getStringField("name");
         entity.setField("name", name + valueToAppend);
@@ -49,6 +49,8 @@ public class SampleSimpleDatabaseObject {
 
     private Date birthDate;
 
+    private Boolean active;
+
     private SampleParentDatabaseObject belongsTo;
 
     private SampleSimpleDatabaseObject belongsToSimple;
@@ -152,6 +154,14 @@ public class SampleSimpleDatabaseObject {
         this.birthDate = birthDate;
     }
 
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(final Boolean active) {
+        this.active = active;
+    }
+
     public Set<SampleParentDatabaseObject> getManyToMany() {
         return manyToMany;
     }
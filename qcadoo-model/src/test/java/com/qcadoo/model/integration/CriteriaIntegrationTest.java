@@ -479,4 +479,20 @@ public class CriteriaIntegrationTest extends IntegrationTest {
         assertEquals(2L, count);
     }
 
+    @Test
+    public void shouldCountEntitiesMatchingLowerCasedPrefix() {
+        // given
+        DataDefinition productDao = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        productDao.save(createProduct("Asd", "asd"));
+        productDao.save(createProduct("aSD1", "asd1"));
+        productDao.save(createProduct("basd", "bsd"));
+
+        // when
+        long count = productDao.count(SearchRestrictions.lowerCaseLike("name", "AS", SearchRestrictions.SearchMatchMode.START));
+
+        // then
+        assertEquals(2L, count);
+    }
+
 }
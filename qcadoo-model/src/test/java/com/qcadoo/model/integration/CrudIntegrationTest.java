@@ -33,6 +33,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.collect.Lists;
 import com.qcadoo.model.api.DataDefinition;
@@ -158,6 +160,51 @@ public class CrudIntegrationTest extends IntegrationTest {
         assertEquals(0, verifyHooks.getNumOfInvocations(HookType.DELETE));
     }
 
+    @Test
+    public void shouldUpdateEntityFoundAsReadOnlyEarlierInTheSameTransaction() throws Exception {
+        // given
+        final DataDefinition productDataDefinition = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+        final Long productId = productDataDefinition.save(createProduct("asd", "def")).getId();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                applicationContext.getBean(PlatformTransactionManager.class));
+
+        // when
+        Entity updatedProduct = transactionTemplate.execute(status -> {
+            productDataDefinition.find().add(SearchRestrictions.idEq(productId)).readOnly().list();
+
+            Entity product = productDataDefinition.get(productId);
+            product.setField("name", "newName");
+
+            return productDataDefinition.save(product);
+        });
+
+        // then
+        assertTrue(updatedProduct.isValid());
+        assertEquals("newName", jdbcTemplate.queryForMap("select * from " + TABLE_NAME_PRODUCT).get("name"));
+    }
+
+    @Test
+    public void shouldUpdateEntityGotAsReadOnlyEarlierInTheSameTransaction() throws Exception {
+        // given
+        final DataDefinition productDataDefinition = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+        final Long productId = productDataDefinition.save(createProduct("asd", "def")).getId();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(
+                applicationContext.getBean(PlatformTransactionManager.class));
+
+        // when
+        transactionTemplate.execute(status -> {
+            Entity product = productDataDefinition.getReadOnly(productId).copy();
+            product.setField("number", "newNumber");
+
+            return productDataDefinition.save(product);
+        });
+
+        // then
+        assertEquals("newNumber", jdbcTemplate.queryForMap("select * from " + TABLE_NAME_PRODUCT).get("number"));
+    }
+
     @Test
     public void shouldNotSaveInvalidEntity() throws Exception {
         // given
@@ -0,0 +1,137 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.integration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.search.SearchCriteriaBuilder;
+import com.qcadoo.model.api.search.SearchOrders;
+import com.qcadoo.model.api.search.SearchProjections;
+import com.qcadoo.model.api.search.SearchRestrictions;
+import com.qcadoo.model.api.search.SearchResult;
+
+public class ExistsIntegrationTest extends IntegrationTest {
+
+    @Test
+    public void shouldCheckIfMatchingEntityExists() throws Exception {
+        // given
+        DataDefinition productDao = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        productDao.save(createProduct("asd", "asd"));
+
+        // when
+        boolean matchingExists = productDao.find().add(SearchRestrictions.eq("name", "asd")).exists();
+        boolean notMatchingExists = productDao.find().add(SearchRestrictions.eq("name", "qwe")).exists();
+
+        // then
+        assertTrue(matchingExists);
+        assertFalse(notMatchingExists);
+    }
+
+    @Test
+    public void shouldNotFindAnythingInEmptyTable() throws Exception {
+        // given
+        DataDefinition productDao = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        // when
+        boolean exists = productDao.find().exists();
+
+        // then
+        assertFalse(exists);
+    }
+
+    @Test
+    public void shouldListEntitiesWithPagingAfterExistsCheck() throws Exception {
+        // given
+        DataDefinition productDao = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        productDao.save(createProduct("asd", "asd"));
+        productDao.save(createProduct("bsd", "bsd"));
+        productDao.save(createProduct("csd", "csd"));
+        productDao.save(createProduct("dsd", "dsd"));
+
+        SearchCriteriaBuilder searchCriteriaBuilder = productDao.find().add(SearchRestrictions.like("name", "%sd"))
+                .addOrder(SearchOrders.asc("name")).setFirstResult(1).setMaxResults(2);
+
+        // when
+        boolean exists = searchCriteriaBuilder.exists();
+        SearchResult result = searchCriteriaBuilder.list();
+
+        // then
+        assertTrue(exists);
+        assertEquals(4, result.getTotalNumberOfEntities());
+
+        List<Entity> products = result.getEntities();
+
+        assertEquals(2, products.size());
+        assertEquals("bsd", products.get(0).getStringField("name"));
+        assertEquals("csd", products.get(1).getStringField("name"));
+        assertEquals(productDao, products.get(0).getDataDefinition());
+    }
+
+    @Test
+    public void shouldListProjectionAfterExistsCheck() throws Exception {
+        // given
+        DataDefinition productDao = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        Entity firstProduct = createProduct("asd", "asd1");
+        firstProduct.setField("quantity", 1);
+        productDao.save(firstProduct);
+
+        Entity secondProduct = createProduct("asd", "asd2");
+        secondProduct.setField("quantity", 2);
+        productDao.save(secondProduct);
+
+        Entity thirdProduct = createProduct("bsd", "bsd");
+        thirdProduct.setField("quantity", 5);
+        productDao.save(thirdProduct);
+
+        SearchCriteriaBuilder searchCriteriaBuilder = productDao
+                .find()
+                .setProjection(
+                        SearchProjections.list().add(SearchProjections.alias(SearchProjections.groupField("name"), "name"))
+                                .add(SearchProjections.alias(SearchProjections.sum("quantity"), "quantity")))
+                .addOrder(SearchOrders.asc("name")).setMaxResults(1);
+
+        // when
+        boolean exists = searchCriteriaBuilder.exists();
+        SearchResult result = searchCriteriaBuilder.list();
+
+        // then
+        assertTrue(exists);
+        assertEquals(2, result.getTotalNumberOfEntities());
+        assertEquals(1, result.getEntities().size());
+        assertEquals("asd", result.getEntities().get(0).getField("name"));
+        assertEquals(Long.valueOf(3), result.getEntities().get(0).getField("quantity"));
+    }
+
+}
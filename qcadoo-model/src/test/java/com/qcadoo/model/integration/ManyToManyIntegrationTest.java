@@ -28,6 +28,7 @@ import com.google.common.collect.Sets;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.EntityOpResult;
+import com.qcadoo.model.api.search.SearchOrders;
 import com.qcadoo.model.internal.ProxyEntity;
 import junit.framework.Assert;
 import org.junit.Test;
@@ -363,4 +364,29 @@ public class ManyToManyIntegrationTest extends IntegrationTest {
         Assert.assertEquals(1, product1Db.getManyToManyField("lazyManyToMany").size());
         Assert.assertTrue(vEntity.getManyToManyField("products").contains(product1Db));
     }
+
+    @Test
+    public void shouldStreamEntitiesWithManyToManyField() throws Exception {
+        // given
+        DataDefinition productDataDefinition = dataDefinitionService.get(PLUGIN_PRODUCTS_NAME, ENTITY_NAME_PRODUCT);
+
+        Entity firstProduct = productDataDefinition.save(createProduct("asd", "00001"));
+        Entity secondProduct = productDataDefinition.save(createProduct("fgh", "00002"));
+
+        save(createPart("qwe", firstProduct, Lists.newArrayList(firstProduct, secondProduct)));
+        save(createPart("rty", secondProduct, Lists.newArrayList(firstProduct)));
+
+        final List<Integer> numbersOfParts = Lists.newArrayList();
+        final List<Integer> numbersOfReadOnlyParts = Lists.newArrayList();
+
+        // when
+        productDataDefinition.stream(productDataDefinition.find().addOrder(SearchOrders.asc("number")),
+                product -> numbersOfParts.add(product.getManyToManyField("partsManyToMany").size()));
+        productDataDefinition.stream(productDataDefinition.find().addOrder(SearchOrders.asc("number")).readOnly(),
+                product -> numbersOfReadOnlyParts.add(product.getManyToManyField("partsManyToMany").size()));
+
+        // then
+        assertEquals(Arrays.asList(2, 1), numbersOfParts);
+        assertEquals(Arrays.asList(2, 1), numbersOfReadOnlyParts);
+    }
 }
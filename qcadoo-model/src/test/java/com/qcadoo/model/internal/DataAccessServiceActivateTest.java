@@ -0,0 +1,153 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.beans.sample.SampleSimpleDatabaseObject;
+import com.qcadoo.model.internal.api.EntityHookDefinition;
+import com.qcadoo.model.internal.api.FieldHookDefinition;
+import com.qcadoo.model.internal.validators.CustomValidator;
+import com.qcadoo.model.internal.validators.LengthValidator;
+import com.qcadoo.model.internal.validators.RequiredValidator;
+
+public class DataAccessServiceActivateTest extends DataAccessTest {
+
+    @Before
+    public void init() {
+        dataDefinition.setActivable(true);
+
+        given(query.setParameterList(anyString(), anyCollection())).willReturn(query);
+    }
+
+    @Test
+    public void shouldDeactivateActiveEntitiesWithOneBulkUpdate() throws Exception {
+        // given
+        SampleSimpleDatabaseObject activeDatabaseObject = createDatabaseObject(1L, true);
+        SampleSimpleDatabaseObject inactiveDatabaseObject = createDatabaseObject(2L, false);
+
+        given(criteria.list()).willReturn(Lists.newArrayList(activeDatabaseObject, inactiveDatabaseObject));
+
+        // when
+        List<Entity> deactivatedEntities = dataDefinition.deactivate(1L, 2L);
+
+        // then
+        assertEquals(1, deactivatedEntities.size());
+        assertEquals(Long.valueOf(1L), deactivatedEntities.get(0).getId());
+        assertFalse(deactivatedEntities.get(0).isActive());
+        verify(session).evict(activeDatabaseObject);
+        verify(session).createQuery(
+                "update " + SampleSimpleDatabaseObject.class.getCanonicalName() + " set active = :active where id in (:ids)");
+        verify(query).setParameter("active", false);
+        verify(query).setParameterList("ids", Lists.newArrayList(1L));
+        verify(query).executeUpdate();
+        verify(session, never()).save(any());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailIfEntityToActivateNotFound() throws Exception {
+        // given
+        given(criteria.list()).willReturn(Lists.newArrayList(createDatabaseObject(1L, false)));
+
+        // when
+        dataDefinition.activate(1L, 2L);
+    }
+
+    @Test
+    public void shouldSaveEntitiesOneByOneIfModelHasUpdateHooks() throws Exception {
+        // given
+        EntityHookDefinition saveHook = mock(EntityHookDefinition.class);
+        given(saveHook.isEnabled()).willReturn(true);
+        given(saveHook.call(any(Entity.class))).willReturn(true);
+        dataDefinition.addSaveHook(saveHook);
+
+        given(session.get(SampleSimpleDatabaseObject.class, 1L)).willReturn(createDatabaseObject(1L, false));
+
+        // when
+        List<Entity> activatedEntities = dataDefinition.activate(1L);
+
+        // then
+        assertEquals(1, activatedEntities.size());
+        verify(saveHook).call(any(Entity.class));
+        verify(query, never()).executeUpdate();
+    }
+
+    @Test
+    public void shouldSaveEntitiesOneByOneIfFieldHasCustomValidator() throws Exception {
+        // given
+        FieldHookDefinition fieldHook = mock(FieldHookDefinition.class);
+        given(fieldHook.call(any(Entity.class), any(), any())).willReturn(true);
+        fieldDefinitionName.withValidator(new CustomValidator(fieldHook));
+
+        given(session.get(SampleSimpleDatabaseObject.class, 1L)).willReturn(createDatabaseObject(1L, false));
+
+        // when
+        List<Entity> activatedEntities = dataDefinition.activate(1L);
+
+        // then
+        assertEquals(1, activatedEntities.size());
+        verify(fieldHook).call(any(Entity.class), any(), any());
+        verify(query, never()).executeUpdate();
+    }
+
+    @Test
+    public void shouldUseBulkUpdateIfFieldsHaveOnlyBuiltInValidators() throws Exception {
+        // given
+        fieldDefinitionName.withValidator(new RequiredValidator()).withValidator(new LengthValidator(null, null, 255));
+
+        given(criteria.list()).willReturn(Lists.newArrayList(createDatabaseObject(1L, false)));
+
+        // when
+        List<Entity> activatedEntities = dataDefinition.activate(1L);
+
+        // then
+        assertEquals(1, activatedEntities.size());
+        verify(query).setParameter("active", true);
+        verify(query).executeUpdate();
+        verify(session, never()).save(any());
+    }
+
+    private SampleSimpleDatabaseObject createDatabaseObject(final Long id, final boolean active) {
+        SampleSimpleDatabaseObject databaseObject = new SampleSimpleDatabaseObject(id);
+        databaseObject.setName("Mr T");
+        databaseObject.setActive(active);
+        return databaseObject;
+    }
+
+}
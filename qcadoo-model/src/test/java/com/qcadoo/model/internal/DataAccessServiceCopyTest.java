@@ -52,6 +52,7 @@ import com.qcadoo.model.beans.sample.SampleSimpleDatabaseObject;
 import com.qcadoo.model.beans.sample.SampleTreeDatabaseObject;
 import com.qcadoo.model.internal.api.FieldHookDefinition;
 import com.qcadoo.model.internal.types.HasManyEntitiesType;
+import com.qcadoo.model.internal.types.StringType;
 import com.qcadoo.model.internal.types.TreeEntitiesType;
 import com.qcadoo.model.internal.validators.UniqueValidator;
 
@@ -130,7 +131,13 @@ public final class DataAccessServiceCopyTest extends DataAccessTest {
         simpleDatabaseObject.setName("Mr T(1)");
         simpleDatabaseObject.setAge(66);
 
-        given(hibernateService.getTotalNumberOfEntities(Mockito.any(Criteria.class))).willReturn(1, 0);
+        DynamicDataDefinitionImpl copyValuesDataDefinition = new DynamicDataDefinitionImpl();
+        copyValuesDataDefinition.addField("copyValue", new StringType());
+
+        given(hibernateService.list(Mockito.any(Criteria.class))).willReturn(
+                (List) Lists.newArrayList("Mr T(2)", "Mr T(4)", "Mr T(x)", "Mr Tee(3)"));
+        given(hibernateService.resolveDataDefinition(Mockito.any(Criteria.class))).willReturn(copyValuesDataDefinition);
+        given(hibernateService.exists(Mockito.any(Criteria.class))).willReturn(false);
         given(session.get(any(Class.class), Matchers.anyInt())).willReturn(simpleDatabaseObject);
 
         // when
@@ -25,6 +25,8 @@ package com.qcadoo.model.internal;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -66,6 +68,51 @@ public class DataAccessServiceFindTest extends DataAccessTest {
         assertEquals(Long.valueOf(4L), resultSet.getEntities().get(3).getId());
     }
 
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void shouldNotCountEntitiesIfPageIsNotFull() throws Exception {
+        // given
+        List<SampleSimpleDatabaseObject> databaseObjects = new ArrayList<SampleSimpleDatabaseObject>();
+        databaseObjects.add(createDatabaseObject(1L, "name1", 1));
+        databaseObjects.add(createDatabaseObject(2L, "name2", 2));
+
+        SearchCriteriaBuilder searchCriteriaBuilder = dataDefinition.find().setFirstResult(0).setMaxResults(4);
+
+        given(hibernateService.list(Mockito.any(Criteria.class))).willReturn((List) databaseObjects);
+
+        // when
+        SearchResult resultSet = searchCriteriaBuilder.listWithoutCount();
+
+        // then
+        assertEquals(2, resultSet.getEntities().size());
+        assertEquals(2, resultSet.getTotalNumberOfEntities());
+        verify(hibernateService, never()).getTotalNumberOfEntities(Mockito.any(Criteria.class));
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public void shouldCountEntitiesLazilyIfPageIsFull() throws Exception {
+        // given
+        List<SampleSimpleDatabaseObject> databaseObjects = new ArrayList<SampleSimpleDatabaseObject>();
+        databaseObjects.add(createDatabaseObject(1L, "name1", 1));
+        databaseObjects.add(createDatabaseObject(2L, "name2", 2));
+
+        SearchCriteriaBuilder searchCriteriaBuilder = dataDefinition.find().setFirstResult(0).setMaxResults(2);
+
+        given(hibernateService.getTotalNumberOfEntities(Mockito.any(Criteria.class))).willReturn(7);
+        given(hibernateService.list(Mockito.any(Criteria.class))).willReturn((List) databaseObjects);
+
+        // when
+        SearchResult resultSet = searchCriteriaBuilder.listWithoutCount();
+
+        // then
+        assertEquals(2, resultSet.getEntities().size());
+        verify(hibernateService, never()).getTotalNumberOfEntities(Mockito.any(Criteria.class));
+        assertEquals(7, resultSet.getTotalNumberOfEntities());
+        assertEquals(7, resultSet.getTotalNumberOfEntities());
+        verify(hibernateService).getTotalNumberOfEntities(Mockito.any(Criteria.class));
+    }
+
     private SampleSimpleDatabaseObject createDatabaseObject(final Long id, final String name, final int age) {
         SampleSimpleDatabaseObject simpleDatabaseObject = new SampleSimpleDatabaseObject(id);
         simpleDatabaseObject.setName(name);
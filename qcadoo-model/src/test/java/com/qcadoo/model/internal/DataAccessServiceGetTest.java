@@ -26,12 +26,15 @@ package com.qcadoo.model.internal;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Matchers;
 
 import com.qcadoo.model.api.DataDefinition;
@@ -79,6 +82,68 @@ public final class DataAccessServiceGetTest extends DataAccessTest {
         assertEquals(66, entity.getField("age"));
     }
 
+    @Test
+    public void shouldReturnReadOnlyEntity() throws Exception {
+        // given
+        SampleParentDatabaseObject parentDatabaseObject = new SampleParentDatabaseObject(2L);
+        parentDatabaseObject.setName("Mr X");
+
+        SampleSimpleDatabaseObject simpleDatabaseObject = new SampleSimpleDatabaseObject();
+        simpleDatabaseObject.setId(1L);
+        simpleDatabaseObject.setName("Mr T");
+        simpleDatabaseObject.setAge(66);
+        simpleDatabaseObject.setBelongsTo(parentDatabaseObject);
+
+        given(session.get(any(Class.class), Matchers.anyInt())).willReturn(simpleDatabaseObject);
+
+        // when
+        Entity entity = dataDefinition.getReadOnly(1L);
+
+        // then
+        assertEquals(1L, entity.getId().longValue());
+        assertEquals("Mr T", entity.getField("name"));
+        assertEquals(66, entity.getField("age"));
+        assertEquals("Mr X", entity.getBelongsToField("belongsTo").getStringField("name"));
+        assertThat(entity, CoreMatchers.instanceOf(DefaultEntity.class));
+        assertTrue(((DefaultEntity) entity).isReadOnly());
+
+        InOrder inOrder = inOrder(session);
+        inOrder.verify(session).setDefaultReadOnly(true);
+        inOrder.verify(session).get(any(Class.class), Matchers.anyInt());
+        inOrder.verify(session).setDefaultReadOnly(false);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowToModifyReadOnlyEntity() throws Exception {
+        // given
+        SampleSimpleDatabaseObject simpleDatabaseObject = new SampleSimpleDatabaseObject();
+        simpleDatabaseObject.setId(1L);
+
+        given(session.get(any(Class.class), Matchers.anyInt())).willReturn(simpleDatabaseObject);
+
+        Entity entity = dataDefinition.getReadOnly(1L);
+
+        // when
+        entity.setField("name", "Mr T");
+    }
+
+    @Test
+    public void shouldReturnModifiableCopyOfReadOnlyEntity() throws Exception {
+        // given
+        SampleSimpleDatabaseObject simpleDatabaseObject = new SampleSimpleDatabaseObject();
+        simpleDatabaseObject.setId(1L);
+        simpleDatabaseObject.setName("Mr T");
+
+        given(session.get(any(Class.class), Matchers.anyInt())).willReturn(simpleDatabaseObject);
+
+        // when
+        Entity entity = dataDefinition.getReadOnly(1L).copy();
+        entity.setField("name", "Mr X");
+
+        // then
+        assertEquals("Mr X", entity.getField("name"));
+    }
+
     @Test
     public void shouldNotFailIfFieldTypeIsNotValid() throws Exception {
         // given
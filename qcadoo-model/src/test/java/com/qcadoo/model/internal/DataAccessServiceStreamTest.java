@@ -0,0 +1,151 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.engine.SessionImplementor;
+import org.hibernate.impl.CriteriaImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.beans.sample.SampleSimpleDatabaseObject;
+
+public class DataAccessServiceStreamTest extends DataAccessTest {
+
+    private final StatelessSession statelessSession = mock(StatelessSession.class,
+            Mockito.withSettings().extraInterfaces(SessionImplementor.class));
+
+    private final Transaction transaction = mock(Transaction.class);
+
+    private final ScrollableResults scrollableResults = mock(ScrollableResults.class);
+
+    @Before
+    public void initStatelessSession() {
+        given(hibernateService.openStatelessSession()).willReturn(statelessSession);
+        given(statelessSession.beginTransaction()).willReturn(transaction);
+        given(((SessionImplementor) statelessSession).scroll(any(CriteriaImpl.class), eq(ScrollMode.FORWARD_ONLY))).willReturn(
+                scrollableResults);
+        given(scrollableResults.next()).willReturn(true, true, true, false);
+        given(scrollableResults.get(0)).willReturn(createDatabaseObject(1L, "name1", 1), createDatabaseObject(2L, "name2", 2),
+                createDatabaseObject(3L, "name3", 3));
+    }
+
+    @Test
+    public void shouldStreamEntitiesOneByOne() throws Exception {
+        // given
+        final List<Entity> entities = new ArrayList<Entity>();
+
+        // when
+        int numberOfEntities = dataDefinition.stream(dataDefinition.find(), new Consumer<Entity>() {
+
+            @Override
+            public void accept(final Entity entity) {
+                entities.add(entity);
+            }
+
+        });
+
+        // then
+        assertEquals(3, numberOfEntities);
+        assertEquals(3, entities.size());
+        assertEquals(Long.valueOf(1L), entities.get(0).getId());
+        assertEquals("name3", entities.get(2).getField("name"));
+
+        InOrder inOrder = inOrder(transaction, scrollableResults, statelessSession);
+        inOrder.verify(transaction).commit();
+        inOrder.verify(scrollableResults).close();
+        inOrder.verify(statelessSession).close();
+    }
+
+    @Test
+    public void shouldStreamEntitiesInChunks() throws Exception {
+        // given
+        final List<List<Entity>> chunks = new ArrayList<List<Entity>>();
+
+        // when
+        int numberOfEntities = dataDefinition.stream(dataDefinition.find(), 2, new Consumer<List<Entity>>() {
+
+            @Override
+            public void accept(final List<Entity> chunk) {
+                chunks.add(chunk);
+            }
+
+        });
+
+        // then
+        assertEquals(3, numberOfEntities);
+        assertEquals(2, chunks.size());
+        assertEquals(2, chunks.get(0).size());
+        assertEquals(1, chunks.get(1).size());
+        assertEquals(Long.valueOf(3L), chunks.get(1).get(0).getId());
+    }
+
+    @Test
+    public void shouldRollbackAndCloseSessionIfConsumerFails() throws Exception {
+        // when
+        try {
+            dataDefinition.stream(dataDefinition.find(), new Consumer<Entity>() {
+
+                @Override
+                public void accept(final Entity entity) {
+                    throw new IllegalStateException("failure");
+                }
+
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // then
+            verify(transaction).rollback();
+            verify(scrollableResults).close();
+            verify(statelessSession).close();
+        }
+    }
+
+    private SampleSimpleDatabaseObject createDatabaseObject(final Long id, final String name, final int age) {
+        SampleSimpleDatabaseObject simpleDatabaseObject = new SampleSimpleDatabaseObject(id);
+        simpleDatabaseObject.setName(name);
+        simpleDatabaseObject.setAge(age);
+        return simpleDatabaseObject;
+    }
+
+}
@@ -26,14 +26,17 @@ package com.qcadoo.model.internal;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
 
 import org.hibernate.Criteria;
+import org.hibernate.Query;
 import org.hibernate.classic.Session;
 import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projection;
+import org.hibernate.engine.PersistenceContext;
 import org.hibernate.engine.SessionImplementor;
 import org.junit.Before;
 import org.mockito.Mockito;
@@ -57,6 +60,7 @@ import com.qcadoo.model.internal.api.EntityService;
 import com.qcadoo.model.internal.api.HibernateService;
 import com.qcadoo.model.internal.api.PriorityService;
 import com.qcadoo.model.internal.api.ValidationService;
+import com.qcadoo.model.internal.metrics.MetricsServiceImpl;
 import com.qcadoo.model.internal.types.BelongsToEntityType;
 import com.qcadoo.model.internal.types.BooleanType;
 import com.qcadoo.model.internal.types.DateType;
@@ -80,6 +84,10 @@ public abstract class DataAccessTest extends TransactionMockAwareTest {
 
     protected final Criteria criteria = mock(Criteria.class, RETURNS_DEEP_STUBS);
 
+    protected final Query query = mock(Query.class);
+
+    protected final PersistenceContext persistenceContext = mock(PersistenceContext.class);
+
     protected final DictionaryService dictionaryService = mock(DictionaryService.class);
 
     protected final ApplicationContext applicationContext = mock(ApplicationContext.class);
@@ -163,6 +171,7 @@ public abstract class DataAccessTest extends TransactionMockAwareTest {
         ReflectionTestUtils.setField(dataAccessService, "priorityService", priorityService);
         ReflectionTestUtils.setField(dataAccessService, "validationService", validationService);
         ReflectionTestUtils.setField(dataAccessService, "hibernateService", hibernateService);
+        ReflectionTestUtils.setField(dataAccessService, "metricsService", new MetricsServiceImpl());
         AnnotationTransactionAspect.aspectOf();
 
         SearchRestrictions restrictions = new SearchRestrictions();
@@ -184,6 +193,11 @@ public abstract class DataAccessTest extends TransactionMockAwareTest {
         given(criteria.setMaxResults(anyInt())).willReturn(criteria);
         given(criteria.addOrder(any(Order.class))).willReturn(criteria);
 
+        given(session.createQuery(anyString())).willReturn(query);
+        given(((SessionImplementor) session).getPersistenceContext()).willReturn(persistenceContext);
+
+        given(query.setParameter(anyString(), any())).willReturn(query);
+
     }
 
     private void buildParentDataDefinition() {
@@ -34,6 +34,12 @@ import java.math.BigDecimal;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -2700,4 +2706,53 @@ public class DefaultEntityTest {
         Assert.assertNotNull(result);
         Assert.assertEquals(date, result);
     }
+
+    @Test
+    public final void shouldNotStoreLazyFieldValuesOfReadOnlyEntityInHashCodeAndToString() throws Exception {
+        // given
+        Map<String, Function<Entity, Object>> lazyFields = Maps.newHashMap();
+        lazyFields.put(STRING_FIELD_NAME, entity -> "computed");
+        DefaultEntity readOnlyEntity = new DefaultEntity(dataDefinition, 1L, true, Maps.<String, Object> newHashMap(), lazyFields);
+
+        // when
+        readOnlyEntity.hashCode();
+        String text = readOnlyEntity.toString();
+
+        // then
+        assertTrue(text.contains(STRING_FIELD_NAME + "=computed"));
+        assertTrue(lazyFields.containsKey(STRING_FIELD_NAME));
+        assertEquals("computed", readOnlyEntity.getField(STRING_FIELD_NAME));
+        assertFalse(lazyFields.containsKey(STRING_FIELD_NAME));
+    }
+
+    @Test
+    public final void shouldComputeLazyFieldOfReadOnlyEntityOnceWhenReadConcurrently() throws Exception {
+        // given
+        final AtomicInteger computations = new AtomicInteger();
+        Map<String, Function<Entity, Object>> lazyFields = Maps.newHashMap();
+        lazyFields.put(STRING_FIELD_NAME, entity -> {
+            computations.incrementAndGet();
+            return "computed";
+        });
+        final DefaultEntity readOnlyEntity = new DefaultEntity(dataDefinition, 1L, true, Maps.<String, Object> newHashMap(),
+                lazyFields);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Object>> reads = Lists.newArrayList();
+
+        for (int i = 0; i < 32; i++) {
+            reads.add(() -> readOnlyEntity.getField(STRING_FIELD_NAME));
+        }
+
+        // when
+        List<Future<Object>> results = executor.invokeAll(reads);
+        executor.shutdown();
+
+        // then
+        for (Future<Object> result : results) {
+            assertEquals("computed", result.get());
+        }
+        assertEquals(1, computations.get());
+    }
+
 }
@@ -82,7 +82,7 @@ public class EntityListImplTest {
         given(dataDefinition.getField("hasMany")).willReturn(fieldDefinition);
         given(
                 dataDefinition.find().createAlias(fieldDefinition.getName(), fieldDefinition.getName())
-                        .add(SearchRestrictions.eq(fieldDefinition.getName() + ".id", 1L)).list().getEntities()).willReturn(
+                        .add(SearchRestrictions.eq(fieldDefinition.getName() + ".id", 1L)).listWithoutCount().getEntities()).willReturn(
                 entities);
         given(dataAccessService.get(dataDefinition, 1L)).willReturn(entity);
 
@@ -266,6 +266,25 @@ public class EntityServiceImplTest extends DataAccessTest {
         assertEquals(Long.valueOf(77), ((Entity) genericEntity.getField("lazyBelongsTo")).getId());
     }
 
+    @Test
+    public void shouldConvertFetchedLazyBelongsToFieldEagerly() throws Exception {
+        // given
+        SampleParentDatabaseObject lazyParentDatabaseEntity = new SampleParentDatabaseObject(3L);
+        lazyParentDatabaseEntity.setName("Mr Y");
+
+        SampleSimpleDatabaseObject databaseEntity = new SampleSimpleDatabaseObject(2L);
+        databaseEntity.setLazyBelongsTo(lazyParentDatabaseEntity);
+
+        // when
+        Entity genericEntity = entityService.convertToGenericEntity(dataDefinition, databaseEntity,
+                Collections.singleton("lazyBelongsTo"));
+
+        // then
+        isInstanceOf(DefaultEntity.class, genericEntity.getField("lazyBelongsTo"));
+        assertEquals(Long.valueOf(3), ((Entity) genericEntity.getField("lazyBelongsTo")).getId());
+        assertEquals("Mr Y", ((Entity) genericEntity.getField("lazyBelongsTo")).getField("name"));
+    }
+
     @Test
     public void shouldConvertDatabaseEntityIntoGenericOneWithHasMany() throws Exception {
         // given
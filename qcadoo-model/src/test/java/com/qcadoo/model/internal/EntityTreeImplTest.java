@@ -24,10 +24,15 @@
 package com.qcadoo.model.internal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.util.ReflectionTestUtils.getField;
 
 import java.util.Arrays;
@@ -36,6 +41,7 @@ import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.qcadoo.model.api.DataDefinition;
@@ -86,7 +92,7 @@ public class EntityTreeImplTest {
         given(dataDefinition.getField("tree")).willReturn(fieldDefinition);
         given(
                 dataDefinition.find().add(SearchRestrictions.belongsTo("field", dataDefinition, 1L))
-                        .addOrder(SearchOrders.asc("priority")).list().getEntities()).willReturn(entities);
+                        .addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities()).willReturn(entities);
 
         EntityTreeImpl tree = new EntityTreeImpl(dataDefinition, "tree", 1L);
 
@@ -125,7 +131,7 @@ public class EntityTreeImplTest {
         given(dataDefinition.getField("tree")).willReturn(fieldDefinition);
         given(
                 dataDefinition.find().add(SearchRestrictions.belongsTo("field", dataDefinition, 1L))
-                        .addOrder(SearchOrders.asc("priority")).list().getEntities()).willReturn(entities);
+                        .addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities()).willReturn(entities);
 
         EntityTreeImpl tree = new EntityTreeImpl(dataDefinition, "tree", 1L);
 
@@ -158,7 +164,7 @@ public class EntityTreeImplTest {
         given(dataDefinition.getField("tree")).willReturn(fieldDefinition);
         given(
                 dataDefinition.find().add(SearchRestrictions.belongsTo("field", dataDefinition, 1L))
-                        .addOrder(SearchOrders.asc("priority")).list().getEntities()).willReturn(entities);
+                        .addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities()).willReturn(entities);
 
         EntityTreeImpl tree = new EntityTreeImpl(dataDefinition, "tree", 1L);
 
@@ -182,7 +188,7 @@ public class EntityTreeImplTest {
         given(dataDefinition.getField("tree")).willReturn(fieldDefinition);
         given(
                 dataDefinition.find().add(SearchRestrictions.belongsTo("field", dataDefinition, 1L))
-                        .addOrder(SearchOrders.asc("priority")).list().getEntities()).willReturn(entities);
+                        .addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities()).willReturn(entities);
 
         EntityTreeImpl tree = new EntityTreeImpl(dataDefinition, "tree", 1L);
 
@@ -211,6 +217,49 @@ public class EntityTreeImplTest {
         assertEquals(searchCriteriaBuilder, list.find());
     }
 
+    @Test
+    public void shouldShareLoadedParentAndOwnerBetweenNodes() throws Exception {
+        // given
+        BelongsToType fieldType = mock(BelongsToType.class);
+        InternalDataDefinition dataDefinition = mock(InternalDataDefinition.class, RETURNS_DEEP_STUBS);
+        given(fieldType.getDataDefinition()).willReturn(dataDefinition);
+        FieldDefinition fieldDefinition = mock(FieldDefinition.class);
+        given(fieldDefinition.getType()).willReturn(fieldType);
+        given(fieldDefinition.getName()).willReturn("field");
+        given(dataDefinition.getField("tree")).willReturn(fieldDefinition);
+
+        Entity entity1 = mock(Entity.class);
+        given(entity1.getId()).willReturn(1L);
+        given(entity1.getField("field")).willReturn(new ProxyEntity(dataDefinition, 1L));
+
+        Entity entity2 = mock(Entity.class);
+        ProxyEntity parentProxy = new ProxyEntity(dataDefinition, 1L);
+        given(entity2.getId()).willReturn(2L);
+        given(entity2.getField("field")).willReturn(new ProxyEntity(dataDefinition, 1L));
+        given(entity2.getField("parent")).willReturn(parentProxy);
+        given(entity2.getBelongsToField("parent")).willReturn(parentProxy);
+
+        given(
+                dataDefinition.find().add(SearchRestrictions.belongsTo("field", dataDefinition, 1L))
+                        .addOrder(SearchOrders.asc("priority")).listWithoutCount().getEntities()).willReturn(
+                Arrays.asList(entity1, entity2));
+
+        EntityTreeImpl tree = new EntityTreeImpl(dataDefinition, "tree", 1L);
+
+        // when
+        tree.getRoot();
+
+        // then
+        ArgumentCaptor<Entity> owner1 = ArgumentCaptor.forClass(Entity.class);
+        ArgumentCaptor<Entity> owner2 = ArgumentCaptor.forClass(Entity.class);
+        verify(entity1).setField(eq("field"), owner1.capture());
+        verify(entity2).setField(eq("field"), owner2.capture());
+        assertSame(owner1.getValue(), owner2.getValue());
+        verify(entity2).setField("parent", entity1);
+        verify(entity1, never()).setField(eq("parent"), any());
+        verify(dataDefinition, never()).get(1L);
+    }
+
     @Test
     public void shouldDelegateMethods() throws Exception {
         // given
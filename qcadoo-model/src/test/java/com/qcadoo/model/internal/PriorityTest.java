@@ -31,17 +31,29 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.util.Assert.notNull;
 
+import java.util.Map;
+
+import org.hibernate.EntityMode;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.EntityChangeListener;
 import com.qcadoo.model.beans.sample.SampleSimpleDatabaseObject;
 
 public class PriorityTest extends DataAccessTest {
 
+    private static final String L_SHIFT_QUERY = "update " + SampleSimpleDatabaseObject.class.getCanonicalName()
+            + " set priority = priority + :diff where priority between :fromPriority and :toPriority and belongsTo = :scope";
+
     @Before
     public void init() {
         dataDefinition.addPriorityField(fieldDefinitionPriority);
@@ -81,20 +93,17 @@ public class PriorityTest extends DataAccessTest {
         SampleSimpleDatabaseObject existingDatabaseObject = new SampleSimpleDatabaseObject(1L);
         existingDatabaseObject.setPriority(11);
 
-        SampleSimpleDatabaseObject otherDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        otherDatabaseObject.setPriority(12);
-
         given(session.get(SampleSimpleDatabaseObject.class, 1L)).willReturn(existingDatabaseObject);
-        given(criteria.list()).willReturn(Lists.newArrayList(otherDatabaseObject));
 
         // when
         dataDefinition.delete(1L);
 
         // then
-        SampleSimpleDatabaseObject updatedDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        updatedDatabaseObject.setPriority(11);
-
-        verify(session).update(updatedDatabaseObject);
+        verify(session).createQuery(L_SHIFT_QUERY);
+        verify(query).setParameter("diff", -1);
+        verify(query).setParameter("fromPriority", 12);
+        verify(query).setParameter("toPriority", Integer.MAX_VALUE);
+        verify(query).executeUpdate();
 
         SampleSimpleDatabaseObject deletedDatabaseObject = new SampleSimpleDatabaseObject(1L);
         deletedDatabaseObject.setPriority(11);
@@ -108,12 +117,8 @@ public class PriorityTest extends DataAccessTest {
         SampleSimpleDatabaseObject existingDatabaseObject = new SampleSimpleDatabaseObject(1L);
         existingDatabaseObject.setPriority(5);
 
-        SampleSimpleDatabaseObject otherDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        otherDatabaseObject.setPriority(6);
-
         given(session.get(any(Class.class), Matchers.anyInt())).willReturn(existingDatabaseObject);
         given(criteria.uniqueResult()).willReturn(6);
-        given(criteria.list()).willReturn(Lists.newArrayList(otherDatabaseObject));
 
         // when
         dataDefinition.move(1L, 1);
@@ -124,10 +129,30 @@ public class PriorityTest extends DataAccessTest {
 
         verify(session).update(movedDatabaseObject);
 
-        SampleSimpleDatabaseObject updatedDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        updatedDatabaseObject.setPriority(5);
+        verify(session).createQuery(L_SHIFT_QUERY);
+        verify(query).setParameter("diff", -1);
+        verify(query).setParameter("fromPriority", 6);
+        verify(query).setParameter("toPriority", 6);
+        verify(query).executeUpdate();
+    }
+
+    @Test
+    public void shouldNotifyListenersAboutShiftedPriorities() throws Exception {
+        // given
+        EntityChangeListener entityChangeListener = Mockito.mock(EntityChangeListener.class);
+        ReflectionTestUtils.setField(priorityService, "entityChangeListeners", Lists.newArrayList(entityChangeListener));
+
+        SampleSimpleDatabaseObject existingDatabaseObject = new SampleSimpleDatabaseObject(1L);
+        existingDatabaseObject.setPriority(5);
+
+        given(session.get(any(Class.class), Matchers.anyInt())).willReturn(existingDatabaseObject);
+        given(criteria.uniqueResult()).willReturn(6);
+
+        // when
+        dataDefinition.move(1L, 1);
 
-        verify(session).update(updatedDatabaseObject);
+        // then
+        verify(entityChangeListener).onBulkUpdate(dataDefinition);
     }
 
     @Test
@@ -136,12 +161,8 @@ public class PriorityTest extends DataAccessTest {
         SampleSimpleDatabaseObject existingDatabaseObject = new SampleSimpleDatabaseObject(1L);
         existingDatabaseObject.setPriority(5);
 
-        SampleSimpleDatabaseObject otherDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        otherDatabaseObject.setPriority(6);
-
         given(session.get(any(Class.class), Matchers.anyInt())).willReturn(existingDatabaseObject);
         given(criteria.uniqueResult()).willReturn(6);
-        given(criteria.list()).willReturn(Lists.newArrayList(otherDatabaseObject));
 
         // when
         dataDefinition.moveTo(1L, 6);
@@ -152,10 +173,47 @@ public class PriorityTest extends DataAccessTest {
 
         verify(session).update(movedDatabaseObject);
 
-        SampleSimpleDatabaseObject updatedDatabaseObject = new SampleSimpleDatabaseObject(2L);
-        updatedDatabaseObject.setPriority(5);
+        verify(session).createQuery(L_SHIFT_QUERY);
+        verify(query).setParameter("diff", -1);
+        verify(query).setParameter("fromPriority", 6);
+        verify(query).setParameter("toPriority", 6);
+        verify(query).executeUpdate();
+    }
+
+    @Test
+    public void shouldRefreshShiftedEntitiesLoadedIntoSession() throws Exception {
+        // given
+        SampleSimpleDatabaseObject existingDatabaseObject = new SampleSimpleDatabaseObject(1L);
+        existingDatabaseObject.setPriority(5);
+
+        SampleSimpleDatabaseObject shiftedDatabaseObject = new SampleSimpleDatabaseObject(2L);
+        shiftedDatabaseObject.setPriority(6);
 
-        verify(session).update(updatedDatabaseObject);
+        SampleSimpleDatabaseObject otherDatabaseObject = new SampleSimpleDatabaseObject(3L);
+        otherDatabaseObject.setPriority(7);
+
+        EntityPersister entityPersister = Mockito.mock(EntityPersister.class);
+        given(entityPersister.getEntityName()).willReturn(SampleSimpleDatabaseObject.class.getCanonicalName());
+        given(entityPersister.getRootEntityName()).willReturn(SampleSimpleDatabaseObject.class.getCanonicalName());
+        given(entityPersister.getIdentifierType()).willReturn(Mockito.mock(Type.class));
+
+        Map<EntityKey, Object> entitiesByKey = Maps.newHashMap();
+        entitiesByKey.put(new EntityKey(1L, entityPersister, EntityMode.POJO), existingDatabaseObject);
+        entitiesByKey.put(new EntityKey(2L, entityPersister, EntityMode.POJO), shiftedDatabaseObject);
+        entitiesByKey.put(new EntityKey(3L, entityPersister, EntityMode.POJO), otherDatabaseObject);
+
+        given(session.get(any(Class.class), Matchers.anyInt())).willReturn(existingDatabaseObject);
+        given(criteria.uniqueResult()).willReturn(7);
+        given(persistenceContext.getEntitiesByKey()).willReturn(entitiesByKey);
+
+        // when
+        dataDefinition.moveTo(1L, 6);
+
+        // then
+        verify(session).flush();
+        verify(session).refresh(shiftedDatabaseObject);
+        verify(session, never()).refresh(existingDatabaseObject);
+        verify(session, never()).refresh(otherDatabaseObject);
     }
 
     @Test(expected = IllegalStateException.class)
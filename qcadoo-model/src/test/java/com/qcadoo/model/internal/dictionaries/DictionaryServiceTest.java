@@ -30,6 +30,8 @@ import static org.junit.matchers.JUnitMatchers.hasItems;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Locale;
 import java.util.Map;
@@ -43,20 +45,26 @@ import com.qcadoo.model.TransactionMockAwareTest;
 import com.qcadoo.model.api.DataDefinitionService;
 import com.qcadoo.model.api.DictionaryService;
 import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchOrders;
 import com.qcadoo.model.api.search.SearchRestrictions;
 import com.qcadoo.model.internal.DefaultEntity;
+import com.qcadoo.model.internal.api.InternalDictionaryService;
+import com.qcadoo.tenant.api.MultiTenantService;
 
 public class DictionaryServiceTest extends TransactionMockAwareTest {
 
     private final DataDefinitionService dataDefinitionService = mock(DataDefinitionService.class, RETURNS_DEEP_STUBS);
 
+    private final MultiTenantService multiTenantService = mock(MultiTenantService.class);
+
     private DictionaryService dictionaryService = null;
 
     @Before
     public void init() {
         dictionaryService = new DictionaryServiceImpl();
         ReflectionTestUtils.setField(dictionaryService, "dataDefinitionService", dataDefinitionService);
+        ReflectionTestUtils.setField(dictionaryService, "multiTenantService", multiTenantService);
     }
 
     @Test
@@ -87,17 +95,12 @@ public class DictionaryServiceTest extends TransactionMockAwareTest {
     @Test
     public void shouldReturnSortedListOfDictionaryValues() throws Exception {
         // given
-        Entity item1 = new DefaultEntity(null);
-        item1.setField("name", "aaa");
-        Entity item2 = new DefaultEntity(null);
-        item2.setField("name", "ccc");
-        Entity item3 = new DefaultEntity(null);
-        item3.setField("name", "bbb");
+        Entity item1 = createItem("aaa", true);
+        Entity item2 = createItem("ccc", true);
+        Entity item3 = createItem("bbb", true);
+        Entity item4 = createItem("ddd", false);
 
-        given(
-                dataDefinitionService.get("qcadooModel", "dictionaryItem").find().createAlias("dictionary", "dictionary")
-                        .add(SearchRestrictions.eq("dictionary.name", "dict")).add(SearchRestrictions.eq("active", true))
-                        .addOrder(SearchOrders.asc("name")).list().getEntities()).willReturn(newArrayList(item1, item3, item2));
+        given(getItemsCriteria("dict").listWithoutCount().getEntities()).willReturn(newArrayList(item1, item3, item2, item4));
 
         // when
         Map<String, String> values = dictionaryService.getValues("dict", Locale.ENGLISH);
@@ -109,6 +112,36 @@ public class DictionaryServiceTest extends TransactionMockAwareTest {
         assertThat(values.get("ccc"), equalTo("ccc"));
     }
 
+    @Test
+    public void shouldLoadDictionaryItemsOnceUntilCacheIsInvalidated() throws Exception {
+        // given
+        given(getItemsCriteria("dict").listWithoutCount().getEntities()).willReturn(
+                newArrayList(createItem("aaa", true), createItem("bbb", false)));
+
+        // when
+        Map<String, String> values = dictionaryService.getValues("dict", Locale.ENGLISH);
+        dictionaryService.getKeys("dict");
+        ((InternalDictionaryService) dictionaryService).invalidateCache();
+        dictionaryService.getActiveKeys("dict");
+
+        // then
+        assertThat(values.size(), equalTo(1));
+        assertThat(dictionaryService.getKeys("dict").size(), equalTo(2));
+        verify(getItemsCriteria("dict").listWithoutCount(), times(2)).getEntities();
+    }
+
+    private SearchCriteriaBuilder getItemsCriteria(final String dictionaryName) {
+        return dataDefinitionService.get("qcadooModel", "dictionaryItem").find().createAlias("dictionary", "dictionary")
+                .add(SearchRestrictions.eq("dictionary.name", dictionaryName)).addOrder(SearchOrders.asc("name"));
+    }
+
+    private Entity createItem(final String name, final boolean active) {
+        Entity item = new DefaultEntity(null);
+        item.setField("name", name);
+        item.setField("active", active);
+        return item;
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldThrownAnExceptionIfDictionaryNameIsNull() throws Exception {
         // when
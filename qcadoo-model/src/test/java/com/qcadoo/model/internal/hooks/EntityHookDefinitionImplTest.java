@@ -35,6 +35,7 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.context.ApplicationContext;
 
+import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.beans.sample.CustomEntityService;
 import com.qcadoo.plugin.api.PluginStateResolver;
 import com.qcadoo.plugin.internal.PluginUtilsService;
@@ -61,6 +62,13 @@ public class EntityHookDefinitionImplTest {
         pluginUtil.init();
     }
 
+    private EntityHookDefinitionImpl createHook(final String methodName) throws HookInitializationException {
+        ApplicationContext applicationContext = Mockito.mock(ApplicationContext.class);
+        BDDMockito.given(applicationContext.getBean(CustomEntityService.class)).willReturn(new CustomEntityService());
+        return new EntityHookDefinitionImpl("com.qcadoo.model.beans.sample.CustomEntityService", methodName,
+                SOME_PLUGIN_IDENTIFIER, applicationContext);
+    }
+
     private void stubPluginIsEnabled(final boolean isEnabled) {
         given(pluginStateResolver.isEnabled(SOME_PLUGIN_IDENTIFIER)).willReturn(isEnabled);
         given(pluginStateResolver.isEnabledOrEnabling(SOME_PLUGIN_IDENTIFIER)).willReturn(isEnabled);
@@ -121,4 +129,41 @@ public class EntityHookDefinitionImplTest {
         // then
         Assert.assertFalse(isEnabled);
     }
+
+    @Test
+    public final void shouldCallHookMethodWithDataDefinitionAndEntity() throws Exception {
+        // given
+        Entity entity = Mockito.mock(Entity.class);
+
+        // when
+        boolean result = entityHookDefinitionImpl.call(entity);
+
+        // then
+        Assert.assertTrue(result);
+        Mockito.verify(entity).setField("age", 11);
+    }
+
+    @Test(expected = AssertionError.class)
+    public final void shouldPropagateErrorThrownByHookUnchanged() throws Exception {
+        // when
+        createHook("failWithError").call(Mockito.mock(Entity.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public final void shouldPropagateRuntimeExceptionThrownByHookUnchanged() throws Exception {
+        // when
+        createHook("failWithRuntimeException").call(Mockito.mock(Entity.class));
+    }
+
+    @Test
+    public final void shouldWrapCheckedExceptionThrownByHook() throws Exception {
+        // when
+        try {
+            createHook("failWithCheckedException").call(Mockito.mock(Entity.class));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // then
+            Assert.assertEquals(Exception.class, e.getCause().getClass());
+        }
+    }
 }
@@ -0,0 +1,134 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricsSource;
+
+public class MetricsServiceImplTest {
+
+    private MetricsServiceImpl metricsService;
+
+    @Before
+    public void init() {
+        metricsService = new MetricsServiceImpl();
+        ReflectionTestUtils.setField(metricsService, "maxLabelValues", 2);
+    }
+
+    @Test
+    public void shouldRecordTimesInCumulativeBuckets() throws Exception {
+        // given
+        metricsService.recordTime("query_seconds", "dataDefinition", "basic.product", TimeUnit.MILLISECONDS.toNanos(3));
+        metricsService.recordTime("query_seconds", "dataDefinition", "basic.product", TimeUnit.MILLISECONDS.toNanos(30));
+        metricsService.recordTime("query_seconds", "dataDefinition", "basic.product", TimeUnit.SECONDS.toNanos(20));
+
+        // when
+        List<MetricSample> samples = metricsService.getSamples();
+
+        // then
+        assertEquals(0, getValue(samples, "query_seconds_bucket", "0.001"), 0);
+        assertEquals(1, getValue(samples, "query_seconds_bucket", "0.005"), 0);
+        assertEquals(2, getValue(samples, "query_seconds_bucket", "0.05"), 0);
+        assertEquals(2, getValue(samples, "query_seconds_bucket", "10.0"), 0);
+        assertEquals(3, getValue(samples, "query_seconds_bucket", "+Inf"), 0);
+        assertEquals(3, getValue(samples, "query_seconds_count", null), 0);
+        assertEquals(20.033, getValue(samples, "query_seconds_sum", null), 0.0001);
+        assertEquals(MetricSample.Type.HISTOGRAM, findSample(samples, "query_seconds_count",
+                ImmutableMap.of("dataDefinition", "basic.product")).getType());
+    }
+
+    @Test
+    public void shouldRecordValuesOverLimitUnderCommonLabel() throws Exception {
+        // given
+        metricsService.increment("events_total", "view", "basic/products", 1);
+        metricsService.increment("events_total", "view", "basic/companies", 1);
+        metricsService.increment("events_total", "view", "basic/unknown1", 1);
+        metricsService.increment("events_total", "view", "basic/unknown2", 1);
+        metricsService.increment("events_total", "view", "basic/products", 1);
+
+        // when
+        List<MetricSample> samples = metricsService.getSamples();
+
+        // then
+        assertEquals(3, samples.size());
+        assertEquals(2, findSample(samples, "events_total", ImmutableMap.of("view", "basic/products")).getValue(), 0);
+        assertEquals(1, findSample(samples, "events_total", ImmutableMap.of("view", "basic/companies")).getValue(), 0);
+        assertEquals(2, findSample(samples, "events_total",
+                ImmutableMap.of("view", MetricsServiceImpl.L_OTHER_LABEL_VALUE)).getValue(), 0);
+    }
+
+    @Test
+    public void shouldSumCountersAndReadSources() throws Exception {
+        // given
+        MetricsSource metricsSource = mock(MetricsSource.class);
+        given(metricsSource.getSamples()).willReturn(Lists.newArrayList(new MetricSample("pool_connections", 7)));
+        ReflectionTestUtils.setField(metricsService, "metricsSources", Lists.newArrayList(metricsSource));
+
+        metricsService.increment("rows_total", "dataDefinition", "basic.product", 10);
+        metricsService.increment("rows_total", "dataDefinition", "basic.product", 15);
+        metricsService.increment("rows_total", "dataDefinition", "basic.company", 1);
+
+        // when
+        List<MetricSample> samples = metricsService.getSamples();
+
+        // then
+        assertEquals(3, samples.size());
+        assertTrue(samples.contains(findSample(samples, "pool_connections", ImmutableMap.<String, String> of())));
+        assertEquals(25, findSample(samples, "rows_total", ImmutableMap.of("dataDefinition", "basic.product")).getValue(), 0);
+        assertEquals(1, findSample(samples, "rows_total", ImmutableMap.of("dataDefinition", "basic.company")).getValue(), 0);
+    }
+
+    private double getValue(final List<MetricSample> samples, final String name, final String upperBound) {
+        Map<String, String> labels = upperBound == null ? ImmutableMap.of("dataDefinition", "basic.product") : ImmutableMap.of(
+                "dataDefinition", "basic.product", "le", upperBound);
+
+        return findSample(samples, name, labels).getValue();
+    }
+
+    private MetricSample findSample(final List<MetricSample> samples, final String name, final Map<String, String> labels) {
+        for (MetricSample sample : samples) {
+            if (sample.getName().equals(name) && sample.getLabels().equals(labels)) {
+                return sample;
+            }
+        }
+
+        throw new AssertionError("Missing sample " + name + labels);
+    }
+
+}
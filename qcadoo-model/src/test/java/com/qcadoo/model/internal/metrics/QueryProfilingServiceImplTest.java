@@ -0,0 +1,141 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.qcadoo.model.api.metrics.QueryProfile;
+
+public class QueryProfilingServiceImplTest {
+
+    private QueryProfilingServiceImpl queryProfilingService;
+
+    private QueryProfilingInterceptor interceptor;
+
+    @Before
+    public final void init() {
+        queryProfilingService = new QueryProfilingServiceImpl();
+        queryProfilingService.setEnabled(true);
+        queryProfilingService.setRepeatThreshold(3);
+
+        interceptor = new QueryProfilingInterceptor();
+    }
+
+    @After
+    public final void cleanUp() {
+        while (QueryProfiler.isActive()) {
+            QueryProfiler.finish();
+        }
+    }
+
+    @Test
+    public final void shouldRemoveLiteralsFromFingerprint() {
+        // when
+        String fingerprint = QueryProfiler.getFingerprint("select this_.id as id1_0_ from basic_product this_\n"
+                + "  where this_.number = 'P''1' and this_.id in (1, 2,3) and this_.price > 2.5");
+
+        // then
+        assertEquals("select this_.id as id1_0_ from basic_product this_ where this_.number = ? and this_.id in (?) "
+                + "and this_.price > ?", fingerprint);
+    }
+
+    @Test
+    public final void shouldCountStatementsAndRepeatedFingerprints() {
+        // given
+        queryProfilingService.startProfile("basic/products");
+
+        // when
+        interceptor.onPrepareStatement("select * from basic_product where id = ?");
+        interceptor.onPrepareStatement("select * from basic_unit where id = 1");
+        interceptor.onPrepareStatement("select * from basic_unit where id = 2");
+        interceptor.onPrepareStatement("select * from basic_unit where id = 3");
+        QueryProfiler.addDatabaseTime(5);
+        QueryProfiler.addDatabaseTime(7);
+
+        QueryProfile profile = queryProfilingService.finishProfile();
+
+        // then
+        assertEquals("basic/products", profile.getName());
+        assertEquals(4, profile.getQueryCount());
+        assertEquals(12, profile.getDatabaseTimeInNanos());
+        assertEquals(1, profile.getRepeatedStatements().size());
+        assertEquals(Integer.valueOf(3), profile.getRepeatedStatements().get("select * from basic_unit where id = ?"));
+        assertFalse(QueryProfiler.isActive());
+    }
+
+    @Test
+    public final void shouldCountNestedScopeIntoOuterOne() {
+        // given
+        queryProfilingService.startProfile("outer");
+        queryProfilingService.startProfile("inner");
+        interceptor.onPrepareStatement("select 1");
+
+        // when
+        QueryProfile innerProfile = queryProfilingService.finishProfile();
+        interceptor.onPrepareStatement("select 1");
+        QueryProfile outerProfile = queryProfilingService.finishProfile();
+
+        // then
+        assertNull(innerProfile);
+        assertEquals("outer", outerProfile.getName());
+        assertEquals(2, outerProfile.getQueryCount());
+    }
+
+    @Test
+    public final void shouldNotProfileWhenDisabled() {
+        // given
+        queryProfilingService.setEnabled(false);
+
+        // when
+        queryProfilingService.startProfile("basic/products");
+        interceptor.onPrepareStatement("select 1");
+        boolean originPushed = QueryProfiler.pushOrigin(() -> "hook");
+
+        // then
+        assertFalse(QueryProfiler.isActive());
+        assertFalse(originPushed);
+        assertNull(queryProfilingService.finishProfile());
+    }
+
+    @Test
+    public final void shouldPushOriginOnlyWhenProfileIsStarted() {
+        // given
+        queryProfilingService.startProfile("basic/products");
+
+        // when
+        boolean originPushed = QueryProfiler.pushOrigin(() -> "hook com.qcadoo.SampleHooks.onView");
+        QueryProfiler.popOrigin();
+
+        // then
+        assertTrue(originPushed);
+    }
+
+}
@@ -24,7 +24,12 @@
 package com.qcadoo.model.internal.search;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
+import org.hibernate.Criteria;
+import org.hibernate.FetchMode;
 import org.junit.Test;
 
 import com.qcadoo.model.internal.DataAccessTest;
@@ -38,6 +43,28 @@ public final class SearchCriteriaBuilderTest extends DataAccessTest {
 
         // then
         assertEquals(dataDefinition, searchCriteria.getDataDefinition());
+        assertTrue(searchCriteria.getFetchPaths().isEmpty());
+    }
+
+    @Test
+    public void shouldAddFetchPlanToCriteria() throws Exception {
+        // given
+        Criteria hibernateCriteria = mock(Criteria.class);
+
+        // when
+        SearchCriteria searchCriteria = (SearchCriteria) dataDefinition.find().fetch("lazyBelongsTo");
+        searchCriteria.addFetchPlan(hibernateCriteria);
+
+        // then
+        assertEquals(1, searchCriteria.getFetchPaths().size());
+        assertTrue(searchCriteria.getFetchPaths().contains("lazyBelongsTo"));
+        verify(hibernateCriteria).setFetchMode("lazyBelongsTo", FetchMode.JOIN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotFetchNotBelongsToField() throws Exception {
+        // when
+        dataDefinition.find().fetch("name");
     }
 
 }
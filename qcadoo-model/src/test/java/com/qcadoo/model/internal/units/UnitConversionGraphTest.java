@@ -0,0 +1,116 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.units;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.units.UnitConversion;
+import com.qcadoo.model.constants.UnitConversionItemFields;
+import com.qcadoo.model.internal.DefaultEntity;
+
+public class UnitConversionGraphTest {
+
+    private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
+
+    @Test
+    public final void shouldReturnNoConversionsForUnknownUnit() {
+        // given
+        UnitConversionGraph graph = new UnitConversionGraph(Lists.newArrayList(buildConversion("m", "10", "dm")), MATH_CONTEXT);
+
+        // when
+        List<UnitConversion> conversions = graph.findConversionsFrom("kg");
+
+        // then
+        assertTrue(conversions.isEmpty());
+    }
+
+    @Test
+    public final void shouldFindTransitiveConversionsInBothDirections() {
+        // given
+        UnitConversionGraph graph = new UnitConversionGraph(Lists.newArrayList(buildConversion("km", "1000", "m"),
+                buildConversion("m", "10", "dm"), buildConversion("dm", "10", "cm"), buildConversion("mm", "0.1", "cm")),
+                MATH_CONTEXT);
+
+        // when
+        Map<String, BigDecimal> ratios = toRatios(graph.findConversionsFrom("m"));
+
+        // then
+        assertEquals(4, ratios.size());
+        assertBigDecimalEquals(new BigDecimal("0.001"), ratios.get("km"));
+        assertBigDecimalEquals(BigDecimal.valueOf(10L), ratios.get("dm"));
+        assertBigDecimalEquals(BigDecimal.valueOf(100L), ratios.get("cm"));
+        assertBigDecimalEquals(BigDecimal.valueOf(1000L), ratios.get("mm"));
+    }
+
+    @Test
+    public final void shouldReachEveryUnitOfLongChainOnce() {
+        // given
+        List<UnitConversion> conversions = Lists.newArrayList();
+        for (int i = 0; i < 500; i++) {
+            conversions.add(buildConversion("u" + i, "2", "u" + (i + 1)));
+            conversions.add(buildConversion("u" + (i + 1), "0.5", "u" + i));
+        }
+        UnitConversionGraph graph = new UnitConversionGraph(conversions, MATH_CONTEXT);
+
+        // when
+        Map<String, BigDecimal> ratios = toRatios(graph.findConversionsFrom("u0"));
+
+        // then
+        assertEquals(500, ratios.size());
+        assertBigDecimalEquals(BigDecimal.valueOf(1024L), ratios.get("u10"));
+    }
+
+    private UnitConversion buildConversion(final String unitFrom, final String ratio, final String unitTo) {
+        Entity unitConversionItem = new DefaultEntity(null);
+        unitConversionItem.setField(UnitConversionItemFields.UNIT_FROM, unitFrom);
+        unitConversionItem.setField(UnitConversionItemFields.QUANTITY_FROM, BigDecimal.ONE);
+        unitConversionItem.setField(UnitConversionItemFields.UNIT_TO, unitTo);
+        unitConversionItem.setField(UnitConversionItemFields.QUANTITY_TO, new BigDecimal(ratio));
+        return UnitConversionImpl.build(unitConversionItem, MATH_CONTEXT);
+    }
+
+    private Map<String, BigDecimal> toRatios(final List<UnitConversion> conversions) {
+        Map<String, BigDecimal> ratios = Maps.newHashMap();
+        for (UnitConversion conversion : conversions) {
+            assertEquals(null, ratios.put(conversion.getUnitTo(), conversion.getRatio()));
+        }
+        return ratios;
+    }
+
+    private void assertBigDecimalEquals(final BigDecimal expected, final BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual));
+    }
+
+}
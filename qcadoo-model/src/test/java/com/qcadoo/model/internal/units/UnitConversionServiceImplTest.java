@@ -27,6 +27,8 @@ import static junit.framework.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -50,6 +52,7 @@ import com.qcadoo.model.api.NumberService;
 import com.qcadoo.model.api.units.PossibleUnitConversions;
 import com.qcadoo.model.api.units.UnitConversionModelService;
 import com.qcadoo.model.constants.UnitConversionItemFields;
+import com.qcadoo.tenant.api.MultiTenantService;
 
 public class UnitConversionServiceImplTest {
 
@@ -66,6 +69,9 @@ public class UnitConversionServiceImplTest {
     @Mock
     private DictionaryService dictionaryService;
 
+    @Mock
+    private MultiTenantService multiTenantService;
+
     @Before
     public final void init() {
         MockitoAnnotations.initMocks(this);
@@ -77,6 +83,7 @@ public class UnitConversionServiceImplTest {
         ReflectionTestUtils.setField(unitConversionService, "numberService", numberService);
         ReflectionTestUtils.setField(unitConversionService, "unitConversionModelService", unitConversionModelService);
         ReflectionTestUtils.setField(unitConversionService, "dictionaryService", dictionaryService);
+        ReflectionTestUtils.setField(unitConversionService, "multiTenantService", multiTenantService);
     }
 
     private void stubGetAll(final List<Entity> unitConversionItems) {
@@ -113,6 +120,23 @@ public class UnitConversionServiceImplTest {
 
     }
 
+    @Test
+    public final void shouldFindConversionsOnceUntilCacheIsInvalidated() {
+        // given
+        stubGetAll(Collections.<Entity> emptyList());
+
+        // when
+        final PossibleUnitConversions first = unitConversionService.getPossibleConversions("m");
+        final PossibleUnitConversions second = unitConversionService.getPossibleConversions("m");
+        unitConversionService.invalidateCache();
+        final PossibleUnitConversions third = unitConversionService.getPossibleConversions("m");
+
+        // then
+        Assert.assertSame(first, second);
+        Assert.assertNotSame(second, third);
+        verify(unitConversionModelService, times(2)).find("m");
+    }
+
     @Test
     @Ignore
     // TODO MAKU
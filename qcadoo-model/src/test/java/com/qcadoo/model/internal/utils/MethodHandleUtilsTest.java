@@ -0,0 +1,151 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.lang.invoke.MethodHandle;
+
+import org.junit.Test;
+
+public class MethodHandleUtilsTest {
+
+    @Test
+    public void shouldBindInstanceMethodToTarget() throws Throwable {
+        // given
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("repeat", String.class, int.class),
+                new SampleTarget("-"));
+        Object[] args = new Object[] { "ab", 3 };
+
+        // when
+        Object result = (Object) invoker.invokeExact(args);
+
+        // then
+        assertEquals("ab-ab-ab", result);
+    }
+
+    @Test
+    public void shouldInvokeStaticMethodIgnoringTarget() throws Throwable {
+        // given
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("sum", int.class, long.class),
+                null);
+        Object[] args = new Object[] { 2, 40L };
+
+        // when
+        Object result = (Object) invoker.invokeExact(args);
+
+        // then
+        assertEquals(Long.valueOf(42L), result);
+    }
+
+    @Test
+    public void shouldReturnNullForVoidMethod() throws Throwable {
+        // given
+        SampleTarget target = new SampleTarget("-");
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("remember", Object.class), target);
+        Object[] args = new Object[] { "value" };
+
+        // when
+        Object result = (Object) invoker.invokeExact(args);
+
+        // then
+        assertNull(result);
+        assertEquals("value", target.remembered);
+    }
+
+    @Test
+    public void shouldPropagateExceptionThrownByMethodWithoutWrapping() throws Throwable {
+        // given
+        IllegalArgumentException exception = new IllegalArgumentException();
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("fail", Throwable.class), null);
+        Object[] args = new Object[] { exception };
+
+        // when
+        try {
+            Object result = (Object) invoker.invokeExact(args);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // then
+            assertSame(exception, e);
+        }
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void shouldFailIfArgumentHasWrongType() throws Throwable {
+        // given
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("repeat", String.class, int.class),
+                new SampleTarget("-"));
+        Object[] args = new Object[] { "ab", "3" };
+
+        // when
+        Object result = (Object) invoker.invokeExact(args);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailIfNumberOfArgumentsDoesNotMatch() throws Throwable {
+        // given
+        MethodHandle invoker = MethodHandleUtils.toSpreadInvoker(SampleTarget.class.getMethod("repeat", String.class, int.class),
+                new SampleTarget("-"));
+        Object[] args = new Object[] { "ab" };
+
+        // when
+        Object result = (Object) invoker.invokeExact(args);
+    }
+
+    public static final class SampleTarget {
+
+        private final String separator;
+
+        private Object remembered;
+
+        public SampleTarget(final String separator) {
+            this.separator = separator;
+        }
+
+        public String repeat(final String value, final int times) {
+            StringBuilder builder = new StringBuilder(value);
+            for (int i = 1; i < times; i++) {
+                builder.append(separator).append(value);
+            }
+            return builder.toString();
+        }
+
+        public void remember(final Object value) {
+            remembered = value;
+        }
+
+        public static long sum(final int first, final long second) {
+            return first + second;
+        }
+
+        public static void fail(final Throwable throwable) throws Throwable {
+            throw throwable;
+        }
+
+    }
+
+}
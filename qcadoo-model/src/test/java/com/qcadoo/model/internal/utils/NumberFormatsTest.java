@@ -0,0 +1,63 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.model.internal.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.math.BigDecimal;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import org.junit.Test;
+
+public class NumberFormatsTest {
+
+    @Test
+    public final void shouldReturnFormatsEqualToJdkOnes() {
+        // when
+        NumberFormat numberFormat = NumberFormats.getNumberFormat(Locale.GERMANY);
+        NumberFormat integerFormat = NumberFormats.getIntegerFormat(Locale.GERMANY);
+
+        // then
+        assertEquals(NumberFormat.getNumberInstance(Locale.GERMANY), numberFormat);
+        assertEquals(NumberFormat.getIntegerInstance(Locale.GERMANY), integerFormat);
+        assertEquals("1.234,5", numberFormat.format(new BigDecimal("1234.5")));
+    }
+
+    @Test
+    public final void shouldReturnIndependentCopies() {
+        // given
+        NumberFormat first = NumberFormats.getNumberFormat(Locale.ENGLISH);
+
+        // when
+        first.setMaximumFractionDigits(0);
+        NumberFormat second = NumberFormats.getNumberFormat(Locale.ENGLISH);
+
+        // then
+        assertNotSame(first, second);
+        assertEquals("1.25", second.format(new BigDecimal("1.25")));
+    }
+
+}
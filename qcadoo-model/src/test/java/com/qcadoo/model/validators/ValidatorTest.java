@@ -33,9 +33,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.math.BigDecimal;
-import java.util.Collections;
 import java.util.Date;
-import java.util.List;
 
 import org.hibernate.Criteria;
 import org.junit.Before;
@@ -720,14 +718,12 @@ public class ValidatorTest extends DataAccessTest {
     }
 
     @Test
-    @SuppressWarnings({ "rawtypes", "unchecked" })
     public void shouldHasErrorsIfFieldIsDuplicated() throws Exception {
         // given
         Entity entity = new DefaultEntity(dataDefinition);
         entity.setField("name", "existed");
 
-        given(hibernateService.getTotalNumberOfEntities(any(Criteria.class))).willReturn(1);
-        given(hibernateService.list(any(Criteria.class))).willReturn((List) Collections.singletonList(entity));
+        given(hibernateService.exists(any(Criteria.class))).willReturn(true);
 
         fieldDefinitionName.withValidator(new UniqueValidator());
 
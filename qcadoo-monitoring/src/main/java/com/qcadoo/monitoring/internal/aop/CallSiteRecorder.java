@@ -0,0 +1,155 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.aop;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free recorder of durations of calls made from one call site. Durations (in microseconds) are counted in log-linear
+ * buckets, the same way HdrHistogram does it: values are grouped by their highest bit and each such group is split into
+ * {@value #SUB_BUCKET_COUNT} equal sub-buckets, so any percentile is reported with a relative error of a few percent.
+ */
+final class CallSiteRecorder {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int MAX_EXPONENT = 40;
+
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final String name;
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong slowCalls = new AtomicLong();
+
+    CallSiteRecorder(final String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    void record(final long value) {
+        bucketCounts.incrementAndGet(getBucketIndex(value));
+        max.accumulate(value);
+        sum.add(value);
+    }
+
+    long incrementSlowCalls() {
+        return slowCalls.incrementAndGet();
+    }
+
+    long getSlowCalls() {
+        return slowCalls.get();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    long getSum() {
+        return sum.sum();
+    }
+
+    long getCount() {
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += bucketCounts.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns value below or equal to which the given fraction of recorded values lies, or 0 if nothing was recorded yet.
+     * 
+     * @param quantile
+     *            quantile from range (0, 1]
+     * @return upper bound of the bucket containing requested quantile, never greater than the biggest recorded value
+     */
+    long getValueAtQuantile(final double quantile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = bucketCounts.get(i);
+            count += counts[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long cumulativeCount = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulativeCount += counts[i];
+
+            if (cumulativeCount >= rank) {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    static int getBucketIndex(final long value) {
+        long cappedValue = Math.min(Math.max(value, 0), MAX_VALUE);
+
+        if (cappedValue < SUB_BUCKET_COUNT) {
+            return (int) cappedValue;
+        }
+
+        int shift = (63 - Long.numberOfLeadingZeros(cappedValue)) - SUB_BUCKET_BITS;
+
+        return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + (int) ((cappedValue >> shift) - SUB_BUCKET_COUNT);
+    }
+
+    static long getBucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+        int subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT;
+
+        return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+
+}
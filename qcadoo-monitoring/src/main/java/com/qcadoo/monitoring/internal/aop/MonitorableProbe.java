@@ -0,0 +1,160 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.aop;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.aspectj.lang.JoinPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.qcadoo.model.api.aop.Monitorable;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricSample.Type;
+import com.qcadoo.model.api.metrics.MetricsSource;
+
+/**
+ * Collects durations of calls of methods annotated with {@link Monitorable}. Probe is disabled by default and can be toggled at
+ * runtime, calls made while it is disabled are not measured at all.
+ */
+@Service
+public class MonitorableProbe implements MetricsSource {
+
+    private static final Logger PERFORMANCE_LOG = LoggerFactory.getLogger("PERFORMANCE");
+
+    private static final String METRIC_NAME = "qcadoo_monitorable_duration_seconds";
+
+    private static final double MICROS_IN_SECOND = TimeUnit.SECONDS.toMicros(1);
+
+    private static final double[] QUANTILES = { 0.5, 0.99 };
+
+    private static final int MAX_ARGUMENTS_LENGTH = 500;
+
+    @Value("${monitorableProbeEnabled:false}")
+    private volatile boolean enabled;
+
+    @Value("${monitorableProbeArgumentsSampling:100}")
+    private int argumentsSampling;
+
+    private final ConcurrentMap<JoinPoint.StaticPart, CallSiteRecorder> recorders = Maps.newConcurrentMap();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void setArgumentsSampling(final int argumentsSampling) {
+        this.argumentsSampling = argumentsSampling;
+    }
+
+    void record(final JoinPoint joinPoint, final Monitorable monitorable, final long durationInNanos) {
+        CallSiteRecorder recorder = getRecorder(joinPoint.getStaticPart());
+
+        recorder.record(TimeUnit.NANOSECONDS.toMicros(durationInNanos));
+
+        long durationInMillis = TimeUnit.NANOSECONDS.toMillis(durationInNanos);
+
+        if (durationInMillis > monitorable.threshold()) {
+            long slowCalls = recorder.incrementSlowCalls();
+
+            if (!PERFORMANCE_LOG.isWarnEnabled()) {
+                return;
+            }
+
+            if (shouldLogArgumentTypes(slowCalls)) {
+                PERFORMANCE_LOG.warn("Call {} took {} ms, argument types: {}", recorder.getName(), durationInMillis,
+                        StringUtils.abbreviate(getArgumentTypes(joinPoint.getArgs()), MAX_ARGUMENTS_LENGTH));
+            } else {
+                PERFORMANCE_LOG.warn("Call {} took {} ms", recorder.getName(), durationInMillis);
+            }
+        } else if (PERFORMANCE_LOG.isDebugEnabled()) {
+            PERFORMANCE_LOG.debug("Call {} took {} ms", recorder.getName(), durationInMillis);
+        }
+    }
+
+    boolean shouldLogArgumentTypes(final long slowCalls) {
+        // first slow call of every call site and then every n-th one
+        return argumentsSampling > 0 && (slowCalls - 1) % argumentsSampling == 0;
+    }
+
+    // values may contain passwords or personal data, only their types are safe to put in the log
+    static String getArgumentTypes(final Object[] args) {
+        List<String> types = Lists.newArrayListWithCapacity(args.length);
+
+        for (Object arg : args) {
+            types.add(arg == null ? "null" : arg.getClass().getSimpleName());
+        }
+
+        return types.toString();
+    }
+
+    private CallSiteRecorder getRecorder(final JoinPoint.StaticPart staticPart) {
+        CallSiteRecorder recorder = recorders.get(staticPart);
+
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(staticPart,
+                    key -> new CallSiteRecorder(key.getSignature().toShortString()));
+        }
+
+        return recorder;
+    }
+
+    @Override
+    public List<MetricSample> getSamples() {
+        List<MetricSample> samples = Lists.newArrayList();
+
+        for (CallSiteRecorder recorder : recorders.values()) {
+            for (double quantile : QUANTILES) {
+                Map<String, String> labels = ImmutableMap.of("method", recorder.getName(), "quantile",
+                        Double.toString(quantile));
+
+                samples.add(new MetricSample(METRIC_NAME, Type.SUMMARY, METRIC_NAME, labels, recorder
+                        .getValueAtQuantile(quantile) / MICROS_IN_SECOND));
+            }
+
+            Map<String, String> labels = ImmutableMap.of("method", recorder.getName());
+
+            samples.add(new MetricSample(METRIC_NAME, Type.SUMMARY, METRIC_NAME + "_count", labels, recorder.getCount()));
+            samples.add(new MetricSample(METRIC_NAME, Type.SUMMARY, METRIC_NAME + "_sum", labels, recorder.getSum()
+                    / MICROS_IN_SECOND));
+            samples.add(new MetricSample(Type.COUNTER, "qcadoo_monitorable_slow_calls_total", "method", recorder.getName(),
+                    recorder.getSlowCalls()));
+        }
+
+        return samples;
+    }
+
+}
@@ -0,0 +1,56 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.aop;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Configurable;
+
+import com.qcadoo.model.api.aop.Monitorable;
+
+@Aspect
+@Configurable
+public class MonitorableProbeAspect {
+
+    @Autowired
+    private MonitorableProbe monitorableProbe;
+
+    @Around("execution(* *(..)) && @annotation(monitorable)")
+    public Object aroundMonitorableExecution(final ProceedingJoinPoint pjp, final Monitorable monitorable) throws Throwable {
+        if (monitorableProbe == null || !monitorableProbe.isEnabled()) {
+            return pjp.proceed();
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return pjp.proceed();
+        } finally {
+            monitorableProbe.record(pjp, monitorable, System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.qcadoo.monitoring.internal.aop.MonitorableProbe;
+
+/**
+ * Toggles {@link MonitorableProbe} at runtime. Available only to superadmin (see qcadoo-security-context.xml); switching has to
+ * be done with POST sent by script, custom header can't be set by cross-site form, so such forged request won't be mapped.
+ */
+@Controller
+@RequestMapping("/monitorable")
+public class MonitorableProbeController {
+
+    @Autowired
+    private MonitorableProbe monitorableProbe;
+
+    @ResponseBody
+    @RequestMapping(value = "/enabled", method = RequestMethod.GET)
+    public String isEnabled() {
+        return Boolean.toString(monitorableProbe.isEnabled());
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "/enabled", method = RequestMethod.POST, headers = "X-Requested-With=XMLHttpRequest")
+    public String setEnabled(@RequestParam("enabled") final boolean enabled) {
+        monitorableProbe.setEnabled(enabled);
+
+        return Boolean.toString(monitorableProbe.isEnabled());
+    }
+
+}
@@ -0,0 +1,101 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.aop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CallSiteRecorderTest {
+
+    @Test
+    public final void shouldPutEveryValueIntoBucketContainingIt() {
+        for (long value = 0; value < 100000; value++) {
+            // when
+            int index = CallSiteRecorder.getBucketIndex(value);
+
+            // then
+            assertTrue(value <= CallSiteRecorder.getBucketUpperBound(index));
+            assertTrue(index == 0 || value > CallSiteRecorder.getBucketUpperBound(index - 1));
+        }
+    }
+
+    @Test
+    public final void shouldPutHugeValuesIntoLastBucket() {
+        // when
+        int index = CallSiteRecorder.getBucketIndex(Long.MAX_VALUE);
+
+        // then
+        assertEquals(CallSiteRecorder.BUCKET_COUNT - 1, index);
+    }
+
+    @Test
+    public final void shouldReturnQuantilesWithSmallRelativeError() {
+        // given
+        CallSiteRecorder recorder = new CallSiteRecorder("SampleService.call(..)");
+
+        for (long value = 1; value <= 1000; value++) {
+            recorder.record(value * 100);
+        }
+
+        // when
+        long median = recorder.getValueAtQuantile(0.5);
+        long p99 = recorder.getValueAtQuantile(0.99);
+
+        // then
+        assertEquals(1000, recorder.getCount());
+        assertEquals(100000, recorder.getMax());
+        assertEquals(50000, median, 50000 / 16);
+        assertEquals(99000, p99, 99000 / 16);
+        assertTrue(median >= 50000);
+    }
+
+    @Test
+    public final void shouldNotReturnQuantileGreaterThanMax() {
+        // given
+        CallSiteRecorder recorder = new CallSiteRecorder("SampleService.call(..)");
+        recorder.record(1000);
+
+        // when
+        long p99 = recorder.getValueAtQuantile(0.99);
+
+        // then
+        assertEquals(1000, p99);
+    }
+
+    @Test
+    public final void shouldReturnZeroQuantileWhenNothingWasRecorded() {
+        // given
+        CallSiteRecorder recorder = new CallSiteRecorder("SampleService.call(..)");
+
+        // when
+        long median = recorder.getValueAtQuantile(0.5);
+
+        // then
+        assertEquals(0, median);
+        assertEquals(0, recorder.getCount());
+    }
+
+}
@@ -0,0 +1,150 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.monitoring.internal.aop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.qcadoo.model.api.aop.Monitorable;
+import com.qcadoo.model.api.metrics.MetricSample;
+
+public class MonitorableProbeAspectTest {
+
+    private MonitorableProbeAspect monitorableProbeAspect;
+
+    private MonitorableProbe monitorableProbe;
+
+    @Mock
+    private ProceedingJoinPoint pjp;
+
+    @Mock
+    private JoinPoint.StaticPart staticPart;
+
+    @Mock
+    private Signature signature;
+
+    @Mock
+    private Monitorable monitorable;
+
+    @Before
+    public final void init() throws Throwable {
+        MockitoAnnotations.initMocks(this);
+
+        monitorableProbe = new MonitorableProbe();
+        monitorableProbeAspect = new MonitorableProbeAspect();
+        ReflectionTestUtils.setField(monitorableProbeAspect, "monitorableProbe", monitorableProbe);
+
+        given(pjp.proceed()).willReturn("result");
+        given(pjp.getStaticPart()).willReturn(staticPart);
+        given(staticPart.getSignature()).willReturn(signature);
+        given(signature.toShortString()).willReturn("SampleService.call(..)");
+        given(monitorable.threshold()).willReturn(100L);
+    }
+
+    @Test
+    public final void shouldOnlyProceedWhenProbeIsDisabled() throws Throwable {
+        // given
+        monitorableProbe.setEnabled(false);
+
+        // when
+        Object result = monitorableProbeAspect.aroundMonitorableExecution(pjp, monitorable);
+
+        // then
+        assertEquals("result", result);
+        verify(pjp, never()).getStaticPart();
+        assertTrue(monitorableProbe.getSamples().isEmpty());
+    }
+
+    @Test
+    public final void shouldRecordCallWhenProbeIsEnabled() throws Throwable {
+        // given
+        monitorableProbe.setEnabled(true);
+
+        // when
+        Object result = monitorableProbeAspect.aroundMonitorableExecution(pjp, monitorable);
+        monitorableProbeAspect.aroundMonitorableExecution(pjp, monitorable);
+
+        // then
+        assertEquals("result", result);
+        assertEquals(2, getValue(monitorableProbe.getSamples(), "qcadoo_monitorable_duration_seconds_count"), 0);
+    }
+
+    @Test
+    public final void shouldCountSlowCalls() {
+        // when
+        monitorableProbe.record(pjp, monitorable, 200000000L);
+        monitorableProbe.record(pjp, monitorable, 50000000L);
+
+        // then
+        assertEquals(1, getValue(monitorableProbe.getSamples(), "qcadoo_monitorable_slow_calls_total"), 0);
+        assertEquals(0.25, getValue(monitorableProbe.getSamples(), "qcadoo_monitorable_duration_seconds_sum"), 0.000001);
+    }
+
+    @Test
+    public final void shouldLogArgumentTypesOfEveryNthSlowCall() {
+        // given
+        monitorableProbe.setArgumentsSampling(3);
+
+        // when & then
+        assertTrue(monitorableProbe.shouldLogArgumentTypes(1));
+        assertFalse(monitorableProbe.shouldLogArgumentTypes(2));
+        assertFalse(monitorableProbe.shouldLogArgumentTypes(3));
+        assertTrue(monitorableProbe.shouldLogArgumentTypes(4));
+    }
+
+    @Test
+    public final void shouldDescribeArgumentsByTypesOnly() {
+        // when
+        String argumentTypes = MonitorableProbe.getArgumentTypes(new Object[] { "secret password", 7L, null });
+
+        // then
+        assertEquals("[String, Long, null]", argumentTypes);
+    }
+
+    private double getValue(final List<MetricSample> samples, final String name) {
+        for (MetricSample sample : samples) {
+            if (name.equals(sample.getName())) {
+                return sample.getValue();
+            }
+        }
+
+        throw new AssertionError("no sample " + name);
+    }
+
+}
@@ -43,6 +43,7 @@ import com.qcadoo.plugin.api.PluginDependencyResult;
 import com.qcadoo.plugin.api.PluginManager;
 import com.qcadoo.plugin.api.PluginOperationResult;
 import com.qcadoo.plugin.api.PluginState;
+import com.qcadoo.plugin.api.PluginStateChangeListener;
 import com.qcadoo.plugin.api.artifact.PluginArtifact;
 import com.qcadoo.plugin.internal.PluginException;
 import com.qcadoo.plugin.internal.api.InternalPlugin;
@@ -75,6 +76,9 @@ public class DefaultPluginManager implements PluginManager {
     @Autowired
     private PluginDescriptorParser pluginDescriptorParser;
 
+    @Autowired(required = false)
+    private List<PluginStateChangeListener> pluginStateChangeListeners = newArrayList();
+
     private final PluginStatusResolver pluginStatusResolver = new SimplePluginStatusResolver();
 
     @Override
@@ -145,6 +149,8 @@ public class DefaultPluginManager implements PluginManager {
 
             pluginDao.save(plugin);
             pluginAccessor.savePlugin(plugin);
+
+            notifyPluginStateChanged(plugin);
         }
 
         if (shouldRestart) {
@@ -191,6 +197,8 @@ public class DefaultPluginManager implements PluginManager {
 
             pluginDao.save(plugin);
             pluginAccessor.savePlugin(plugin);
+
+            notifyPluginStateChanged(plugin);
         }
 
         return PluginOperationResultImpl.success();
@@ -237,6 +245,8 @@ public class DefaultPluginManager implements PluginManager {
             }
             pluginDao.delete(plugin);
             pluginAccessor.removePlugin(plugin);
+
+            notifyPluginStateChanged(plugin);
         }
 
         if (shouldRestart) {
@@ -373,6 +383,12 @@ public class DefaultPluginManager implements PluginManager {
         }
     }
 
+    private void notifyPluginStateChanged(final Plugin plugin) {
+        for (PluginStateChangeListener pluginStateChangeListener : pluginStateChangeListeners) {
+            pluginStateChangeListener.onPluginStateChange(plugin);
+        }
+    }
+
     void setPluginAccessor(final InternalPluginAccessor pluginAccessor) {
         this.pluginAccessor = pluginAccessor;
 
@@ -0,0 +1,108 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.api;
+
+import java.util.Date;
+
+import com.qcadoo.report.api.ReportService.ReportType;
+
+/**
+ * Report generated asynchronously by {@link ReportJobService}.
+ * 
+ * @since 1.5
+ */
+public interface ReportJob {
+
+    enum Status {
+        QUEUED, RUNNING, FINISHED, FAILED;
+
+        public boolean isDone() {
+            return this == FINISHED || this == FAILED;
+        }
+    }
+
+    /**
+     * Returns job's identifier, used to poll for its status and result.
+     * 
+     * @return identifier
+     */
+    String getId();
+
+    /**
+     * Returns job's current status.
+     * 
+     * @return status
+     */
+    Status getStatus();
+
+    /**
+     * Returns type of generated report.
+     * 
+     * @return report type
+     */
+    ReportType getType();
+
+    /**
+     * Returns path of generated report file, available when job is {@link Status#FINISHED}.
+     * 
+     * @return report file path or null
+     */
+    String getResultPath();
+
+    /**
+     * Returns code of {@link ReportException} which caused the failure, available when job is {@link Status#FAILED}.
+     * 
+     * @return error code or null
+     */
+    String getErrorCode();
+
+    /**
+     * Returns number of pages of filled report, known once report is filled and its export has started.
+     * 
+     * @return number of pages or 0 when report isn't filled yet
+     */
+    int getTotalPages();
+
+    /**
+     * Returns number of already exported pages.
+     * 
+     * @return number of exported pages
+     */
+    int getExportedPages();
+
+    /**
+     * Returns date when job was submitted.
+     * 
+     * @return submission date
+     */
+    Date getSubmitDate();
+
+    /**
+     * Returns date when job was finished or failed.
+     * 
+     * @return finish date or null
+     */
+    Date getFinishDate();
+
+}
@@ -0,0 +1,66 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.api;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.qcadoo.report.api.ReportService.ReportType;
+
+/**
+ * Service for generating reports in background, on bounded pool of workers.
+ * 
+ * @since 1.5
+ */
+public interface ReportJobService {
+
+    /**
+     * Submits generation of report for entity. If the same report is already queued or being generated for the current user,
+     * its job is returned instead of submitting a new one.
+     * 
+     * @param templatePlugin
+     * @param templateName
+     * @param type
+     * @param entityIds
+     *            list of entity ids
+     * @param userArgs
+     *            additional user args
+     * @param locale
+     * @return submitted job
+     * @throws ReportException
+     *             when the queue of jobs is full
+     */
+    ReportJob submitReportForEntity(String templatePlugin, String templateName, ReportType type, List<Long> entityIds,
+            Map<String, String> userArgs, Locale locale) throws ReportException;
+
+    /**
+     * Returns job with given identifier, submitted by the current user.
+     * 
+     * @param jobId
+     * @return job or null if job doesn't exist, has expired or belongs to other user
+     */
+    ReportJob getJob(String jobId);
+
+}
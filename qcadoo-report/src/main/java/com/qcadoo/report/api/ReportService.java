@@ -26,6 +26,7 @@ package com.qcadoo.report.api;
 import com.qcadoo.view.api.ComponentState;
 import com.qcadoo.view.api.ViewDefinitionState;
 
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -74,6 +75,47 @@ public interface ReportService {
     byte[] generateReportForEntity(String templatePlugin, String templateName, ReportType type, List<Long> entityIds,
             Map<String, String> userArgs, Locale locale) throws ReportException;
 
+    /**
+     * Generate report for entity and export it directly to given output stream, without buffering the whole document.
+     * 
+     * @param templatePlugin
+     * @param templateName
+     * @param type
+     * @param entityIds
+     *            list of entity ids
+     * @param userArgs
+     *            additional user args
+     * @param locale
+     * @param outputStream
+     *            stream for exported report, it is not closed
+     * @throws ReportException
+     * @since 1.5
+     */
+    void generateReportForEntity(String templatePlugin, String templateName, ReportType type, List<Long> entityIds,
+            Map<String, String> userArgs, Locale locale, OutputStream outputStream) throws ReportException;
+
+    /**
+     * Generate report for entity and export it directly to given output stream, notifying given listener about progress.
+     * 
+     * @param templatePlugin
+     * @param templateName
+     * @param type
+     * @param entityIds
+     *            list of entity ids
+     * @param userArgs
+     *            additional user args
+     * @param locale
+     * @param outputStream
+     *            stream for exported report, it is not closed
+     * @param progressListener
+     *            listener notified about filled and exported pages, may be null
+     * @throws ReportException
+     * @since 1.5
+     */
+    void generateReportForEntity(String templatePlugin, String templateName, ReportType type, List<Long> entityIds,
+            Map<String, String> userArgs, Locale locale, OutputStream outputStream, ReportProgressListener progressListener)
+            throws ReportException;
+
     /**
      * Generate report for given parameters.
      * 
@@ -88,6 +130,41 @@ public interface ReportService {
     byte[] generateReport(String templatePlugin, String templateName, ReportType type, Map<String, Object> parameters,
             Locale locale) throws ReportException;
 
+    /**
+     * Generate report for given parameters and export it directly to given output stream, without buffering the whole document.
+     * 
+     * @param templatePlugin
+     * @param templateName
+     * @param type
+     * @param parameters
+     * @param locale
+     * @param outputStream
+     *            stream for exported report, it is not closed
+     * @throws ReportException
+     * @since 1.5
+     */
+    void generateReport(String templatePlugin, String templateName, ReportType type, Map<String, Object> parameters,
+            Locale locale, OutputStream outputStream) throws ReportException;
+
+    /**
+     * Generate report for given parameters and export it directly to given output stream, notifying given listener about
+     * progress.
+     * 
+     * @param templatePlugin
+     * @param templateName
+     * @param type
+     * @param parameters
+     * @param locale
+     * @param outputStream
+     *            stream for exported report, it is not closed
+     * @param progressListener
+     *            listener notified about filled and exported pages, may be null
+     * @throws ReportException
+     * @since 1.5
+     */
+    void generateReport(String templatePlugin, String templateName, ReportType type, Map<String, Object> parameters,
+            Locale locale, OutputStream outputStream, ReportProgressListener progressListener) throws ReportException;
+
     /**
      * Generate report with given content for given parameters.
      * 
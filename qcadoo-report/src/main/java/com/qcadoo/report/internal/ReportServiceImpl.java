@@ -23,8 +23,7 @@
  */
 package com.qcadoo.report.internal;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.HashMap;
 import java.util.List;
@@ -36,22 +35,25 @@ import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JRExporter;
 import net.sf.jasperreports.engine.JRExporterParameter;
 import net.sf.jasperreports.engine.JRParameter;
-import net.sf.jasperreports.engine.JasperCompileManager;
 import net.sf.jasperreports.engine.JasperFillManager;
 import net.sf.jasperreports.engine.JasperPrint;
 import net.sf.jasperreports.engine.JasperReport;
 import net.sf.jasperreports.engine.export.JRCsvExporter;
+import net.sf.jasperreports.engine.export.JRExportProgressMonitor;
 import net.sf.jasperreports.engine.export.JRPdfExporter;
 import net.sf.jasperreports.engine.export.JRXlsExporter;
+import net.sf.jasperreports.engine.fill.JRAbstractLRUVirtualizer;
+import net.sf.jasperreports.engine.fill.JRSwapFileVirtualizer;
 import net.sf.jasperreports.engine.query.JRHibernateQueryExecuterFactory;
+import net.sf.jasperreports.engine.util.JRSwapFile;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.MessageSourceResourceBundle;
 import org.springframework.stereotype.Service;
@@ -61,6 +63,7 @@ import org.springframework.util.StringUtils;
 import com.qcadoo.model.api.DataDefinitionService;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.report.api.ReportException;
+import com.qcadoo.report.api.ReportProgressListener;
 import com.qcadoo.report.api.ReportService;
 import com.qcadoo.report.api.pdf.PdfHelper;
 import com.qcadoo.report.internal.templates.ReportTemplateService;
@@ -75,6 +78,16 @@ public class ReportServiceImpl implements ReportService {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReportServiceImpl.class);
 
+    private static final int SWAP_BLOCK_SIZE = 4096;
+
+    private static final int SWAP_MIN_GROW_COUNT = 100;
+
+    @Value("${reportVirtualizer.maxPages:0}")
+    private int virtualizerMaxPages;
+
+    @Value("${reportVirtualizer.directory:}")
+    private String virtualizerDirectory;
+
     @Autowired
     private ReportTemplateService reportTemplateService;
 
@@ -93,17 +106,54 @@ public class ReportServiceImpl implements ReportService {
     @Override
     public byte[] generateReportForEntity(final String templatePlugin, final String templateName, final ReportType type,
             final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale) throws ReportException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        generateReportForEntity(templatePlugin, templateName, type, entityIds, userArgs, locale, stream);
+
+        return stream.toByteArray();
+    }
+
+    @Override
+    public void generateReportForEntity(final String templatePlugin, final String templateName, final ReportType type,
+            final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale, final OutputStream outputStream)
+            throws ReportException {
+        generateReportForEntity(templatePlugin, templateName, type, entityIds, userArgs, locale, outputStream, null);
+    }
+
+    @Override
+    public void generateReportForEntity(final String templatePlugin, final String templateName, final ReportType type,
+            final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale, final OutputStream outputStream,
+            final ReportProgressListener progressListener) throws ReportException {
 
         Map<String, Object> parameters = new HashMap<String, Object>(userArgs);
         parameters.put("EntityIds", entityIds);
 
-        return generateReport(templatePlugin, templateName, type, parameters, locale);
+        generateReport(templatePlugin, templateName, type, parameters, locale, outputStream, progressListener);
     }
 
     @Transactional(readOnly = true)
     @Override
     public byte[] generateReport(final String templatePlugin, final String templateName, final ReportType type,
             final Map<String, Object> parameters, final Locale locale) throws ReportException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        generateReport(templatePlugin, templateName, type, parameters, locale, stream);
+
+        return stream.toByteArray();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void generateReport(final String templatePlugin, final String templateName, final ReportType type,
+            final Map<String, Object> parameters, final Locale locale, final OutputStream outputStream) throws ReportException {
+        generateReport(templatePlugin, templateName, type, parameters, locale, outputStream, null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void generateReport(final String templatePlugin, final String templateName, final ReportType type,
+            final Map<String, Object> parameters, final Locale locale, final OutputStream outputStream,
+            final ReportProgressListener progressListener) throws ReportException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Try to generate report [" + type + ", " + templatePlugin + "." + templateName + ", " + parameters + "]");
         }
@@ -114,33 +164,33 @@ public class ReportServiceImpl implements ReportService {
             throw new ReportException(ReportException.Type.NO_TEMPLATE_FOUND, templatePlugin + "." + templateName);
         }
 
-        return generateReport(template, type, parameters, locale);
+        generateReport(template, type, parameters, locale, outputStream, progressListener);
     }
 
     @Transactional(readOnly = true)
     @Override
     public byte[] generateReport(final String templateContent, final ReportType type, final Map<String, Object> parameters,
             final Locale locale) throws ReportException {
-        InputStream in = null;
-
         try {
-            in = new ByteArrayInputStream(templateContent.getBytes("UTF-8"));
+            JasperReport template = reportTemplateService.compileTemplate(templateContent.getBytes("UTF-8"));
 
-            JasperReport template = JasperCompileManager.compileReport(in);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
-            return generateReport(template, type, parameters, locale);
+            generateReport(template, type, parameters, locale, stream, null);
+
+            return stream.toByteArray();
         } catch (JRException e) {
             throw new ReportException(ReportException.Type.NO_TEMPLATE_FOUND, e);
         } catch (UnsupportedEncodingException e) {
             throw new ReportException(ReportException.Type.NO_TEMPLATE_FOUND, e);
-        } finally {
-            IOUtils.closeQuietly(in);
         }
     }
 
-    private byte[] generateReport(final JasperReport template, final ReportType type, final Map<String, Object> parameters,
-            final Locale locale) throws ReportException {
+    private void generateReport(final JasperReport template, final ReportType type, final Map<String, Object> parameters,
+            final Locale locale, final OutputStream outputStream, final ReportProgressListener progressListener)
+            throws ReportException {
         Session session = null;
+        JRAbstractLRUVirtualizer virtualizer = createVirtualizer();
         try {
             session = sessionFactory.openSession();
             parameters.put(JRParameter.REPORT_LOCALE, locale);
@@ -152,27 +202,62 @@ public class ReportServiceImpl implements ReportService {
 
             parameters.put(JRParameter.REPORT_FORMAT_FACTORY, new ReportFormatFactory());
 
+            if (virtualizer != null) {
+                parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
+            }
+
             JasperPrint jasperPrint = JasperFillManager.fillReport(template, parameters);
 
+            if (virtualizer != null) {
+                virtualizer.setReadOnly(true);
+            }
+
             JRExporter exporter = getExporter(type);
 
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
             exporter.setParameter(JRExporterParameter.JASPER_PRINT, jasperPrint);
-            exporter.setParameter(JRExporterParameter.OUTPUT_STREAM, stream);
+            exporter.setParameter(JRExporterParameter.OUTPUT_STREAM, outputStream);
 
-            exporter.exportReport();
+            if (progressListener != null) {
+                progressListener.onReportFilled(jasperPrint.getPages().size());
 
-            return stream.toByteArray();
+                exporter.setParameter(JRExporterParameter.PROGRESS_MONITOR, new JRExportProgressMonitor() {
+
+                    @Override
+                    public void afterPageExport() {
+                        progressListener.onPageExported();
+                    }
 
+                });
+            }
+
+            exporter.exportReport();
         } catch (JRException e) {
             throw new ReportException(ReportException.Type.GENERATE_REPORT_EXCEPTION, e);
         } finally {
             if (session != null) {
                 session.close();
             }
+            if (virtualizer != null) {
+                virtualizer.cleanup();
+            }
         }
     }
 
+    private JRAbstractLRUVirtualizer createVirtualizer() {
+        if (virtualizerMaxPages <= 0) {
+            return null;
+        }
+
+        String directory = virtualizerDirectory;
+
+        if (!StringUtils.hasText(directory)) {
+            directory = System.getProperty("java.io.tmpdir");
+        }
+
+        return new JRSwapFileVirtualizer(virtualizerMaxPages, new JRSwapFile(directory, SWAP_BLOCK_SIZE, SWAP_MIN_GROW_COUNT),
+                true);
+    }
+
     private JRExporter getExporter(final ReportType type) throws ReportException {
         JRExporter exporter = null;
         switch (type) {
@@ -23,12 +23,13 @@
  */
 package com.qcadoo.report.internal.controller;
 
+import static org.apache.commons.io.IOUtils.closeQuietly;
 import static org.apache.commons.io.IOUtils.copy;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -48,10 +49,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.qcadoo.model.api.DataDefinitionService;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.report.api.ReportException;
+import com.qcadoo.report.api.ReportJob;
+import com.qcadoo.report.api.ReportJobService;
 import com.qcadoo.report.api.ReportService;
 import com.qcadoo.view.api.exception.ClassDrivenExceptionResolver;
 
@@ -61,6 +65,9 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private ReportJobService reportJobService;
+
     @Autowired
     private DataDefinitionService dataDefinitionService;
 
@@ -83,18 +90,98 @@ public class ReportController {
         Map<String, String> additionalArgs = convertJsonStringToMap(requestAdditionalArgs);
 
         response.setContentType(reportType.getMimeType());
+        disableCache(response);
 
         try {
-            int bytes = copy(
-                    new ByteArrayInputStream(reportService.generateReportForEntity(templatePlugin, templateName, reportType,
-                            entityIds, additionalArgs, locale)), response.getOutputStream());
+            reportService.generateReportForEntity(templatePlugin, templateName, reportType, entityIds, additionalArgs, locale,
+                    response.getOutputStream());
 
-            response.setContentLength(bytes);
+            response.flushBuffer();
         } catch (IOException e) {
             throw new ReportException(ReportException.Type.ERROR_WHILE_COPYING_REPORT_TO_RESPONSE, e);
         }
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "submitReportForEntity/{templatePlugin}/{templateName}", method = RequestMethod.GET)
+    public Object submitReportForEntity(@PathVariable("templatePlugin") final String templatePlugin,
+            @PathVariable("templateName") final String templateName, @RequestParam("id") final List<Long> entityIds,
+            @RequestParam("additionalArgs") final String requestAdditionalArgs, final HttpServletRequest request,
+            final Locale locale) throws ReportException {
+
+        ReportService.ReportType reportType = getReportType(request);
+        Map<String, String> additionalArgs = convertJsonStringToMap(requestAdditionalArgs);
+
+        ReportJob job = reportJobService.submitReportForEntity(templatePlugin, templateName, reportType, entityIds,
+                additionalArgs, locale);
+
+        return convertReportJobToJson(job);
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "reportJob/{jobId}", method = RequestMethod.GET)
+    public Object getReportJob(@PathVariable("jobId") final String jobId, final HttpServletResponse response)
+            throws ReportException {
+        disableCache(response);
+
+        return convertReportJobToJson(getReportJob(jobId));
+    }
+
+    @RequestMapping(value = "reportJob/{jobId}/result", method = RequestMethod.GET)
+    public void getReportJobResult(@PathVariable("jobId") final String jobId, final HttpServletResponse response)
+            throws ReportException {
+        ReportJob job = getReportJob(jobId);
+
+        if (job.getStatus() != ReportJob.Status.FINISHED) {
+            throw new ReportException(ReportException.Type.NO_REPORT_JOB_FOUND, jobId);
+        }
 
+        // headers are dropped once the response is committed, so they have to be set before anything is copied
+        response.setContentType(job.getType().getMimeType());
         disableCache(response);
+
+        InputStream input = null;
+
+        try {
+            input = new FileInputStream(job.getResultPath());
+
+            copy(input, response.getOutputStream());
+        } catch (IOException e) {
+            throw new ReportException(ReportException.Type.ERROR_WHILE_COPYING_REPORT_TO_RESPONSE, e);
+        } finally {
+            closeQuietly(input);
+        }
+    }
+
+    private ReportJob getReportJob(final String jobId) throws ReportException {
+        ReportJob job = reportJobService.getJob(jobId);
+
+        if (job == null) {
+            throw new ReportException(ReportException.Type.NO_REPORT_JOB_FOUND, jobId);
+        }
+
+        return job;
+    }
+
+    private JSONObject convertReportJobToJson(final ReportJob job) throws ReportException {
+        try {
+            JSONObject json = new JSONObject();
+
+            json.put("id", job.getId());
+            json.put("status", job.getStatus().toString());
+            json.put("totalPages", job.getTotalPages());
+            json.put("exportedPages", job.getExportedPages());
+
+            if (job.getStatus() == ReportJob.Status.FINISHED) {
+                json.put("resultUrl", "/reportJob/" + job.getId() + "/result." + job.getType().getExtension());
+            } else if (job.getStatus() == ReportJob.Status.FAILED) {
+                json.put("errorCode", job.getErrorCode());
+            }
+
+            return json;
+        } catch (JSONException e) {
+            throw new ReportException(ReportException.Type.JSON_EXCEPTION, e);
+        }
     }
 
     @RequestMapping(value = "generateSavedReport/{plugin}/{model}", method = RequestMethod.GET)
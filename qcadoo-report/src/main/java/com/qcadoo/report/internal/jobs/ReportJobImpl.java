@@ -0,0 +1,165 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.internal.jobs;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.qcadoo.report.api.ReportJob;
+import com.qcadoo.report.api.ReportProgressListener;
+import com.qcadoo.report.api.ReportService.ReportType;
+
+final class ReportJobImpl implements ReportJob, ReportProgressListener {
+
+    private final String id;
+
+    private final String requestKey;
+
+    private final int tenantId;
+
+    private final String userName;
+
+    private final ReportType type;
+
+    private final Date submitDate = new Date();
+
+    private volatile Status status = Status.QUEUED;
+
+    private volatile String resultPath;
+
+    private volatile String errorCode;
+
+    private volatile Date finishDate;
+
+    private volatile int totalPages;
+
+    private final AtomicInteger exportedPages = new AtomicInteger();
+
+    ReportJobImpl(final String id, final String requestKey, final int tenantId, final String userName, final ReportType type) {
+        this.id = id;
+        this.requestKey = requestKey;
+        this.tenantId = tenantId;
+        this.userName = userName;
+        this.type = type;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public ReportType getType() {
+        return type;
+    }
+
+    @Override
+    public String getResultPath() {
+        return resultPath;
+    }
+
+    @Override
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    @Override
+    public int getExportedPages() {
+        return exportedPages.get();
+    }
+
+    @Override
+    public void onReportFilled(final int totalPages) {
+        this.totalPages = totalPages;
+    }
+
+    @Override
+    public void onPageExported() {
+        exportedPages.incrementAndGet();
+    }
+
+    @Override
+    public Date getSubmitDate() {
+        return new Date(submitDate.getTime());
+    }
+
+    @Override
+    public Date getFinishDate() {
+        if (finishDate == null) {
+            return null;
+        }
+
+        return new Date(finishDate.getTime());
+    }
+
+    String getRequestKey() {
+        return requestKey;
+    }
+
+    int getTenantId() {
+        return tenantId;
+    }
+
+    String getUserName() {
+        return userName;
+    }
+
+    void start() {
+        status = Status.RUNNING;
+    }
+
+    void finish(final String resultPath) {
+        this.resultPath = resultPath;
+        this.finishDate = new Date();
+        this.status = Status.FINISHED;
+    }
+
+    void fail(final String errorCode) {
+        this.errorCode = errorCode;
+        this.finishDate = new Date();
+        this.status = Status.FAILED;
+    }
+
+    boolean isFinishedBefore(final long time) {
+        Date date = finishDate;
+
+        return date != null && date.getTime() < time;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJob[" + id + ", " + requestKey + ", " + status + "]";
+    }
+
+}
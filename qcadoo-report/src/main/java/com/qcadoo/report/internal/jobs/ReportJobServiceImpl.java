@@ -0,0 +1,287 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.internal.jobs;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.google.common.collect.Maps;
+import com.qcadoo.commons.tasks.DefaultAsyncTaskExecutorWrapper;
+import com.qcadoo.model.api.file.FileService;
+import com.qcadoo.report.api.ReportException;
+import com.qcadoo.report.api.ReportJob;
+import com.qcadoo.report.api.ReportJobService;
+import com.qcadoo.report.api.ReportService;
+import com.qcadoo.report.api.ReportService.ReportType;
+import com.qcadoo.security.api.SecurityService;
+import com.qcadoo.tenant.api.MultiTenantCallback;
+import com.qcadoo.tenant.api.MultiTenantService;
+
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+
+    @Value("${reportJobs.poolSize:2}")
+    private int poolSize;
+
+    @Value("${reportJobs.queueCapacity:20}")
+    private int queueCapacity;
+
+    @Value("${reportJobs.retentionTime:3600}")
+    private long retentionTime;
+
+    @Value("${reportJobs.purgeInterval:300}")
+    private long purgeInterval;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private FileService fileService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private final ConcurrentMap<String, ReportJobImpl> jobs = Maps.newConcurrentMap();
+
+    private final ConcurrentMap<String, ReportJobImpl> pendingJobs = Maps.newConcurrentMap();
+
+    private ThreadPoolTaskExecutor threadPoolTaskExecutor;
+
+    private AsyncTaskExecutor executor;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    public void init() {
+        threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setQueueCapacity(queueCapacity);
+        threadPoolTaskExecutor.setThreadNamePrefix("qcadoo-report-");
+        threadPoolTaskExecutor.initialize();
+
+        executor = new DefaultAsyncTaskExecutorWrapper(threadPoolTaskExecutor);
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("qcadoo-report-purge-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::removeExpiredJobs, TimeUnit.SECONDS.toMillis(purgeInterval));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        scheduler.shutdown();
+        threadPoolTaskExecutor.shutdown();
+    }
+
+    @Override
+    public ReportJob submitReportForEntity(final String templatePlugin, final String templateName, final ReportType type,
+            final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale) throws ReportException {
+        removeExpiredJobs();
+
+        int tenantId = multiTenantService.getCurrentTenantId();
+        String userName = securityService.getCurrentUserName();
+        String requestKey = tenantId + "|" + userName + "|" + templatePlugin + "." + templateName + "|" + type + "|" + entityIds
+                + "|" + Maps.newTreeMap(userArgs) + "|" + locale;
+
+        ReportJobImpl job = new ReportJobImpl(UUID.randomUUID().toString(), requestKey, tenantId, userName, type);
+        ReportJobImpl pendingJob = pendingJobs.putIfAbsent(requestKey, job);
+
+        if (pendingJob != null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Report request coalesced with " + pendingJob);
+            }
+
+            return pendingJob;
+        }
+
+        jobs.put(job.getId(), job);
+
+        try {
+            executor.execute(new ReportJobTask(job, templatePlugin, templateName, entityIds, userArgs, locale,
+                    SecurityContextHolder.getContext()));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            pendingJobs.remove(requestKey, job);
+
+            throw new ReportException(ReportException.Type.REPORT_QUEUE_FULL, e);
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Report submitted as " + job);
+        }
+
+        return job;
+    }
+
+    @Override
+    public ReportJob getJob(final String jobId) {
+        ReportJobImpl job = jobs.get(jobId);
+
+        if (job == null || job.getTenantId() != multiTenantService.getCurrentTenantId()
+                || !Objects.equals(job.getUserName(), securityService.getCurrentUserName())) {
+            return null;
+        }
+
+        return job;
+    }
+
+    void removeExpiredJobs() {
+        long expirationTime = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(retentionTime);
+
+        for (Iterator<ReportJobImpl> iterator = jobs.values().iterator(); iterator.hasNext();) {
+            ReportJobImpl job = iterator.next();
+
+            if (job.isFinishedBefore(expirationTime)) {
+                iterator.remove();
+
+                if (job.getResultPath() != null) {
+                    fileService.remove(job.getResultPath());
+                }
+            }
+        }
+    }
+
+    private void generate(final ReportJobImpl job, final String templatePlugin, final String templateName,
+            final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale) {
+        job.start();
+
+        File file = fileService.createExportFile(templateName + "." + job.getType().getExtension());
+        OutputStream output = null;
+
+        try {
+            output = new BufferedOutputStream(new FileOutputStream(file));
+
+            reportService.generateReportForEntity(templatePlugin, templateName, job.getType(), entityIds, userArgs, locale,
+                    output, job);
+
+            output.close();
+
+            job.finish(file.getAbsolutePath());
+        } catch (ReportException e) {
+            LOG.warn("Report " + job + " has failed", e);
+
+            job.fail(e.getCode());
+        } catch (IOException e) {
+            LOG.warn("Report " + job + " has failed", e);
+
+            job.fail(ReportException.Type.ERROR_WHILE_COPYING_REPORT_TO_RESPONSE.getCode());
+        } catch (RuntimeException e) {
+            LOG.error("Report " + job + " has failed", e);
+
+            job.fail(ReportException.Type.GENERATE_REPORT_EXCEPTION.getCode());
+
+            throw e;
+        } finally {
+            IOUtils.closeQuietly(output);
+
+            if (job.getStatus() == ReportJob.Status.FAILED) {
+                fileService.remove(file.getAbsolutePath());
+            }
+        }
+    }
+
+    private final class ReportJobTask implements Runnable {
+
+        private final ReportJobImpl job;
+
+        private final String templatePlugin;
+
+        private final String templateName;
+
+        private final List<Long> entityIds;
+
+        private final Map<String, String> userArgs;
+
+        private final Locale locale;
+
+        private final SecurityContext securityContext;
+
+        private ReportJobTask(final ReportJobImpl job, final String templatePlugin, final String templateName,
+                final List<Long> entityIds, final Map<String, String> userArgs, final Locale locale,
+                final SecurityContext securityContext) {
+            this.job = job;
+            this.templatePlugin = templatePlugin;
+            this.templateName = templateName;
+            this.entityIds = entityIds;
+            this.userArgs = userArgs;
+            this.locale = locale;
+            this.securityContext = securityContext;
+        }
+
+        @Override
+        public void run() {
+            SecurityContextHolder.setContext(securityContext);
+
+            try {
+                multiTenantService.doInMultiTenantContext(job.getTenantId(), new MultiTenantCallback() {
+
+                    @Override
+                    public void invoke() {
+                        generate(job, templatePlugin, templateName, entityIds, userArgs, locale);
+                    }
+
+                });
+            } finally {
+                SecurityContextHolder.clearContext();
+                pendingJobs.remove(job.getRequestKey(), job);
+            }
+        }
+
+    }
+
+}
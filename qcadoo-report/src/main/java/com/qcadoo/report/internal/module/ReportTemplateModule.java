@@ -23,9 +23,11 @@
  */
 package com.qcadoo.report.internal.module;
 
-import net.sf.jasperreports.engine.JasperCompileManager;
+import java.io.InputStream;
+
 import net.sf.jasperreports.engine.JasperReport;
 
+import org.apache.commons.io.IOUtils;
 import org.springframework.core.io.Resource;
 
 import com.qcadoo.plugin.api.Module;
@@ -59,11 +61,17 @@ public class ReportTemplateModule extends Module {
 
     @Override
     public void enable() {
+        InputStream in = null;
+
         try {
-            JasperReport reportTemplate = JasperCompileManager.compileReport(templateFile.getInputStream());
+            in = templateFile.getInputStream();
+
+            JasperReport reportTemplate = reportTemplateService.compileTemplate(IOUtils.toByteArray(in));
             reportTemplateService.addTemplate(pluginIdentifier, templateName, reportTemplate);
         } catch (Exception e) {
             throw new ModuleException(pluginIdentifier, "report-template", e);
+        } finally {
+            IOUtils.closeQuietly(in);
         }
     }
 
@@ -23,6 +23,7 @@
  */
 package com.qcadoo.report.internal.templates;
 
+import net.sf.jasperreports.engine.JRException;
 import net.sf.jasperreports.engine.JasperReport;
 
 public interface ReportTemplateService {
@@ -33,4 +34,15 @@ public interface ReportTemplateService {
 
     void removeTemplate(String plugin, String name);
 
+    /**
+     * Compiles given template source. Compiled templates are cached by source's hash, in memory and as .jasper files on disk,
+     * so the same source is compiled only once.
+     * 
+     * @param templateContent
+     *            template source (jrxml)
+     * @return compiled template
+     * @throws JRException
+     */
+    JasperReport compileTemplate(byte[] templateContent) throws JRException;
+
 }
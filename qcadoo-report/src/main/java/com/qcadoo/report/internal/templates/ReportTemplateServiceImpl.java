@@ -23,31 +23,210 @@
  */
 package com.qcadoo.report.internal.templates;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
+import javax.annotation.PostConstruct;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JasperCompileManager;
 import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRLoader;
+import net.sf.jasperreports.engine.util.JRSaver;
 
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
 
 @Service
 public class ReportTemplateServiceImpl implements ReportTemplateService {
 
-    final Map<String, JasperReport> teplates = new HashMap<String, JasperReport>();
+    private static final Logger LOG = LoggerFactory.getLogger(ReportTemplateServiceImpl.class);
+
+    private static final String L_COMPILED_TEMPLATE_EXTENSION = ".jasper";
+
+    private static final Set<PosixFilePermission> L_OWNER_ONLY_PERMISSIONS = EnumSet.of(PosixFilePermission.OWNER_READ,
+            PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE);
+
+    @Value("${reportTemplates.compiledCacheSize:50}")
+    private long compiledCacheSize;
+
+    @Value("${reportTemplates.compiledCacheDirectory:}")
+    private String compiledCacheDirectory;
+
+    private final ConcurrentMap<String, JasperReport> templates = Maps.newConcurrentMap();
+
+    private Cache<String, JasperReport> compiledTemplates;
+
+    private File compiledTemplatesDirectory;
+
+    @PostConstruct
+    public void init() {
+        compiledTemplates = CacheBuilder.newBuilder().maximumSize(compiledCacheSize).build();
+
+        if (!StringUtils.hasText(compiledCacheDirectory)) {
+            return;
+        }
+
+        // compiled templates are deserialized when loaded, so they can be read only from a directory nobody else can write to
+        File directory = new File(compiledCacheDirectory);
+
+        if (!isPrivateDirectory(directory.toPath())) {
+            LOG.warn("Compiled report templates directory " + directory
+                    + " doesn't exist or is accessible by other users, compiled templates will be cached only in memory");
+
+            return;
+        }
+
+        // compiled templates can't be shared between different versions of JasperReports
+        String jasperVersion = JasperReport.class.getPackage().getImplementationVersion();
+
+        File versionDirectory = new File(directory, "jasperreports-" + (jasperVersion == null ? "unknown" : jasperVersion));
+
+        try {
+            if (!versionDirectory.exists()) {
+                Files.createDirectory(versionDirectory.toPath(),
+                        PosixFilePermissions.asFileAttribute(L_OWNER_ONLY_PERMISSIONS));
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot create compiled report templates directory " + versionDirectory
+                    + ", compiled templates will be cached only in memory", e);
+
+            return;
+        }
+
+        if (!isPrivateDirectory(versionDirectory.toPath())) {
+            LOG.warn("Compiled report templates directory " + versionDirectory
+                    + " is accessible by other users, compiled templates will be cached only in memory");
+
+            return;
+        }
+
+        compiledTemplatesDirectory = versionDirectory;
+    }
+
+    private boolean isPrivateDirectory(final Path directory) {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return false;
+        }
+
+        try {
+            if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)) {
+                return false;
+            }
+
+            UserPrincipal currentUser = directory.getFileSystem().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(System.getProperty("user.name"));
+
+            return currentUser.equals(Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS))
+                    && L_OWNER_ONLY_PERMISSIONS.containsAll(Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS));
+        } catch (IOException e) {
+            LOG.warn("Cannot check permissions of " + directory, e);
+
+            return false;
+        }
+    }
 
     @Override
     public JasperReport getTemplate(final String plugin, final String name) {
-        return teplates.get(generateKey(plugin, name));
+        return templates.get(generateKey(plugin, name));
     }
 
     @Override
     public void addTemplate(final String plugin, final String name, final JasperReport reportTemplate) {
-        teplates.put(generateKey(plugin, name), reportTemplate);
+        templates.put(generateKey(plugin, name), reportTemplate);
     }
 
     @Override
     public void removeTemplate(final String plugin, final String name) {
-        teplates.remove(generateKey(plugin, name));
+        templates.remove(generateKey(plugin, name));
+    }
+
+    @Override
+    public JasperReport compileTemplate(final byte[] templateContent) throws JRException {
+        final String hash = Hashing.sha256().hashBytes(templateContent).toString();
+
+        try {
+            return compiledTemplates.get(hash, new Callable<JasperReport>() {
+
+                @Override
+                public JasperReport call() throws JRException {
+                    return loadOrCompileTemplate(hash, templateContent);
+                }
+
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof JRException) {
+                throw (JRException) e.getCause();
+            }
+
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+    }
+
+    private JasperReport loadOrCompileTemplate(final String hash, final byte[] templateContent) throws JRException {
+        if (compiledTemplatesDirectory == null) {
+            return JasperCompileManager.compileReport(new ByteArrayInputStream(templateContent));
+        }
+
+        File compiledTemplateFile = new File(compiledTemplatesDirectory, hash + L_COMPILED_TEMPLATE_EXTENSION);
+
+        if (compiledTemplateFile.isFile()) {
+            try {
+                return (JasperReport) JRLoader.loadObject(compiledTemplateFile);
+            } catch (JRException e) {
+                LOG.warn("Cannot load compiled report template " + compiledTemplateFile + ", it will be recompiled", e);
+            } catch (ClassCastException e) {
+                LOG.warn("Cannot load compiled report template " + compiledTemplateFile + ", it will be recompiled", e);
+            }
+        }
+
+        JasperReport template = JasperCompileManager.compileReport(new ByteArrayInputStream(templateContent));
+
+        saveCompiledTemplate(template, hash, compiledTemplateFile);
+
+        return template;
+    }
+
+    private void saveCompiledTemplate(final JasperReport template, final String hash, final File compiledTemplateFile) {
+        File temporaryFile = null;
+
+        try {
+            temporaryFile = File.createTempFile(hash, ".tmp", compiledTemplatesDirectory);
+
+            JRSaver.saveObject(template, temporaryFile);
+
+            if (temporaryFile.renameTo(compiledTemplateFile)) {
+                temporaryFile = null;
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot save compiled report template " + compiledTemplateFile, e);
+        } catch (JRException e) {
+            LOG.warn("Cannot save compiled report template " + compiledTemplateFile, e);
+        } finally {
+            FileUtils.deleteQuietly(temporaryFile);
+        }
     }
 
     private String generateKey(final String plugin, final String name) {
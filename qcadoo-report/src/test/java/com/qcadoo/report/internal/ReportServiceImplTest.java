@@ -0,0 +1,162 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.MessageSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.qcadoo.report.api.ReportException;
+import com.qcadoo.report.api.ReportProgressListener;
+import com.qcadoo.report.api.ReportService.ReportType;
+import com.qcadoo.report.api.pdf.PdfHelper;
+import com.qcadoo.report.internal.templates.ReportTemplateService;
+
+public class ReportServiceImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReportServiceImpl reportService;
+
+    private Session session;
+
+    @Before
+    public void init() throws Exception {
+        ReportTemplateService reportTemplateService = mock(ReportTemplateService.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        PdfHelper pdfHelper = mock(PdfHelper.class);
+        session = mock(Session.class);
+
+        given(sessionFactory.openSession()).willReturn(session);
+        given(pdfHelper.getDocumentAuthor()).willReturn("qcadoo");
+        given(reportTemplateService.getTemplate("plugin", "report")).willReturn(
+                JasperCompileManager.compileReport(getClass().getResourceAsStream("virtualizedReport.jrxml")));
+
+        reportService = new ReportServiceImpl();
+
+        ReflectionTestUtils.setField(reportService, "reportTemplateService", reportTemplateService);
+        ReflectionTestUtils.setField(reportService, "sessionFactory", sessionFactory);
+        ReflectionTestUtils.setField(reportService, "messageSource", mock(MessageSource.class));
+        ReflectionTestUtils.setField(reportService, "pdfHelper", pdfHelper);
+        ReflectionTestUtils.setField(reportService, "virtualizerMaxPages", 1);
+        ReflectionTestUtils.setField(reportService, "virtualizerDirectory", folder.getRoot().getAbsolutePath());
+    }
+
+    @Test
+    public void shouldExportVirtualizedReportAndRemoveSwapFile() throws Exception {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final AtomicInteger swapFilesDuringExport = new AtomicInteger();
+        final AtomicInteger exportedPages = new AtomicInteger();
+
+        ReportProgressListener progressListener = new ReportProgressListener() {
+
+            @Override
+            public void onReportFilled(final int totalPages) {
+                swapFilesDuringExport.set(folder.getRoot().list().length);
+            }
+
+            @Override
+            public void onPageExported() {
+                exportedPages.incrementAndGet();
+            }
+
+        };
+
+        // when
+        reportService.generateReport("plugin", "report", ReportType.PDF, new HashMap<String, Object>(), Locale.ENGLISH,
+                output, progressListener);
+
+        // then
+        assertTrue(output.size() > 0);
+        assertEquals(1, swapFilesDuringExport.get());
+        assertEquals(1, exportedPages.get());
+        assertEquals(0, folder.getRoot().list().length);
+        verify(session).close();
+    }
+
+    @Test
+    public void shouldRemoveSwapFileWhenExportFails() throws Exception {
+        // given
+        OutputStream output = new OutputStream() {
+
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("connection reset");
+            }
+
+        };
+
+        // when
+        try {
+            reportService.generateReport("plugin", "report", ReportType.CSV, new HashMap<String, Object>(), Locale.ENGLISH,
+                    output);
+            fail();
+        } catch (ReportException e) {
+            // then
+            assertEquals(ReportException.Type.GENERATE_REPORT_EXCEPTION.getCode(), e.getCode());
+        }
+
+        assertEquals(0, folder.getRoot().list().length);
+        verify(session).close();
+    }
+
+    @Test
+    public void shouldNotCreateSwapFileWhenVirtualizerIsDisabled() throws Exception {
+        // given
+        ReflectionTestUtils.setField(reportService, "virtualizerMaxPages", 0);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        reportService.generateReport("plugin", "report", ReportType.CSV, new HashMap<String, Object>(), Locale.ENGLISH,
+                output);
+
+        // then
+        assertEquals(0, folder.getRoot().list().length);
+        verify(session).close();
+    }
+
+}
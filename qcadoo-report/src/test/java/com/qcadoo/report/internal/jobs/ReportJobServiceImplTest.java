@@ -0,0 +1,311 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.internal.jobs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.Lists;
+import com.qcadoo.model.api.file.FileService;
+import com.qcadoo.report.api.ReportException;
+import com.qcadoo.report.api.ReportJob;
+import com.qcadoo.report.api.ReportProgressListener;
+import com.qcadoo.report.api.ReportService;
+import com.qcadoo.report.api.ReportService.ReportType;
+import com.qcadoo.security.api.SecurityService;
+import com.qcadoo.tenant.api.MultiTenantCallback;
+import com.qcadoo.tenant.api.MultiTenantService;
+
+public class ReportJobServiceImplTest {
+
+    private static final List<Long> ENTITY_IDS = Collections.singletonList(1L);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ReportJobServiceImpl reportJobService;
+
+    private ReportService reportService;
+
+    private FileService fileService;
+
+    private AsyncTaskExecutor executor;
+
+    private File resultFile;
+
+    @Before
+    public void init() throws IOException {
+        reportService = mock(ReportService.class);
+        fileService = mock(FileService.class);
+        executor = mock(AsyncTaskExecutor.class);
+
+        SecurityService securityService = mock(SecurityService.class);
+        MultiTenantService multiTenantService = mock(MultiTenantService.class);
+
+        given(securityService.getCurrentUserName()).willReturn("admin");
+        given(multiTenantService.getCurrentTenantId()).willReturn(1);
+        willAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                ((MultiTenantCallback) invocation.getArguments()[1]).invoke();
+                return null;
+            }
+
+        }).given(multiTenantService).doInMultiTenantContext(anyInt(), any(MultiTenantCallback.class));
+
+        resultFile = folder.newFile("report.pdf");
+        given(fileService.createExportFile(anyString())).willReturn(resultFile);
+
+        reportJobService = new ReportJobServiceImpl();
+
+        ReflectionTestUtils.setField(reportJobService, "reportService", reportService);
+        ReflectionTestUtils.setField(reportJobService, "fileService", fileService);
+        ReflectionTestUtils.setField(reportJobService, "securityService", securityService);
+        ReflectionTestUtils.setField(reportJobService, "multiTenantService", multiTenantService);
+        ReflectionTestUtils.setField(reportJobService, "executor", executor);
+        ReflectionTestUtils.setField(reportJobService, "retentionTime", 3600L);
+    }
+
+    @Test
+    public void shouldFinishJobAndReportProgress() throws Exception {
+        // given
+        willAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(final InvocationOnMock invocation) throws IOException {
+                OutputStream output = (OutputStream) invocation.getArguments()[6];
+                ReportProgressListener progressListener = (ReportProgressListener) invocation.getArguments()[7];
+
+                progressListener.onReportFilled(2);
+                output.write(1);
+                progressListener.onPageExported();
+                output.write(2);
+                progressListener.onPageExported();
+
+                return null;
+            }
+
+        }).given(reportService).generateReportForEntity(eq("plugin"), eq("report"), eq(ReportType.PDF), eq(ENTITY_IDS),
+                anyMapOf(String.class, String.class), eq(Locale.ENGLISH), any(OutputStream.class),
+                any(ReportProgressListener.class));
+
+        // when
+        ReportJob job = submit();
+
+        // then
+        assertEquals(ReportJob.Status.QUEUED, job.getStatus());
+        assertSame(job, reportJobService.getJob(job.getId()));
+
+        // when
+        runSubmittedTasks(1);
+
+        // then
+        assertEquals(ReportJob.Status.FINISHED, job.getStatus());
+        assertEquals(resultFile.getAbsolutePath(), job.getResultPath());
+        assertEquals(2, job.getTotalPages());
+        assertEquals(2, job.getExportedPages());
+        assertEquals(2L, resultFile.length());
+        verify(fileService, never()).remove(anyString());
+    }
+
+    @Test
+    public void shouldCoalesceIdenticalPendingRequests() throws Exception {
+        // given
+        ReportJob firstJob = submit();
+
+        // when
+        ReportJob secondJob = submit();
+
+        // then
+        assertSame(firstJob, secondJob);
+        verify(executor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldNotCoalesceRequestWithAlreadyFinishedJob() throws Exception {
+        // given
+        ReportJob firstJob = submit();
+        runSubmittedTasks(1);
+
+        // when
+        ReportJob secondJob = submit();
+
+        // then
+        assertNotSame(firstJob, secondJob);
+        verify(executor, times(2)).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldFailJobAndRemoveFileWhenReportCannotBeGenerated() throws Exception {
+        // given
+        willThrow(new ReportException(ReportException.Type.NO_TEMPLATE_FOUND, "plugin.report")).given(reportService)
+                .generateReportForEntity(anyString(), anyString(), any(ReportType.class), anyListOf(Long.class),
+                        anyMapOf(String.class, String.class), any(Locale.class), any(OutputStream.class),
+                        any(ReportProgressListener.class));
+
+        ReportJob job = submit();
+
+        // when
+        runSubmittedTasks(1);
+
+        // then
+        assertEquals(ReportJob.Status.FAILED, job.getStatus());
+        assertEquals(ReportException.Type.NO_TEMPLATE_FOUND.getCode(), job.getErrorCode());
+        assertNull(job.getResultPath());
+        verify(fileService).remove(resultFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldFailJobAndRethrowRuntimeException() throws Exception {
+        // given
+        IllegalStateException exception = new IllegalStateException("broken template");
+
+        willThrow(exception).given(reportService).generateReportForEntity(anyString(), anyString(), any(ReportType.class),
+                anyListOf(Long.class), anyMapOf(String.class, String.class), any(Locale.class), any(OutputStream.class),
+                any(ReportProgressListener.class));
+
+        ReportJob job = submit();
+
+        // when
+        try {
+            runSubmittedTasks(1);
+            fail();
+        } catch (IllegalStateException e) {
+            // then
+            assertSame(exception, e);
+        }
+
+        assertEquals(ReportJob.Status.FAILED, job.getStatus());
+        assertEquals(ReportException.Type.GENERATE_REPORT_EXCEPTION.getCode(), job.getErrorCode());
+        verify(fileService).remove(resultFile.getAbsolutePath());
+
+        // when
+        ReportJob nextJob = submit();
+
+        // then
+        assertNotSame(job, nextJob);
+    }
+
+    @Test
+    public void shouldRemoveExpiredJobsWithTheirFiles() throws Exception {
+        // given
+        ReportJob job = submit();
+        runSubmittedTasks(1);
+
+        ReflectionTestUtils.setField(reportJobService, "retentionTime", -1L);
+
+        // when
+        reportJobService.removeExpiredJobs();
+
+        // then
+        assertNull(reportJobService.getJob(job.getId()));
+        verify(fileService).remove(resultFile.getAbsolutePath());
+    }
+
+    @Test
+    public void shouldKeepNotExpiredAndUnfinishedJobs() throws Exception {
+        // given
+        ReportJob finishedJob = submit();
+        runSubmittedTasks(1);
+
+        ReportJob queuedJob = reportJobService.submitReportForEntity("plugin", "otherReport", ReportType.PDF, ENTITY_IDS,
+                Collections.<String, String> emptyMap(), Locale.ENGLISH);
+
+        // when
+        reportJobService.removeExpiredJobs();
+
+        // then
+        assertSame(finishedJob, reportJobService.getJob(finishedJob.getId()));
+        assertSame(queuedJob, reportJobService.getJob(queuedJob.getId()));
+        verify(fileService, never()).remove(anyString());
+    }
+
+    @Test
+    public void shouldRejectJobWhenQueueIsFull() throws Exception {
+        // given
+        willThrow(new TaskRejectedException("queue is full")).given(executor).execute(any(Runnable.class));
+
+        // when
+        try {
+            submit();
+            fail();
+        } catch (ReportException e) {
+            // then
+            assertEquals(ReportException.Type.REPORT_QUEUE_FULL.getCode(), e.getCode());
+        }
+
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    private ReportJob submit() throws ReportException {
+        return reportJobService.submitReportForEntity("plugin", "report", ReportType.PDF, ENTITY_IDS,
+                Collections.<String, String> emptyMap(), Locale.ENGLISH);
+    }
+
+    private void runSubmittedTasks(final int expectedNumberOfTasks) {
+        ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+
+        verify(executor, times(expectedNumberOfTasks)).execute(taskCaptor.capture());
+
+        for (Runnable task : Lists.newArrayList(taskCaptor.getAllValues())) {
+            task.run();
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.report.internal.templates;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import net.sf.jasperreports.engine.JasperCompileManager;
+import net.sf.jasperreports.engine.JasperReport;
+import net.sf.jasperreports.engine.util.JRSaver;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.hash.Hashing;
+
+public class ReportTemplateServiceImplTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheDirectory;
+
+    @Before
+    public void init() throws Exception {
+        Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        cacheDirectory = folder.newFolder("compiledTemplates");
+
+        Files.setPosixFilePermissions(cacheDirectory.toPath(), PosixFilePermissions.fromString("rwx------"));
+    }
+
+    @Test
+    public void shouldCompileAndStoreTemplateOnCacheMiss() throws Exception {
+        // given
+        ReportTemplateServiceImpl reportTemplateService = createService(cacheDirectory.getAbsolutePath());
+        byte[] content = createTemplateContent("first");
+
+        // when
+        JasperReport template = reportTemplateService.compileTemplate(content);
+
+        // then
+        assertEquals("first", template.getName());
+        assertTrue(getCompiledTemplateFile(reportTemplateService, content).isFile());
+        assertSame(template, reportTemplateService.compileTemplate(content));
+    }
+
+    @Test
+    public void shouldLoadCompiledTemplateFromPrivateDirectoryOnCacheHit() throws Exception {
+        // given
+        ReportTemplateServiceImpl reportTemplateService = createService(cacheDirectory.getAbsolutePath());
+        byte[] content = createTemplateContent("second");
+
+        // a template stored under other template's hash proves that it wasn't compiled again
+        JRSaver.saveObject(JasperCompileManager.compileReport(new ByteArrayInputStream(createTemplateContent("stored"))),
+                getCompiledTemplateFile(reportTemplateService, content));
+
+        // when
+        JasperReport template = reportTemplateService.compileTemplate(content);
+
+        // then
+        assertEquals("stored", template.getName());
+    }
+
+    @Test
+    public void shouldRecompileAndReplaceCorruptedCompiledTemplate() throws Exception {
+        // given
+        ReportTemplateServiceImpl reportTemplateService = createService(cacheDirectory.getAbsolutePath());
+        byte[] content = createTemplateContent("third");
+        File compiledTemplateFile = getCompiledTemplateFile(reportTemplateService, content);
+
+        Files.write(compiledTemplateFile.toPath(), "corrupted".getBytes("UTF-8"));
+
+        // when
+        JasperReport template = reportTemplateService.compileTemplate(content);
+
+        // then
+        assertEquals("third", template.getName());
+        assertEquals("third", createService(cacheDirectory.getAbsolutePath()).compileTemplate(content).getName());
+        assertTrue(compiledTemplateFile.length() > "corrupted".length());
+    }
+
+    @Test
+    public void shouldCacheOnlyInMemoryWhenDirectoryIsAccessibleByOtherUsers() throws Exception {
+        // given
+        Files.setPosixFilePermissions(cacheDirectory.toPath(), PosixFilePermissions.fromString("rwxrwxr-x"));
+
+        ReportTemplateServiceImpl reportTemplateService = createService(cacheDirectory.getAbsolutePath());
+        byte[] content = createTemplateContent("fourth");
+
+        // when
+        JasperReport template = reportTemplateService.compileTemplate(content);
+
+        // then
+        assertEquals("fourth", template.getName());
+        assertSame(template, reportTemplateService.compileTemplate(content));
+        assertNull(ReflectionTestUtils.getField(reportTemplateService, "compiledTemplatesDirectory"));
+        assertEquals(0, cacheDirectory.list().length);
+    }
+
+    @Test
+    public void shouldCacheOnlyInMemoryWhenDirectoryIsNotConfiguredOrMissing() throws Exception {
+        // when
+        ReportTemplateServiceImpl notConfiguredService = createService("");
+        ReportTemplateServiceImpl missingDirectoryService = createService(new File(cacheDirectory, "missing").getAbsolutePath());
+
+        // then
+        assertNotNull(notConfiguredService.compileTemplate(createTemplateContent("fifth")));
+        assertNull(ReflectionTestUtils.getField(notConfiguredService, "compiledTemplatesDirectory"));
+        assertNull(ReflectionTestUtils.getField(missingDirectoryService, "compiledTemplatesDirectory"));
+        assertEquals(0, cacheDirectory.list().length);
+    }
+
+    private ReportTemplateServiceImpl createService(final String directory) {
+        ReportTemplateServiceImpl reportTemplateService = new ReportTemplateServiceImpl();
+
+        ReflectionTestUtils.setField(reportTemplateService, "compiledCacheSize", 10L);
+        ReflectionTestUtils.setField(reportTemplateService, "compiledCacheDirectory", directory);
+
+        reportTemplateService.init();
+
+        return reportTemplateService;
+    }
+
+    private File getCompiledTemplateFile(final ReportTemplateServiceImpl reportTemplateService, final byte[] content) {
+        File directory = (File) ReflectionTestUtils.getField(reportTemplateService, "compiledTemplatesDirectory");
+
+        return new File(directory, Hashing.sha256().hashBytes(content).toString() + ".jasper");
+    }
+
+    private byte[] createTemplateContent(final String name) throws Exception {
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<jasperReport xmlns=\"http://jasperreports.sourceforge.net/jasperreports\""
+                + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                + " xsi:schemaLocation=\"http://jasperreports.sourceforge.net/jasperreports"
+                + " http://jasperreports.sourceforge.net/xsd/jasperreport.xsd\" name=\"" + name + "\""
+                + " pageWidth=\"595\" pageHeight=\"842\" columnWidth=\"515\" leftMargin=\"40\" rightMargin=\"40\""
+                + " topMargin=\"50\" bottomMargin=\"50\"/>").getBytes("UTF-8");
+    }
+
+}
@@ -137,7 +137,7 @@ public class SecurityServiceImpl implements InternalSecurityService, UserDetails
     public List<QcadooUser> getUsers() {
         List<Entity> users = dataDefinitionService
                 .get(QcadooSecurityConstants.PLUGIN_IDENTIFIER, QcadooSecurityConstants.MODEL_USER).find()
-                .addOrder(SearchOrders.asc(UserFields.USER_NAME)).list().getEntities();
+                .addOrder(SearchOrders.asc(UserFields.USER_NAME)).listWithoutCount().getEntities();
 
         List<QcadooUser> qcadooUsers = Lists.newLinkedList();
 
@@ -241,7 +241,7 @@ public class SecurityServiceImpl implements InternalSecurityService, UserDetails
     public void removeUserTokens(final String username) {
         List<Entity> persistentTokens = dataDefinitionService
                 .get(QcadooSecurityConstants.PLUGIN_IDENTIFIER, QcadooSecurityConstants.MODEL_PERSISTENT_TOKEN).find()
-                .add(SearchRestrictions.eq(PersistentTokenFields.USER_NAME, username)).list().getEntities();
+                .add(SearchRestrictions.eq(PersistentTokenFields.USER_NAME, username)).listWithoutCount().getEntities();
 
         for (Entity persistentToken : persistentTokens) {
             dataDefinitionService.get(QcadooSecurityConstants.PLUGIN_IDENTIFIER, QcadooSecurityConstants.MODEL_PERSISTENT_TOKEN)
@@ -252,7 +252,7 @@ public class SecurityServiceImpl implements InternalSecurityService, UserDetails
     private Entity getPersistentToken(final String series) {
         List<Entity> persistentTokens = dataDefinitionService
                 .get(QcadooSecurityConstants.PLUGIN_IDENTIFIER, QcadooSecurityConstants.MODEL_PERSISTENT_TOKEN).find()
-                .add(SearchRestrictions.eq(PersistentTokenFields.SERIES, series)).list().getEntities();
+                .add(SearchRestrictions.eq(PersistentTokenFields.SERIES, series)).listWithoutCount().getEntities();
 
         if (persistentTokens.size() == 1) {
             return persistentTokens.get(0);
@@ -53,7 +53,7 @@ public class RoleModule extends Module {
 	@Override
 	public void multiTenantEnable() {
 		if (dataDefinitionService.get("qcadooSecurity", "role").find().add(SearchRestrictions.eq("identifier", identifier))
-		        .list().getTotalNumberOfEntities() > 0) {
+		        .exists()) {
 			return;
 		}
 
@@ -52,7 +52,7 @@ public class UserGroupModule extends Module {
     @Override
     public void multiTenantEnable() {
         if (dataDefinitionService.get("qcadooSecurity", "group").find().add(SearchRestrictions.eq("identifier", identifier))
-                .list().getTotalNumberOfEntities() > 0) {
+                .exists()) {
             return;
         }
 
@@ -59,13 +59,13 @@ public class UserModule extends Module {
 
     @Override
     public void multiTenantEnable() {
-        if (dataDefinitionService.get("qcadooSecurity", "user").find().add(SearchRestrictions.eq("userName", login)).list()
-                .getTotalNumberOfEntities() > 0) {
+        if (dataDefinitionService.get("qcadooSecurity", "user").find().add(SearchRestrictions.eq("userName", login))
+                .exists()) {
             return;
         }
 
         Entity group = dataDefinitionService.get("qcadooSecurity", "group").find()
-                .add(SearchRestrictions.eq("identifier", groupIdentifier)).list().getEntities().get(0);
+                .add(SearchRestrictions.eq("identifier", groupIdentifier)).listWithoutCount().getEntities().get(0);
 
         Entity entity = dataDefinitionService.get("qcadooSecurity", "user").create();
         entity.setField("userName", login);
@@ -34,4 +34,9 @@ public interface InternalSecurityRolesService extends SecurityRolesService {
 
     boolean canAccess(Authentication userAuthentication, SecurityRole targetRole);
 
+    /**
+     * Drops memoized role hierarchy resolutions, must be called when roles or groups change.
+     */
+    void invalidateReachableAuthorities();
+
 }
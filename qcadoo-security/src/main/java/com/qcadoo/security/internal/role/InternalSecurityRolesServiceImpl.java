@@ -23,9 +23,9 @@
  */
 package com.qcadoo.security.internal.role;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
@@ -35,6 +35,9 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
 import com.qcadoo.security.api.SecurityRole;
 
 @Service
@@ -45,6 +48,9 @@ public class InternalSecurityRolesServiceImpl implements InternalSecurityRolesSe
 
 	private final Map<String, SecurityRole> roles = new HashMap<String, SecurityRole>();
 
+	// reachable role identifiers, computed once per authentication (weak, identity-based keys)
+	private final Cache<Authentication, Set<String>> reachableAuthorities = CacheBuilder.newBuilder().weakKeys().build();
+
 	@Override
 	public SecurityRole getRoleByIdentifier(final String roleIdentifier) {
 		return roles.get(roleIdentifier);
@@ -53,6 +59,12 @@ public class InternalSecurityRolesServiceImpl implements InternalSecurityRolesSe
 	@Override
 	public void addRole(final SecurityRole role) {
 		roles.put(role.getRoleIdentifier(), role);
+		invalidateReachableAuthorities();
+	}
+
+	@Override
+	public void invalidateReachableAuthorities() {
+		reachableAuthorities.invalidateAll();
 	}
 
 	@Override
@@ -79,16 +91,26 @@ public class InternalSecurityRolesServiceImpl implements InternalSecurityRolesSe
 			return true;
 		}
 
-		Collection<? extends GrantedAuthority> reachableAuthorities = roleHierarchy
-		        .getReachableGrantedAuthorities(userAuthentication.getAuthorities());
+		return getReachableAuthorities(userAuthentication).contains(targetRole.getRoleIdentifier());
+	}
 
-		for (GrantedAuthority grantedAuthority : reachableAuthorities) {
-			if (grantedAuthority.getAuthority().equals(targetRole.getRoleIdentifier())) {
-				return true;
+	private Set<String> getReachableAuthorities(final Authentication userAuthentication) {
+		Set<String> authorities = reachableAuthorities.getIfPresent(userAuthentication);
+
+		if (authorities == null) {
+			ImmutableSet.Builder<String> authoritiesBuilder = ImmutableSet.builder();
+
+			for (GrantedAuthority grantedAuthority : roleHierarchy.getReachableGrantedAuthorities(userAuthentication
+			        .getAuthorities())) {
+				authoritiesBuilder.add(grantedAuthority.getAuthority());
 			}
+
+			authorities = authoritiesBuilder.build();
+
+			reachableAuthorities.put(userAuthentication, authorities);
 		}
 
-		return false;
+		return authorities;
 	}
 
 }
@@ -0,0 +1,94 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.security.internal.role;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.GrantedAuthorityImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.collect.Lists;
+
+public class InternalSecurityRolesServiceImplTest {
+
+    private InternalSecurityRolesServiceImpl securityRolesService;
+
+    @Mock
+    private RoleHierarchy roleHierarchy;
+
+    @Mock
+    private Authentication authentication;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+
+        securityRolesService = new InternalSecurityRolesServiceImpl();
+        ReflectionTestUtils.setField(securityRolesService, "roleHierarchy", roleHierarchy);
+
+        doReturn(Lists.<GrantedAuthority> newArrayList(new GrantedAuthorityImpl("ROLE_ADMIN"), new GrantedAuthorityImpl(
+                "ROLE_USER"))).when(roleHierarchy).getReachableGrantedAuthorities(anyCollection());
+    }
+
+    @Test
+    public final void shouldResolveRoleHierarchyOncePerAuthentication() {
+        // when
+        boolean canAccessAdmin = securityRolesService.canAccess(authentication, new SimpleSecurityRole("ROLE_ADMIN", true));
+        boolean canAccessUser = securityRolesService.canAccess(authentication, new SimpleSecurityRole("ROLE_USER", true));
+        boolean canAccessSuperadmin = securityRolesService.canAccess(authentication,
+                new SimpleSecurityRole("ROLE_SUPERADMIN", true));
+
+        // then
+        assertTrue(canAccessAdmin);
+        assertTrue(canAccessUser);
+        assertFalse(canAccessSuperadmin);
+        verify(roleHierarchy, times(1)).getReachableGrantedAuthorities(anyCollection());
+    }
+
+    @Test
+    public final void shouldResolveRoleHierarchyAgainAfterInvalidation() {
+        // given
+        securityRolesService.canAccess(authentication, new SimpleSecurityRole("ROLE_ADMIN", true));
+
+        // when
+        securityRolesService.invalidateReachableAuthorities();
+        securityRolesService.canAccess(authentication, new SimpleSecurityRole("ROLE_ADMIN", true));
+
+        // then
+        verify(roleHierarchy, times(2)).getReachableGrantedAuthorities(anyCollection());
+    }
+
+}
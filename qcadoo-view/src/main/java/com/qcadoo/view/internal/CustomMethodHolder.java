@@ -24,12 +24,14 @@
 package com.qcadoo.view.internal;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.qcadoo.model.internal.utils.MethodHandleUtils;
 import com.qcadoo.view.internal.xml.ViewDefinitionParser;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.ApplicationContext;
 import org.w3c.dom.Node;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
@@ -62,6 +64,8 @@ public final class CustomMethodHolder {
 
     private final Method method;
 
+    private final MethodHandle invoker;
+
     private final Class<?> expectedReturnType;
 
     private final Class<?>[] expectedParameterTypes;
@@ -113,17 +117,16 @@ public final class CustomMethodHolder {
         method = getMethod(clazz, methodName);
 
         checkMethodSignature();
+
+        invoker = getInvoker();
     }
 
     public Object invoke(final Object... args) {
         try {
-            return method.invoke(bean, args);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalStateException(INVOKE_FAIL_MSG, e);
-        } catch (IllegalAccessException e) {
-            throw new IllegalStateException(INVOKE_FAIL_MSG, e);
-        } catch (InvocationTargetException e) {
-            throw new IllegalStateException(INVOKE_FAIL_MSG, e);
+            return (Object) invoker.invokeExact(args);
+        } catch (Throwable throwable) {
+            Throwables.propagateIfPossible(throwable);
+            throw new IllegalStateException(INVOKE_FAIL_MSG, throwable);
         }
     }
 
@@ -158,6 +161,16 @@ public final class CustomMethodHolder {
         }
     }
 
+    private MethodHandle getInvoker() {
+        try {
+            return MethodHandleUtils.toSpreadInvoker(method, bean);
+        } catch (IllegalAccessException e) {
+            final String msg = String.format(SECURITY_EXCEPTION_MSG, method.getDeclaringClass().getCanonicalName(),
+                    method.getName());
+            throw new IllegalStateException(msg, e);
+        }
+    }
+
     private Method getMethod(final Class<?> clazz, final String methodName) {
         try {
             return clazz.getMethod(methodName, expectedParameterTypes);
@@ -8,12 +8,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.qcadoo.view.api.notifications.NotificationContainer;
 import com.qcadoo.view.api.notifications.NotificationService;
 import com.qcadoo.view.internal.alerts.model.AlertDto;
 import com.qcadoo.view.internal.alerts.utils.AlertsDbHelper;
-import com.qcadoo.view.internal.alerts.utils.NotificationFetcher;
+import com.qcadoo.view.internal.alerts.utils.AlertsNotifier;
 
 @Controller
 @RequestMapping("/alert")
@@ -26,7 +27,7 @@ public class AlertsController {
     private NotificationService notificationService;
 
     @Autowired
-    private NotificationFetcher notificationFetcher;
+    private AlertsNotifier alertsNotifier;
 
     @ResponseBody
     @RequestMapping(value = "/systemNotifications", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -37,9 +38,14 @@ public class AlertsController {
     @ResponseBody
     @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
     public List<AlertDto> getAlert() {
-        notificationFetcher.fetch();
         List<AlertDto> alerts = alertsDbHelper.getAlerts();
         alertsDbHelper.createViewedAlerts(alerts);
         return alerts;
     }
+
+    @ResponseBody
+    @RequestMapping(value = "/await", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<Boolean> awaitAlerts() {
+        return alertsNotifier.awaitNewAlerts();
+    }
 }
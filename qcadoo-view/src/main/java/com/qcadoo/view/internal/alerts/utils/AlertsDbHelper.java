@@ -1,17 +1,16 @@
 package com.qcadoo.view.internal.alerts.utils;
 
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.joda.time.DateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.google.common.collect.Lists;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.DataDefinitionService;
 import com.qcadoo.model.api.Entity;
-import com.qcadoo.model.api.search.SearchRestrictions;
 import com.qcadoo.security.api.UserService;
 import com.qcadoo.view.constants.AlertFields;
 import com.qcadoo.view.constants.QcadooViewConstants;
@@ -21,38 +20,37 @@ import com.qcadoo.view.internal.alerts.model.AlertDto;
 @Service
 public class AlertsDbHelper {
 
+    private static final String L_UNSEEN_ALERTS_QUERY = "from #qcadooView_alert alert where alert.expirationDate >= :currentDate "
+            + "and not exists (from #qcadooView_viewedAlert viewedAlert "
+            + "where viewedAlert.alert = alert and viewedAlert.user.id = :userId)";
+
     @Autowired
     private DataDefinitionService dataDefinitionService;
 
     @Autowired
     private UserService userService;
 
+    @Transactional
     public void createViewedAlerts(final List<AlertDto> alerts) {
         Entity user = userService.getCurrentUserEntity();
-        alerts.forEach(a -> createViewedAlert(a.getId(), user));
+        DataDefinition viewedAlertDD = getViewdAlertDD();
+        alerts.forEach(a -> createViewedAlert(viewedAlertDD, a.getId(), user));
     }
 
-    private void createViewedAlert(final Long id, final Entity user) {
-        Entity viewedAlert = getViewdAlertDD().create();
-        Entity alert = dataDefinitionService.get(QcadooViewConstants.PLUGIN_IDENTIFIER, QcadooViewConstants.MODEL_ALERT).get(id);
+    private void createViewedAlert(final DataDefinition viewedAlertDD, final Long id, final Entity user) {
+        Entity viewedAlert = viewedAlertDD.create();
         viewedAlert.setField(ViewedAlertFields.USER, user);
-        viewedAlert.setField(ViewedAlertFields.ALERT, alert);
-        viewedAlert.getDataDefinition().save(viewedAlert);
+        viewedAlert.setField(ViewedAlertFields.ALERT, id);
+        viewedAlertDD.fastSave(viewedAlert);
     }
 
     private List<Entity> getAlertsForUser() {
         Entity user = userService.getCurrentUserEntity();
 
         List<Entity> result = Lists.newArrayList();
-        DateTime currentDate = DateTime.now();
         if (user != null) {
-            List<Entity> alerts = getAlertDD().find()
-                    .add(SearchRestrictions.ge(AlertFields.EXPIRATION_DATE, currentDate.toDate())).list().getEntities();
-            List<Entity> viewedAlerts = getViewdAlertDD().find()
-                    .add(SearchRestrictions.belongsTo(ViewedAlertFields.USER, user)).list().getEntities();
-            result.addAll(alerts.stream().filter(alert -> viewedAlerts.stream()
-                    .noneMatch(va -> va.getBelongsToField(ViewedAlertFields.ALERT).getId() == alert.getId()))
-                    .collect(Collectors.toList()));
+            result.addAll(getAlertDD().find(L_UNSEEN_ALERTS_QUERY).setTimestamp("currentDate", new Date())
+                    .setLong("userId", user.getId()).list().getEntities());
         }
         return result;
     }
@@ -72,7 +70,12 @@ public class AlertsDbHelper {
         alerts.add(alert);
     }
 
-    void registerAlert(final AlertDto alert) {
+    @Transactional
+    public void registerAlerts(final List<AlertDto> alerts) {
+        alerts.forEach(this::registerAlert);
+    }
+
+    private void registerAlert(final AlertDto alert) {
         Entity alertEntity = getAlertDD().create();
         alertEntity.setField(AlertFields.TYPE, alert.getType());
         alertEntity.setField(AlertFields.MESSAGE, alert.getMessage());
@@ -0,0 +1,40 @@
+package com.qcadoo.view.internal.alerts.utils;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Long-poll channel for alerts. Browsers wait for new alerts instead of polling for them, waiting requests are completed with
+ * true when new alerts are registered or with false after 'alerts.longPollTimeout' seconds.
+ */
+@Service
+public class AlertsNotifier {
+
+    @Value("${alerts.longPollTimeout:60}")
+    private long longPollTimeout;
+
+    private final Set<DeferredResult<Boolean>> waitingResults = Collections.newSetFromMap(Maps
+            .<DeferredResult<Boolean>, Boolean> newConcurrentMap());
+
+    public DeferredResult<Boolean> awaitNewAlerts() {
+        DeferredResult<Boolean> result = new DeferredResult<>(longPollTimeout * 1000L, Boolean.FALSE);
+
+        waitingResults.add(result);
+        result.onCompletion(() -> waitingResults.remove(result));
+
+        return result;
+    }
+
+    public void notifyNewAlerts() {
+        for (DeferredResult<Boolean> result : waitingResults) {
+            result.setResult(Boolean.TRUE);
+        }
+    }
+
+}
@@ -1,18 +1,29 @@
 package com.qcadoo.view.internal.alerts.utils;
 
 
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.net.ssl.SSLContext;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
 import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.ssl.SSLContextBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
@@ -21,17 +32,29 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import com.google.common.base.Strings;
+import com.qcadoo.tenant.api.MultiTenantService;
 import com.qcadoo.view.internal.alerts.model.AlertDto;
 
+/**
+ * Fetches alerts from notification sender in background, every 'notificationSender.fetchInterval' seconds, using a pooled
+ * http client. Fetched alerts are registered in all tenants and waiting browsers are notified by {@link AlertsNotifier}.
+ * 
+ * Fetching runs without any user, so audit fields of registered alerts are left empty.
+ */
 @Service
-@Transactional
 public class NotificationFetcher {
 
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationFetcher.class);
+
+    private static final int L_MAX_CONNECTIONS = 4;
+
     @Value("${notificationSender.url}")
     private String url;
 
@@ -44,39 +67,113 @@ public class NotificationFetcher {
     @Value("${notificationSender.instanceName}")
     private String instanceName;
 
+    @Value("${notificationSender.fetchInterval:300}")
+    private int fetchInterval;
+
+    @Value("${notificationSender.timeout:30}")
+    private int timeout;
+
     @Autowired
     private AlertsDbHelper alertsDbHelper;
 
+    @Autowired
+    private AlertsNotifier alertsNotifier;
+
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private CloseableHttpClient httpClient;
+
+    private RestTemplate restTemplate;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    @PostConstruct
+    public void init() {
+        if (Strings.isNullOrEmpty(url)) {
+            return;
+        }
+
+        httpClient = createHttpClient();
+        restTemplate = new RestTemplate(createHttpComponentsClientHttpRequestFactory());
+
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("notificationFetcher-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::fetchWithoutUser, fetchInterval * 1000L);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                LOG.warn("Cannot close notification sender's http client", e);
+            }
+        }
+    }
+
+    void fetchWithoutUser() {
+        new DelegatingSecurityContextRunnable(this::fetch, SecurityContextHolder.createEmptyContext()).run();
+    }
+
     public void fetch() {
-        if (!Strings.isNullOrEmpty(url)) {
-            RestTemplate restTemplate = new RestTemplate(createHttpComponentsClientHttpRequestFactory());
+        if (restTemplate == null) {
+            return;
+        }
+
+        try {
             ResponseEntity<List<AlertDto>> alertResponse = restTemplate.exchange(url + "?instanceName=" + instanceName,
                     HttpMethod.GET, new HttpEntity<>(createHeaders()), new ParameterizedTypeReference<List<AlertDto>>() {
                     });
             List<AlertDto> alerts = alertResponse.getBody();
-            alerts.forEach(a -> {
-                alertsDbHelper.registerAlert(a);
-                restTemplate.exchange(url + a.getId(), HttpMethod.PUT, new HttpEntity<>(createHeaders()), Void.class);
-            });
+
+            if (alerts == null || alerts.isEmpty()) {
+                return;
+            }
+
+            multiTenantService.doInMultiTenantContext(() -> alertsDbHelper.registerAlerts(alerts));
+
+            alerts.forEach(a -> restTemplate.exchange(url + a.getId(), HttpMethod.PUT, new HttpEntity<>(createHeaders()),
+                    Void.class));
+
+            alertsNotifier.notifyNewAlerts();
+        } catch (RuntimeException e) {
+            // keeps scheduled fetching alive, next attempt will be made after fetchInterval
+            LOG.warn("Cannot fetch alerts from " + url, e);
         }
     }
 
-    private HttpComponentsClientHttpRequestFactory createHttpComponentsClientHttpRequestFactory() {
+    private CloseableHttpClient createHttpClient() {
         SSLContext sslContext = null;
         try {
             sslContext = new SSLContextBuilder()
                     .loadTrustMaterial(null, (certificate, authType) -> true).build();
         } catch (NoSuchAlgorithmException | KeyManagementException | KeyStoreException e) {
-            e.printStackTrace();
+            throw new IllegalStateException(e.getMessage(), e);
         }
-        CloseableHttpClient httpClient
-                = HttpClients.custom()
-                .setSslcontext(sslContext)
-                .setSSLHostnameVerifier(new NoopHostnameVerifier())
-                .build();
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory> create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", new SSLConnectionSocketFactory(sslContext, NoopHostnameVerifier.INSTANCE)).build();
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
+        connectionManager.setMaxTotal(L_MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(L_MAX_CONNECTIONS);
+
+        return HttpClients.custom().setConnectionManager(connectionManager).build();
+    }
+
+    private HttpComponentsClientHttpRequestFactory createHttpComponentsClientHttpRequestFactory() {
         HttpComponentsClientHttpRequestFactory requestFactory
-                = new HttpComponentsClientHttpRequestFactory();
-        requestFactory.setHttpClient(httpClient);
+                = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(timeout * 1000);
+        requestFactory.setReadTimeout(timeout * 1000);
         return requestFactory;
     }
 
@@ -205,7 +205,7 @@ public class GridComponentColumn {
         } else {
             String value = ExpressionUtils.getValue(entity, fields, locale);
             if (value != null) {
-                value = value.replaceAll("\n", " ");
+                value = value.replace('\n', ' ');
             }
             return value;
         }
@@ -0,0 +1,151 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.components.grid;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.qcadoo.localization.api.TranslationService;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.types.FieldType;
+import com.qcadoo.model.internal.types.EnumType;
+
+/**
+ * Columns of the grid prepared once per render, so that access checks and translations are not repeated for each row.
+ */
+final class GridComponentColumnPlan {
+
+    private final List<GridComponentColumn> accessibleColumns;
+
+    private final List<ExportedColumn> exportedColumns;
+
+    private final Locale locale;
+
+    GridComponentColumnPlan(final Collection<GridComponentColumn> accessibleColumns, final DataDefinition dataDefinition,
+            final TranslationService translationService, final Locale locale) {
+        this.accessibleColumns = ImmutableList.copyOf(accessibleColumns);
+        this.locale = locale;
+
+        String enumKeyPrefix = dataDefinition.getPluginIdentifier() + "." + dataDefinition.getName() + ".";
+
+        List<ExportedColumn> exported = Lists.newArrayList();
+
+        for (GridComponentColumn column : this.accessibleColumns) {
+            if (!column.isHidden()) {
+                exported.add(new ExportedColumn(column, enumKeyPrefix, translationService, locale));
+            }
+        }
+
+        this.exportedColumns = exported;
+    }
+
+    public List<GridComponentColumn> getAccessibleColumns() {
+        return accessibleColumns;
+    }
+
+    public Map<String, String> convertEntityToMap(final Entity entity) {
+        Map<String, String> values = Maps.newLinkedHashMap();
+
+        for (ExportedColumn exportedColumn : exportedColumns) {
+            values.put(exportedColumn.getName(), exportedColumn.getValue(entity, locale));
+        }
+
+        return values;
+    }
+
+    private static final class ExportedColumn {
+
+        private final GridComponentColumn column;
+
+        private final boolean enumColumn;
+
+        private final boolean booleanColumn;
+
+        private final String enumKeyPrefix;
+
+        private final TranslationService translationService;
+
+        private final String trueLabel;
+
+        private final String falseLabel;
+
+        private final Map<String, String> enumLabels = Maps.newHashMap();
+
+        ExportedColumn(final GridComponentColumn column, final String enumKeyPrefix, final TranslationService translationService,
+                final Locale locale) {
+            this.column = column;
+            this.translationService = translationService;
+
+            // expression-only columns have no fields, their values are exported as they are
+            FieldType fieldType = column.getFields().isEmpty() ? null : column.getFields().get(0).getType();
+
+            this.enumColumn = fieldType instanceof EnumType;
+            this.booleanColumn = fieldType != null && !enumColumn && Boolean.class.equals(fieldType.getType());
+            this.enumKeyPrefix = enumKeyPrefix + column.getName() + ".value.";
+
+            if (booleanColumn) {
+                this.trueLabel = translationService.translate("qcadooView.true", locale);
+                this.falseLabel = translationService.translate("qcadooView.false", locale);
+            } else {
+                this.trueLabel = null;
+                this.falseLabel = null;
+            }
+        }
+
+        String getName() {
+            return column.getName();
+        }
+
+        String getValue(final Entity entity, final Locale locale) {
+            String fieldValue = column.getValue(entity, locale);
+
+            if (!enumColumn && !booleanColumn) {
+                return fieldValue;
+            }
+            if (fieldValue == null) {
+                return "";
+            }
+            if (booleanColumn) {
+                return "1".equals(fieldValue) ? trueLabel : falseLabel;
+            }
+
+            String label = enumLabels.get(fieldValue);
+
+            if (label == null) {
+                label = translationService.translate(enumKeyPrefix + fieldValue, locale);
+                enumLabels.put(fieldValue, label);
+            }
+
+            return label;
+        }
+
+    }
+
+}
@@ -78,6 +78,8 @@ public class GridComponentPattern extends AbstractComponentPattern {
 
     private static final int DEFAULT_GRID_WIDTH = 300;
 
+    private static final int DEFAULT_RESULT_CACHE_TTL = 60;
+
     private static final Predicate<GridComponentColumn> COLUMNS_VISIBLE_FOR_TENANT_PREDICATE = new Predicate<GridComponentColumn>() {
 
         @Override
@@ -176,6 +178,10 @@ public class GridComponentPattern extends AbstractComponentPattern {
 
     private boolean suppressSelectEvent = false;
 
+    private boolean resultCacheEnabled = false;
+
+    private int resultCacheTtl = DEFAULT_RESULT_CACHE_TTL;
+
     public GridComponentPattern(final ComponentDefinition componentDefinition) {
         super(componentDefinition);
         securityRolesService = getApplicationContext().getBean(SecurityRolesService.class);
@@ -613,6 +619,10 @@ public class GridComponentPattern extends AbstractComponentPattern {
                 columnsToSummaryTime = option.getValue();
             } else if ("suppressSelectEvent".equals(option.getType())) {
                 suppressSelectEvent = Boolean.parseBoolean(option.getValue());
+            } else if ("resultCache".equals(option.getType())) {
+                resultCacheEnabled = Boolean.parseBoolean(option.getValue());
+            } else if ("resultCacheTtl".equals(option.getType())) {
+                resultCacheTtl = Integer.parseInt(option.getValue());
             }
         }
         if (defaultOrderColumn == null) {
@@ -783,6 +793,14 @@ public class GridComponentPattern extends AbstractComponentPattern {
         return columnsToSummaryTime;
     }
 
+    public boolean isResultCacheEnabled() {
+        return resultCacheEnabled;
+    }
+
+    public int getResultCacheTtl() {
+        return resultCacheTtl;
+    }
+
     private boolean isLinkAllowed() {
         return Strings.isNullOrEmpty(linkAuthorizationRole) || securityRolesService.canAccess(linkAuthorizationRole);
     }
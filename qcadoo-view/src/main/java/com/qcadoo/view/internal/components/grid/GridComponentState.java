@@ -23,6 +23,7 @@
  */
 package com.qcadoo.view.internal.components.grid;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -52,7 +53,6 @@ import com.qcadoo.model.api.types.JoinFieldHolder;
 import com.qcadoo.model.api.types.ManyToManyType;
 import com.qcadoo.model.api.validators.ErrorMessage;
 import com.qcadoo.model.internal.ProxyEntity;
-import com.qcadoo.model.internal.types.EnumType;
 import com.qcadoo.security.api.SecurityRole;
 import com.qcadoo.security.api.SecurityRolesService;
 import com.qcadoo.view.api.components.GridComponent;
@@ -61,6 +61,9 @@ import com.qcadoo.view.api.components.lookup.FilterValueHolder;
 import com.qcadoo.view.internal.CriteriaModifier;
 import com.qcadoo.view.internal.FilterValueHolderImpl;
 import com.qcadoo.view.internal.RowStyleResolver;
+import com.qcadoo.view.internal.components.grid.GridResultCache.CachedGridResult;
+import com.qcadoo.view.internal.components.grid.GridResultCache.CachedGridRow;
+import com.qcadoo.view.internal.components.grid.GridResultCache.GridResultCacheKey;
 import com.qcadoo.view.internal.states.AbstractComponentState;
 
 public final class GridComponentState extends AbstractComponentState implements GridComponent {
@@ -131,6 +134,13 @@ public final class GridComponentState extends AbstractComponentState implements
 
     private List<Entity> entities;
 
+    /**
+     * Rows taken from the result cache, used for rendering instead of entities until entities are requested.
+     */
+    private List<CachedGridRow> cachedRows;
+
+    private Map<Long, Set<String>> cachedRowStyles;
+
     private int totalEntities;
 
     private int firstResult;
@@ -199,6 +209,10 @@ public final class GridComponentState extends AbstractComponentState implements
 
     private Set<String> userHiddenColumns = Sets.newHashSet();
 
+    private final GridResultCache resultCache;
+
+    private final int resultCacheTtl;
+
     public GridComponentState(final DataDefinition dataDefinition, final GridComponentPattern pattern) {
         super(pattern);
 
@@ -229,6 +243,13 @@ public final class GridComponentState extends AbstractComponentState implements
         this.useDto = pattern.isUseDto();
         this.columns = pattern.getColumns();
 
+        if (pattern.isResultCacheEnabled()) {
+            this.resultCache = pattern.getApplicationContext().getBean(GridResultCache.class);
+        } else {
+            this.resultCache = null;
+        }
+        this.resultCacheTtl = pattern.getResultCacheTtl();
+
         registerEvent("refresh", eventPerformer, "refresh");
         registerEvent("select", eventPerformer, "selectEntity");
         registerEvent("addExistingEntity", eventPerformer, "addExistingEntity");
@@ -487,11 +508,11 @@ public final class GridComponentState extends AbstractComponentState implements
 
     @Override
     protected JSONObject renderContent() throws JSONException {
-        if (entities == null) {
+        if (entities == null && cachedRows == null) {
             eventPerformer.reload();
         }
 
-        if (entities == null) {
+        if (entities == null && cachedRows == null) {
             throw new IllegalStateException("Cannot load entities for grid component");
         }
 
@@ -552,8 +573,16 @@ public final class GridComponentState extends AbstractComponentState implements
 
         JSONArray jsonEntities = new JSONArray();
 
-        for (Entity entity : entities) {
-            jsonEntities.put(convertEntityToJson(entity));
+        if (cachedRows == null) {
+            GridComponentColumnPlan columnPlan = createColumnPlan();
+
+            for (Entity entity : entities) {
+                jsonEntities.put(convertEntityToJson(entity, columnPlan));
+            }
+        } else {
+            for (CachedGridRow row : cachedRows) {
+                jsonEntities.put(convertRowToJson(row));
+            }
         }
 
         json.put(JSON_ENTITIES, jsonEntities);
@@ -574,15 +603,21 @@ public final class GridComponentState extends AbstractComponentState implements
 
     private JSONObject getRowStyles() throws JSONException {
         final JSONObject stylesForEntities = new JSONObject();
+        Map<Long, Set<String>> rowStyles = cachedRows == null ? rowStyleResolver.resolve(entities) : cachedRowStyles;
 
-        for (Map.Entry<Long, Set<String>> entityToStyles : rowStyleResolver.resolve(entities).entrySet()) {
+        for (Map.Entry<Long, Set<String>> entityToStyles : rowStyles.entrySet()) {
             stylesForEntities.put(entityToStyles.getKey().toString(), new JSONArray(entityToStyles.getValue()));
         }
 
         return stylesForEntities;
     }
 
-    private JSONObject convertEntityToJson(final Entity entity) throws JSONException {
+    private GridComponentColumnPlan createColumnPlan() {
+        return new GridComponentColumnPlan(pattern.filterColumnsWithAccess(columns.values()), getDataDefinition(),
+                getTranslationService(), getLocale());
+    }
+
+    private JSONObject convertEntityToJson(final Entity entity, final GridComponentColumnPlan columnPlan) throws JSONException {
         JSONObject json = new JSONObject();
 
         json.put("id", entity.getId());
@@ -595,7 +630,7 @@ public final class GridComponentState extends AbstractComponentState implements
 
         JSONObject fields = new JSONObject();
 
-        for (GridComponentColumn column : pattern.filterColumnsWithAccess(columns.values())) {
+        for (GridComponentColumn column : columnPlan.getAccessibleColumns()) {
             fields.put(column.getName(), column.getValue(entity, getLocale()));
         }
 
@@ -604,6 +639,64 @@ public final class GridComponentState extends AbstractComponentState implements
         return json;
     }
 
+    private JSONObject convertRowToJson(final CachedGridRow row) throws JSONException {
+        JSONObject json = new JSONObject();
+
+        json.put("id", row.getId());
+        json.put("active", !activable || row.isActive());
+        json.put("fields", new JSONObject(row.getValues()));
+
+        return json;
+    }
+
+    private List<CachedGridRow> createCachedRows() {
+        GridComponentColumnPlan columnPlan = createColumnPlan();
+        List<CachedGridRow> rows = Lists.newArrayListWithCapacity(entities.size());
+
+        for (Entity entity : entities) {
+            Map<String, String> values = Maps.newLinkedHashMap();
+
+            for (GridComponentColumn column : columnPlan.getAccessibleColumns()) {
+                values.put(column.getName(), column.getValue(entity, getLocale()));
+            }
+
+            rows.add(new CachedGridRow(entity.getId(), entity.isActive(), values));
+        }
+
+        return rows;
+    }
+
+    /**
+     * Loads entities of rows taken from the result cache, in the order of rows. Cached rows are dropped afterwards, so that
+     * changes made to loaded entities are rendered.
+     */
+    private void loadCachedEntities() {
+        List<Long> ids = Lists.newArrayListWithCapacity(cachedRows.size());
+
+        for (CachedGridRow row : cachedRows) {
+            ids.add(row.getId());
+        }
+
+        List<Entity> loadedEntities = Lists.newArrayListWithCapacity(ids.size());
+
+        if (!ids.isEmpty()) {
+            Map<Long, Entity> entitiesById = Maps.newHashMap();
+
+            for (Entity entity : getDataDefinition().find().add(SearchRestrictions.in("id", ids)).list().getEntities()) {
+                entitiesById.put(entity.getId(), entity);
+            }
+            for (Long id : ids) {
+                if (entitiesById.containsKey(id)) {
+                    loadedEntities.add(entitiesById.get(id));
+                }
+            }
+        }
+
+        entities = loadedEntities;
+        cachedRows = null;
+        cachedRowStyles = null;
+    }
+
     @Override
     public Set<Long> getSelectedEntitiesIds() {
         return selectedEntities;
@@ -619,7 +712,7 @@ public final class GridComponentState extends AbstractComponentState implements
 
         searchCriteria.add(SearchRestrictions.in("id", selectedEntities));
 
-        return searchCriteria.list().getEntities();
+        return searchCriteria.listWithoutCount().getEntities();
     }
 
     @Override
@@ -641,12 +734,17 @@ public final class GridComponentState extends AbstractComponentState implements
     @Override
     public void setEntities(final List<Entity> entities) {
         this.entities = entities;
+        this.cachedRows = null;
+        this.cachedRowStyles = null;
 
         totalEntities = entities.size();
     }
 
     @Override
     public List<Entity> getEntities() {
+        if (entities == null && cachedRows != null) {
+            loadCachedEntities();
+        }
         if (entities == null) {
             eventPerformer.reload();
         }
@@ -715,7 +813,7 @@ public final class GridComponentState extends AbstractComponentState implements
 
             List<Entity> existingEntities = getEntities();
             List<Entity> newlyAddedEntities = getDataDefinition().find().add(SearchRestrictions.in("id", selectedEntitiesId))
-                    .list().getEntities();
+                    .listWithoutCount().getEntities();
 
             entitiesToMarkAsNew = Sets.newHashSet(selectedEntitiesId);
 
@@ -880,6 +978,9 @@ public final class GridComponentState extends AbstractComponentState implements
         }
 
         private void reload() {
+            cachedRows = null;
+            cachedRowStyles = null;
+
             if (belongsToFieldDefinition == null || belongsToEntityId != null) {
                 SearchCriteriaBuilder criteria = getDataDefinition().find();
 
@@ -926,6 +1027,24 @@ public final class GridComponentState extends AbstractComponentState implements
                         criteriaModifier.modifyCriteria(criteria, criteriaModifierParameter);
                     }
 
+                    GridResultCacheKey cacheKey = null;
+
+                    if (isResultCacheable()) {
+                        cacheKey = resultCache.createKey(getDataDefinition(), getResultCacheSignature());
+
+                        CachedGridResult cachedResult = resultCache.get(cacheKey, resultCacheTtl);
+
+                        if (cachedResult != null) {
+                            entities = null;
+                            cachedRows = cachedResult.getRows();
+                            cachedRowStyles = cachedResult.getRowStyles();
+                            totalEntities = cachedResult.getTotalEntities();
+                            firstResult = cachedResult.getFirstResult();
+
+                            return;
+                        }
+                    }
+
                     SearchResult result = criteria.list();
 
                     if (repeatWithFixedFirstResult(result)) {
@@ -935,6 +1054,16 @@ public final class GridComponentState extends AbstractComponentState implements
 
                     entities = result.getEntities();
                     totalEntities = result.getTotalNumberOfEntities();
+
+                    if (cacheKey != null) {
+                        Map<Long, Set<String>> rowStyles = Collections.emptyMap();
+
+                        if (rowStyleResolver != null) {
+                            rowStyles = rowStyleResolver.resolve(entities);
+                        }
+
+                        resultCache.put(cacheKey, createCachedRows(), rowStyles, totalEntities, firstResult);
+                    }
                 } catch (GridComponentFilterException gcfe) {
                     addMessage("qcadooView.grid.filter.incorrectValue", MessageType.FAILURE, gcfe.getFilterValue());
                     clear();
@@ -949,6 +1078,43 @@ public final class GridComponentState extends AbstractComponentState implements
             totalEntities = 0;
         }
 
+        private boolean isResultCacheable() {
+            return resultCache != null && customRestriction == null;
+        }
+
+        private String getResultCacheSignature() {
+            StringBuilder signature = new StringBuilder(getTranslationPath());
+
+            signature.append("|scope=").append(belongsToEntityId);
+            if (filtersEnabled) {
+                signature.append("|filters=").append(Maps.newTreeMap(filters));
+            }
+
+            if (multiSearchEnabled) {
+                try {
+                    signature.append("|multiSearch=").append(multiSearchFilter.toJson());
+                } catch (JSONException e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }
+
+            signature.append("|order=");
+
+            for (GridComponentOrderColumn orderColumn : orderColumns) {
+                signature.append(orderColumn.getName()).append(' ').append(orderColumn.getDirection()).append(',');
+            }
+
+            signature.append("|active=").append(onlyActive).append(',').append(onlyInactive);
+            signature.append("|page=").append(firstResult).append(',').append(maxResults);
+            signature.append("|locale=").append(getLocale());
+
+            if (criteriaModifier != null) {
+                signature.append("|criteriaModifier=").append(criteriaModifierParameter.toJSON());
+            }
+
+            return signature.toString();
+        }
+
         private void addPaging(final SearchCriteriaBuilder criteria) {
             criteria.setFirstResult(firstResult);
             criteria.setMaxResults(maxResults);
@@ -1027,9 +1193,7 @@ public final class GridComponentState extends AbstractComponentState implements
     }
 
     private List<Map<String, String>> getColumnValues(final ExportMode mode) {
-        if (entities == null) {
-            eventPerformer.reload();
-        }
+        List<Entity> entities = getEntities();
 
         if (entities == null) {
             throw new IllegalStateException("Cannot load entities for grid component");
@@ -1037,53 +1201,11 @@ public final class GridComponentState extends AbstractComponentState implements
 
         List<Map<String, String>> values = Lists.newArrayList();
 
+        GridComponentColumnPlan columnPlan = createColumnPlan();
+
         for (Entity entity : entities) {
             if (mode == ExportMode.ALL || (mode == ExportMode.SELECTED && getSelectedEntitiesIds().contains(entity.getId()))) {
-                values.add(convertEntityToMap(entity));
-            }
-        }
-
-        return values;
-    }
-
-    private Map<String, String> convertEntityToMap(final Entity entity) {
-        Map<String, String> values = Maps.newLinkedHashMap();
-
-        for (GridComponentColumn column : pattern.filterColumnsWithAccess(columns.values())) {
-            if (column.isHidden()) {
-                continue;
-            }
-
-			String fieldValue = column.getValue(entity, getLocale());
-
-            if (column.getFields().get(0).getType() instanceof EnumType) {
-                if (fieldValue != null) {
-					StringBuffer localeString = new StringBuffer();
-
-					localeString.append(getDataDefinition().getPluginIdentifier());
-					localeString.append('.');
-					localeString.append(getDataDefinition().getName());
-					localeString.append('.');
-					localeString.append(column.getName());
-					localeString.append(".value.");
-					localeString.append(fieldValue);
-
-					values.put(column.getName(), getTranslationService().translate(localeString.toString(), getLocale()));
-				} else {
-					values.put(column.getName(), "");
-				}
-            } else if (column.getFields().get(0).getType().getType().equals(Boolean.class)) {
-                if (fieldValue != null) {
-                    if (fieldValue.equals("1")) {
-                        values.put(column.getName(), getTranslationService().translate("qcadooView.true", getLocale()));
-                    } else {
-                        values.put(column.getName(), getTranslationService().translate("qcadooView.false", getLocale()));
-                    }
-                } else {
-                    values.put(column.getName(), "");
-                }
-            } else {
-                values.put(column.getName(), fieldValue);
+                values.add(columnPlan.convertEntityToMap(entity));
             }
         }
 
@@ -0,0 +1,347 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.components.grid;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.EntityChangeListener;
+import com.qcadoo.model.internal.MasterModel;
+import com.qcadoo.model.internal.api.InternalDataDefinition;
+import com.qcadoo.tenant.api.MultiTenantService;
+
+/**
+ * Page-level cache of grid results, used by grids with 'resultCache' option enabled.
+ * 
+ * Entries are keyed by grid's signature (data definition, filters, order, paging, scope, locale) and the current user's
+ * name and roles - criteria modifiers and row style resolvers may depend on who is logged in. They hold immutable snapshots of rendered rows, never entities, so nothing mutable or bound to a Hibernate session is
+ * shared between requests. All entries of a data definition are invalidated when any of its entities is saved, deleted or
+ * bulk updated - once right away and once again when the modifying transaction completes.
+ */
+@Service
+public class GridResultCache implements EntityChangeListener {
+
+    @Value("${gridResultCache.maximumSize:1000}")
+    private long maximumSize;
+
+    @Value("${gridResultCache.maximumTtl:600}")
+    private long maximumTtl;
+
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private LoadingCache<String, AtomicLong> generations;
+
+    private Cache<String, CachedGridResult> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(maximumTtl, TimeUnit.SECONDS).build();
+
+        // every entry expires before the generation it was created with, a generation recreated after eviction starts from
+        // a new value, so entries of the evicted one are never taken for current
+        generations = CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterAccess(maximumTtl, TimeUnit.SECONDS)
+                .build(new CacheLoader<String, AtomicLong>() {
+
+                    @Override
+                    public AtomicLong load(final String generationKey) {
+                        return new AtomicLong(System.nanoTime());
+                    }
+                });
+    }
+
+    /**
+     * Returns key of given grid's signature for the current tenant and user.
+     * 
+     * @param dataDefinition
+     *            grid's data definition
+     * @param gridSignature
+     *            grid's filters, order, paging and scope
+     * @return cache key
+     */
+    public GridResultCacheKey createKey(final DataDefinition dataDefinition, final String gridSignature) {
+        String generationKey = getGenerationKey(dataDefinition);
+
+        return new GridResultCacheKey(generationKey, generationKey + "|" + getUserSignature() + "|" + gridSignature,
+                getGeneration(generationKey).get());
+    }
+
+    /**
+     * Returns cached result or null if there is no valid result for given key.
+     * 
+     * @param key
+     *            cache key
+     * @param ttl
+     *            grid's time to live in seconds
+     * @return cached result or null
+     */
+    public CachedGridResult get(final GridResultCacheKey key, final int ttl) {
+        CachedGridResult result = cache.getIfPresent(key.getKey());
+
+        if (result == null) {
+            return null;
+        }
+        if (result.getGeneration() != getGeneration(key.getGenerationKey()).get() || result.isOlderThan(ttl)) {
+            cache.invalidate(key.getKey());
+
+            return null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Caches rendered rows of the grid.
+     * 
+     * @param key
+     *            cache key
+     * @param rows
+     *            rendered rows
+     * @param rowStyles
+     *            css classes of rows by entity id, may be empty
+     * @param totalEntities
+     *            total number of entities matching the grid's criteria
+     * @param firstResult
+     *            index of the first row
+     */
+    public void put(final GridResultCacheKey key, final List<CachedGridRow> rows, final Map<Long, Set<String>> rowStyles,
+            final int totalEntities, final int firstResult) {
+        cache.put(key.getKey(), new CachedGridResult(rows, rowStyles, totalEntities, firstResult, key.getGeneration()));
+    }
+
+    @Override
+    public void onSave(final DataDefinition dataDefinition, final Entity savedEntity) {
+        invalidate(dataDefinition);
+    }
+
+    @Override
+    public void onDelete(final DataDefinition dataDefinition, final Long entityId) {
+        invalidate(dataDefinition);
+    }
+
+    @Override
+    public void onBulkUpdate(final DataDefinition dataDefinition) {
+        invalidate(dataDefinition);
+    }
+
+    private void invalidate(final DataDefinition dataDefinition) {
+        final AtomicLong generation = getGeneration(getGenerationKey(dataDefinition));
+
+        generation.incrementAndGet();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    generation.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private AtomicLong getGeneration(final String generationKey) {
+        return generations.getUnchecked(generationKey);
+    }
+
+    private String getGenerationKey(final DataDefinition dataDefinition) {
+        String pluginIdentifier = dataDefinition.getPluginIdentifier();
+        String name = dataDefinition.getName();
+
+        if (dataDefinition instanceof InternalDataDefinition) {
+            MasterModel masterModel = ((InternalDataDefinition) dataDefinition).getMasterModel();
+
+            if (masterModel != null) {
+                pluginIdentifier = masterModel.getPluginIdentifier();
+                name = masterModel.getName();
+            }
+        }
+
+        return multiTenantService.getCurrentTenantId() + ":" + pluginIdentifier + "." + name;
+    }
+
+    private String getUserSignature() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null) {
+            return "";
+        }
+
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        Set<String> roles = Sets.newTreeSet();
+
+        for (GrantedAuthority authority : authorities) {
+            roles.add(authority.getAuthority());
+        }
+
+        return authentication.getName() + roles;
+    }
+
+    public static final class GridResultCacheKey {
+
+        private final String generationKey;
+
+        private final String key;
+
+        private final long generation;
+
+        private GridResultCacheKey(final String generationKey, final String key, final long generation) {
+            this.generationKey = generationKey;
+            this.key = key;
+            this.generation = generation;
+        }
+
+        String getGenerationKey() {
+            return generationKey;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        long getGeneration() {
+            return generation;
+        }
+
+    }
+
+    public static final class CachedGridResult {
+
+        private final List<CachedGridRow> rows;
+
+        private final Map<Long, Set<String>> rowStyles;
+
+        private final int totalEntities;
+
+        private final int firstResult;
+
+        private final long generation;
+
+        private final long createTime = System.nanoTime();
+
+        private CachedGridResult(final List<CachedGridRow> rows, final Map<Long, Set<String>> rowStyles,
+                final int totalEntities, final int firstResult, final long generation) {
+            this.rows = ImmutableList.copyOf(rows);
+            this.rowStyles = copyOf(rowStyles);
+            this.totalEntities = totalEntities;
+            this.firstResult = firstResult;
+            this.generation = generation;
+        }
+
+        public List<CachedGridRow> getRows() {
+            return rows;
+        }
+
+        public Map<Long, Set<String>> getRowStyles() {
+            return rowStyles;
+        }
+
+        public int getTotalEntities() {
+            return totalEntities;
+        }
+
+        public int getFirstResult() {
+            return firstResult;
+        }
+
+        long getGeneration() {
+            return generation;
+        }
+
+        boolean isOlderThan(final int ttl) {
+            return System.nanoTime() - createTime > TimeUnit.SECONDS.toNanos(ttl);
+        }
+
+        private static Map<Long, Set<String>> copyOf(final Map<Long, Set<String>> rowStyles) {
+            ImmutableMap.Builder<Long, Set<String>> copy = ImmutableMap.builder();
+
+            for (Map.Entry<Long, Set<String>> entityToStyles : rowStyles.entrySet()) {
+                copy.put(entityToStyles.getKey(), ImmutableSet.copyOf(entityToStyles.getValue()));
+            }
+
+            return copy.build();
+        }
+
+    }
+
+    /**
+     * Immutable snapshot of a rendered grid row.
+     */
+    public static final class CachedGridRow {
+
+        private final Long id;
+
+        private final boolean active;
+
+        private final Map<String, String> values;
+
+        public CachedGridRow(final Long id, final boolean active, final Map<String, String> values) {
+            this.id = id;
+            this.active = active;
+            // column values may be null, which immutable maps don't accept
+            this.values = Collections.unmodifiableMap(Maps.newLinkedHashMap(values));
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public Map<String, String> getValues() {
+            return values;
+        }
+
+    }
+
+}
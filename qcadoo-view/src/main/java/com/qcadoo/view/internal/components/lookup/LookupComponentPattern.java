@@ -39,6 +39,7 @@ import org.w3c.dom.NodeList;
 import com.google.common.collect.ImmutableMap;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.FieldDefinition;
+import com.qcadoo.model.api.search.SearchRestrictions.SearchMatchMode;
 import com.qcadoo.model.api.types.JoinFieldHolder;
 import com.qcadoo.view.api.ComponentState;
 import com.qcadoo.view.api.ribbon.RibbonActionItem.Type;
@@ -90,6 +91,8 @@ public class LookupComponentPattern extends FieldComponentPattern {
 
     private boolean onlyActive = true;
 
+    private SearchMatchMode autocompleteMatchMode = SearchMatchMode.ANYWHERE;
+
     private ModalDimensions modalDimensions;
 
     private InternalViewDefinition lookupViewDefinition;
@@ -160,6 +163,9 @@ public class LookupComponentPattern extends FieldComponentPattern {
                 prioritizable = Boolean.parseBoolean(option.getValue());
             } else if ("onlyActive".equals(option.getType())) {
                 onlyActive = Boolean.parseBoolean(option.getValue());
+            } else if ("autocompleteMatchMode".equals(option.getType())) {
+                // START can use an index on lower(code) with text_pattern_ops, ANYWHERE needs a trigram index to avoid full scans
+                autocompleteMatchMode = SearchMatchMode.valueOf(option.getValue().toUpperCase(Locale.ENGLISH));
             } else if ("textRepresentationOnDisabled".equals(option.getType())) {
                 textRepresentationOnDisabled = Boolean.parseBoolean(option.getValue());
             } else if ("boldTextRepresentationOnDisabled".equals(option.getType())) {
@@ -201,7 +207,8 @@ public class LookupComponentPattern extends FieldComponentPattern {
                 option = new ComponentOption("searchable", newAttributes);
                 grid.addOption(option);
             } else if (!"expression".equals(option.getType()) && !"fieldCode".equals(option.getType())
-                    && !"textRepresentationOnDisabled".equals(option.getType()) && !"labelWidth".equals(option.getType())) {
+                    && !"textRepresentationOnDisabled".equals(option.getType()) && !"labelWidth".equals(option.getType())
+                    && !"autocompleteMatchMode".equals(option.getType())) {
                 grid.addOption(option);
             }
         }
@@ -378,4 +385,8 @@ public class LookupComponentPattern extends FieldComponentPattern {
         return onlyActive;
     }
 
+    SearchMatchMode getAutocompleteMatchMode() {
+        return autocompleteMatchMode;
+    }
+
 }
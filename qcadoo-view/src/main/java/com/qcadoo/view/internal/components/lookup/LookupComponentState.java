@@ -74,6 +74,8 @@ public final class LookupComponentState extends FieldComponentState implements L
 
     private static final String CRITERIA_MODIFIER_NOT_PRESENT = "There is no critieria modifier. Filter value is not present.";
 
+    private static final int MAX_AUTOCOMPLETE_MATCHES = 25;
+
     private final LookupEventPerformer eventPerformer = new LookupEventPerformer();
 
     private final FieldDefinition belongsToFieldDefinition;
@@ -107,6 +109,8 @@ public final class LookupComponentState extends FieldComponentState implements L
     private final CriteriaModifier criteriaModifier;
 
     private final FilterValueHolder criteriaModifierParameter;
+
+    private final SearchMatchMode autocompleteMatchMode;
     
     public LookupComponentState(final FieldDefinition scopeField, final String fieldCode, final String expression,
             final LookupComponentPattern pattern) {
@@ -117,6 +121,7 @@ public final class LookupComponentState extends FieldComponentState implements L
         this.criteriaModifier = pattern.getCriteriaModifier();
         this.criteriaModifierParameter = this.criteriaModifier != null ? new FilterValueHolderImpl() : null;
         this.onlyActive = pattern.isOnlyActive();
+        this.autocompleteMatchMode = pattern.getAutocompleteMatchMode();
         registerEvent("initialize", eventPerformer, "initialize");
         registerEvent("autompleteSearch", eventPerformer, "autompleteSearch");
         registerEvent("onSelectedEntityChange", eventPerformer, "onSelectedEntityChange");
@@ -266,7 +271,12 @@ public final class LookupComponentState extends FieldComponentState implements L
                 SearchCriteriaBuilder searchCriteriaBuilder = getDataDefinition().find();
 
                 if(StringUtils.hasText(currentCode)){
-                    searchCriteriaBuilder.add(SearchRestrictions.ilike(fieldCode, currentCode, SearchMatchMode.ANYWHERE));
+                    if (autocompleteMatchMode == SearchMatchMode.START) {
+                        // unlike PostgreSQL's ilike, lower(code) like 'x%' can use an index on lower(code)
+                        searchCriteriaBuilder.add(SearchRestrictions.lowerCaseLike(fieldCode, currentCode, autocompleteMatchMode));
+                    } else {
+                        searchCriteriaBuilder.add(SearchRestrictions.ilike(fieldCode, currentCode, autocompleteMatchMode));
+                    }
                 }
                 
                 if (belongsToFieldDefinition != null && belongsToEntityId != null
@@ -291,13 +301,14 @@ public final class LookupComponentState extends FieldComponentState implements L
                     criteriaModifier.modifyCriteria(searchCriteriaBuilder, criteriaModifierParameter);
                 }
 
-                searchCriteriaBuilder.setMaxResults(25);
-                
-                SearchResult results = searchCriteriaBuilder.list();
+                // one extra row tells whether there are too many matches, counting all of them would scan the whole table
+                searchCriteriaBuilder.setMaxResults(MAX_AUTOCOMPLETE_MATCHES + 1);
+
+                SearchResult results = searchCriteriaBuilder.listWithoutCount();
 
-                autocompleteEntitiesNumber = results.getTotalNumberOfEntities();
+                autocompleteEntitiesNumber = results.getEntities().size();
 
-                if (results.getTotalNumberOfEntities() > 25) {
+                if (autocompleteEntitiesNumber > MAX_AUTOCOMPLETE_MATCHES) {
                     autocompleteMatches = new LinkedList<>();
                     
                 } else {
@@ -44,11 +44,11 @@ import com.qcadoo.model.api.EntityTree;
 import com.qcadoo.model.api.EntityTreeNode;
 import com.qcadoo.model.api.FieldDefinition;
 import com.qcadoo.model.api.expression.ExpressionUtils;
-import com.qcadoo.model.api.search.SearchCriteriaBuilder;
 import com.qcadoo.model.api.search.SearchRestrictions;
 import com.qcadoo.model.api.types.TreeType;
 import com.qcadoo.model.api.utils.TreeNumberingServiceImpl;
 import com.qcadoo.model.internal.DetachedEntityTreeImpl;
+import com.qcadoo.model.internal.EntityTreeImpl;
 import com.qcadoo.view.api.components.TreeComponent;
 import com.qcadoo.view.internal.components.FieldComponentState;
 
@@ -189,9 +189,7 @@ public final class TreeComponentState extends FieldComponentState implements Tre
             return null;
         }
 
-        Entity entity = belongsToFieldDefinition.getDataDefinition().get(belongsToEntityId);
-
-        EntityTree tree = entity.getTreeField(belongsToFieldDefinition.getName());
+        EntityTree tree = getTree();
 
         nodes = new HashMap<Long, Entity>();
 
@@ -255,8 +253,7 @@ public final class TreeComponentState extends FieldComponentState implements Tre
         if (tree instanceof DetachedEntityTreeImpl) {
             return ((DetachedEntityTreeImpl) tree).checkIfTreeContainsEntity(entityId);
         }
-        SearchCriteriaBuilder searchBuilder = tree.find().add(SearchRestrictions.idEq(entityId));
-        return searchBuilder.list().getTotalNumberOfEntities() > 0;
+        return tree.find().add(SearchRestrictions.idEq(entityId)).exists();
     }
 
     /*
@@ -303,11 +300,10 @@ public final class TreeComponentState extends FieldComponentState implements Tre
         if (belongsToEntityId == null) {
             return;
         }
-        Entity entity = belongsToFieldDefinition.getDataDefinition().get(belongsToEntityId);
 
-        EntityTree tree = entity.getTreeField(belongsToFieldDefinition.getName());
+        EntityTree tree = getTree();
 
-        if (tree == null || tree.getRoot() == null) {
+        if (tree.getRoot() == null) {
             return;
         }
 
@@ -317,6 +313,12 @@ public final class TreeComponentState extends FieldComponentState implements Tre
         }
     }
 
+    private EntityTree getTree() {
+        TreeType treeType = (TreeType) belongsToFieldDefinition.getType();
+
+        return new EntityTreeImpl(treeType.getDataDefinition(), treeType.getJoinFieldName(), belongsToEntityId);
+    }
+
     private TreeNode createNode(final EntityTreeNode entityTreeNode, final Deque<String> nodeNumberChain) {
         entityTreeNode.setField(NODE_NUMBER_FIELD, TreeNumberingServiceImpl.convertCollectionToString(nodeNumberChain));
 
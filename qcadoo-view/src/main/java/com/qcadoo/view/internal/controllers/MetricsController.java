@@ -0,0 +1,143 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.controllers;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricsService;
+
+/**
+ * Publishes metrics for monitoring tools. Access is restricted to administrators in qcadoo-security-context.xml, scrapers are
+ * expected to authenticate with HTTP basic credentials of such user.
+ */
+@Controller
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @ResponseBody
+    @RequestMapping(value = "/json", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public JSONObject getMetricsAsJson() {
+        JSONArray samples = new JSONArray();
+
+        try {
+            for (MetricSample sample : metricsService.getSamples()) {
+                JSONObject sampleJson = new JSONObject();
+                sampleJson.put("name", sample.getName());
+                sampleJson.put("labels", new JSONObject(sample.getLabels()));
+                sampleJson.put("value", Double.isNaN(sample.getValue()) || Double.isInfinite(sample.getValue()) ? JSONObject.NULL
+                        : sample.getValue());
+                samples.put(sampleJson);
+            }
+
+            return new JSONObject().put("samples", samples);
+        } catch (JSONException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "/prometheus", method = RequestMethod.GET, produces = PROMETHEUS_CONTENT_TYPE)
+    public String getMetricsAsPrometheusText() {
+        return formatPrometheusText(metricsService.getSamples());
+    }
+
+    static String formatPrometheusText(final List<MetricSample> samples) {
+        StringBuilder text = new StringBuilder();
+
+        // all samples of one family have to be written together, right after their TYPE line
+        ImmutableListMultimap<String, MetricSample> samplesByFamily = Multimaps.index(samples, MetricSample::getFamily);
+
+        for (String family : samplesByFamily.keySet()) {
+            List<MetricSample> familySamples = samplesByFamily.get(family);
+
+            text.append("# TYPE ").append(family).append(' ').append(familySamples.get(0).getType().getPrometheusName())
+                    .append('\n');
+
+            for (MetricSample sample : familySamples) {
+                appendSample(text, sample);
+            }
+        }
+
+        return text.toString();
+    }
+
+    private static void appendSample(final StringBuilder text, final MetricSample sample) {
+        text.append(sample.getName());
+
+        if (!sample.getLabels().isEmpty()) {
+            text.append('{');
+
+            boolean first = true;
+
+            for (Entry<String, String> label : sample.getLabels().entrySet()) {
+                if (!first) {
+                    text.append(',');
+                }
+                first = false;
+
+                text.append(label.getKey()).append("=\"").append(escapeLabelValue(label.getValue())).append('"');
+            }
+
+            text.append('}');
+        }
+
+        text.append(' ').append(formatValue(sample.getValue())).append('\n');
+    }
+
+    private static String escapeLabelValue(final String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String formatValue(final double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+}
@@ -25,6 +25,7 @@ package com.qcadoo.view.internal.crud;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -34,6 +35,9 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.ModelAndView;
 
 import com.google.common.base.Preconditions;
+import com.qcadoo.model.api.metrics.MetricsService;
+import com.qcadoo.model.api.metrics.QueryProfile;
+import com.qcadoo.model.api.metrics.QueryProfilingService;
 import com.qcadoo.view.api.ViewDefinitionState;
 import com.qcadoo.view.api.crud.CrudService;
 import com.qcadoo.view.internal.api.InternalComponentState;
@@ -43,9 +47,19 @@ import com.qcadoo.view.internal.api.ViewDefinitionService;
 @Service
 public class CrudServiceImpl implements CrudService {
 
+    private static final String L_EVENT_DURATION = "qcadoo_view_event_duration_seconds";
+
+    private static final String L_PROFILING = "profiling";
+
     @Autowired
     private ViewDefinitionService viewDefinitionService;
 
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private QueryProfilingService queryProfilingService;
+
     @Override
     public ModelAndView prepareView(final String pluginIdentifier, final String viewName, final Map<String, String> arguments,
             final Locale locale) {
@@ -99,8 +113,43 @@ public class CrudServiceImpl implements CrudService {
     @Override
     public JSONObject invokeEventAndRenderView(final String pluginIdentifier, final String viewName, final JSONObject body,
             final Locale locale) {
-        ViewDefinitionState state = invokeEvent(pluginIdentifier, viewName, body, locale);
-        return renderView(state);
+        long start = System.nanoTime();
+        boolean profileFinished = false;
+
+        queryProfilingService.startProfile(pluginIdentifier + "/" + viewName);
+
+        try {
+            ViewDefinitionState state = invokeEvent(pluginIdentifier, viewName, body, locale);
+            JSONObject json = renderView(state);
+
+            // recorded only for views which really exist, so unknown names from URL can't flood the registry
+            metricsService.recordTime(L_EVENT_DURATION, "view", pluginIdentifier + "/" + viewName, System.nanoTime() - start);
+
+            QueryProfile queryProfile = queryProfilingService.finishProfile();
+            profileFinished = true;
+
+            if (queryProfile != null) {
+                json.put(L_PROFILING, renderQueryProfile(queryProfile));
+            }
+
+            return json;
+        } catch (JSONException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } finally {
+            if (!profileFinished) {
+                queryProfilingService.finishProfile();
+            }
+        }
+    }
+
+    private JSONObject renderQueryProfile(final QueryProfile queryProfile) throws JSONException {
+        JSONObject json = new JSONObject();
+
+        json.put("queries", queryProfile.getQueryCount());
+        json.put("databaseTime", TimeUnit.NANOSECONDS.toMillis(queryProfile.getDatabaseTimeInNanos()));
+        json.put("repeatedStatements", new JSONObject(queryProfile.getRepeatedStatements()));
+
+        return json;
     }
 
     @Override
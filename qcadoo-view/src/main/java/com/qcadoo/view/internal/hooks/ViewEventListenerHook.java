@@ -28,6 +28,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.springframework.context.ApplicationContext;
 
 import com.qcadoo.model.internal.hooks.HookInitializationException;
+import com.qcadoo.model.internal.metrics.QueryProfiler;
 import com.qcadoo.view.api.ComponentState;
 import com.qcadoo.view.api.ViewDefinitionState;
 import com.qcadoo.view.internal.internal.EventHandlerHolder;
@@ -50,7 +51,16 @@ public class ViewEventListenerHook extends AbstractViewHookDefinition implements
     @Override
     public void invokeEvent(final ViewDefinitionState viewDefinitionState, final ComponentState eventPerformer,
             final String[] args) {
-        performCall(viewDefinitionState, eventPerformer, args);
+        boolean originPushed = QueryProfiler.pushOrigin(() -> "event " + eventName + " of component "
+                + (eventPerformer == null ? null : eventPerformer.getName()));
+
+        try {
+            performCall(viewDefinitionState, eventPerformer, args);
+        } finally {
+            if (originPushed) {
+                QueryProfiler.popOrigin();
+            }
+        }
     }
 
     public String getEventName() {
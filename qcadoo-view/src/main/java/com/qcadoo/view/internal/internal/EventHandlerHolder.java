@@ -23,20 +23,40 @@
  */
 package com.qcadoo.view.internal.internal;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
-import com.qcadoo.plugin.api.PluginUtils;
 import com.qcadoo.view.api.ComponentState;
 import com.qcadoo.view.api.ViewDefinitionState;
 import com.qcadoo.view.internal.hooks.ViewEventListenerHook;
 
 public final class EventHandlerHolder {
 
+    private static final MethodType EVENT_METHOD_TYPE = MethodType.methodType(void.class, Object.class, String[].class);
+
+    /**
+     * Event methods resolved once per event performer class and shared between all component states.
+     */
+    private static final ClassValue<ConcurrentMap<String, MethodHandle>> EVENT_METHODS = new ClassValue<ConcurrentMap<String, MethodHandle>>() {
+
+        @Override
+        protected ConcurrentMap<String, MethodHandle> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<String, MethodHandle>();
+        }
+    };
+
     private final ComponentState owner;
 
     public EventHandlerHolder(final ComponentState owner) {
@@ -45,12 +65,29 @@ public final class EventHandlerHolder {
 
     private final Map<String, List<EventHandler>> eventHandlers = Maps.newHashMap();
 
+    /**
+     * Custom event listeners, shared with the component pattern and all its other states.
+     */
+    private ListMultimap<String, ViewEventListenerHook> customEventHandlers = ImmutableListMultimap.of();
+
+    /**
+     * Sets the dispatch table of custom event listeners, built once per component pattern.
+     * 
+     * @param customEventHandlers
+     *            immutable custom event listeners by event name
+     */
+    public void setCustomEvents(final ImmutableListMultimap<String, ViewEventListenerHook> customEventHandlers) {
+        this.customEventHandlers = customEventHandlers;
+    }
+
     public void registerCustomEvent(final ViewEventListenerHook eventListenerHook) {
-        registerEvent(eventListenerHook.getEventName(), eventListenerHook);
+        ListMultimap<String, ViewEventListenerHook> handlers = ArrayListMultimap.create(customEventHandlers);
+        handlers.put(eventListenerHook.getEventName(), eventListenerHook);
+        customEventHandlers = ImmutableListMultimap.copyOf(handlers);
     }
 
     public void registerEvent(final String event, final Object obj, final String method) {
-        registerEvent(event, new DefaultEventHandler(obj, method, null));
+        registerEvent(event, new DefaultEventHandler(obj, getEventMethod(obj.getClass(), method)));
     }
 
     private void registerEvent(final String event, final EventHandler eventHandler) {
@@ -61,53 +98,80 @@ public final class EventHandlerHolder {
     }
 
     public void performEvent(final ViewDefinitionState viewDefinitionState, final String event, final String... args) {
-        if (!eventHandlers.containsKey(event)) {
-            return;
+        if (eventHandlers.containsKey(event)) {
+            for (EventHandler eventHandler : eventHandlers.get(event)) {
+                eventHandler.invokeEvent(viewDefinitionState, owner, args);
+            }
         }
-        for (EventHandler eventHandler : eventHandlers.get(event)) {
+        for (EventHandler eventHandler : customEventHandlers.get(event)) {
             eventHandler.invokeEvent(viewDefinitionState, owner, args);
         }
     }
 
+    /**
+     * Returns handlers of given event, in order of invocation.
+     * 
+     * @param event
+     *            event name
+     * @return event handlers
+     */
+    public List<EventHandler> getEventHandlers(final String event) {
+        List<EventHandler> handlers = new ArrayList<EventHandler>();
+        if (eventHandlers.containsKey(event)) {
+            handlers.addAll(eventHandlers.get(event));
+        }
+        handlers.addAll(customEventHandlers.get(event));
+        return handlers;
+    }
+
+    private static MethodHandle getEventMethod(final Class<?> clazz, final String methodName) {
+        ConcurrentMap<String, MethodHandle> eventMethods = EVENT_METHODS.get(clazz);
+        MethodHandle eventMethod = eventMethods.get(methodName);
+        if (eventMethod == null) {
+            eventMethod = resolveEventMethod(clazz, methodName);
+            eventMethods.putIfAbsent(methodName, eventMethod);
+        }
+        return eventMethod;
+    }
+
+    private static MethodHandle resolveEventMethod(final Class<?> clazz, final String methodName) {
+        try {
+            Method method = clazz.getDeclaredMethod(methodName, String[].class);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asFixedArity().asType(EVENT_METHOD_TYPE);
+        } catch (SecurityException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
     public interface EventHandler {
 
         void invokeEvent(final ViewDefinitionState viewDefinitionState, final ComponentState eventPerformer, final String[] args);
     }
 
-    private class DefaultEventHandler implements EventHandler {
+    private static final class DefaultEventHandler implements EventHandler {
 
-        private final Method method;
+        private final MethodHandle eventMethod;
 
         private final Object obj;
 
-        private final String pluginIdentifier;
-
-        public DefaultEventHandler(final Object obj, final String method, final String pluginIdentifier) {
+        public DefaultEventHandler(final Object obj, final MethodHandle eventMethod) {
             this.obj = obj;
-            this.pluginIdentifier = pluginIdentifier;
-            try {
-                this.method = obj.getClass().getDeclaredMethod(method, String[].class);
-            } catch (SecurityException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            } catch (NoSuchMethodException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            }
+            this.eventMethod = eventMethod;
         }
 
         @Override
         public void invokeEvent(final ViewDefinitionState viewDefinitionState, final ComponentState eventPerformer,
                 final String[] args) {
-            if (pluginIdentifier != null && !PluginUtils.isEnabled(pluginIdentifier)) {
-                return;
-            }
             try {
-                method.invoke(obj, new Object[] { args });
-            } catch (IllegalArgumentException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            } catch (IllegalAccessException e) {
-                throw new IllegalStateException(e.getMessage(), e);
-            } catch (InvocationTargetException e) {
-                throw new IllegalStateException(e.getMessage(), e);
+                eventMethod.invokeExact(obj, args);
+            } catch (Throwable throwable) {
+                Throwables.propagateIfPossible(throwable);
+                throw new IllegalStateException(throwable.getMessage(), throwable);
             }
         }
     }
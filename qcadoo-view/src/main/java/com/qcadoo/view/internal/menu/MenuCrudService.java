@@ -62,12 +62,12 @@ public class MenuCrudService {
 
     public List<Entity> getSortedMenuCategories() {
         return getDataDefinition(QcadooViewConstants.MODEL_CATEGORY).find()
-                .addOrder(SearchOrders.asc(MenuCategoryFields.SUCCESSION)).list().getEntities();
+                .addOrder(SearchOrders.asc(MenuCategoryFields.SUCCESSION)).listWithoutCount().getEntities();
     }
 
     public Iterable<Entity> getSortedMenuCategoryItems(final Entity menuCategory) {
         return getDataDefinition(QcadooViewConstants.MODEL_ITEM).find().add(belongsTo(MenuItemFields.CATEGORY, menuCategory))
-                .addOrder(SearchOrders.asc(MenuItemFields.SUCCESSION)).list().getEntities();
+                .addOrder(SearchOrders.asc(MenuItemFields.SUCCESSION)).listWithoutCount().getEntities();
     }
 
     public int getTotalNumberOfCategories() {
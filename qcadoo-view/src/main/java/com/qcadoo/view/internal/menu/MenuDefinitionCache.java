@@ -0,0 +1,213 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.menu;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.EntityChangeListener;
+import com.qcadoo.plugin.api.Plugin;
+import com.qcadoo.plugin.api.PluginStateChangeListener;
+import com.qcadoo.tenant.api.MultiTenantService;
+import com.qcadoo.view.constants.QcadooViewConstants;
+
+/**
+ * Cache of built menus, keyed by tenant, current user's roles and locale.
+ * 
+ * All entries are invalidated when menu categories, items, views or custom translations are saved or deleted and when any plugin
+ * changes its state - once right away and once again when the modifying transaction completes.
+ */
+@Service
+public class MenuDefinitionCache implements EntityChangeListener, PluginStateChangeListener {
+
+    private static final String L_CUSTOM_TRANSLATION_PLUGIN_IDENTIFIER = "qcadooCustomTranslation";
+
+    private static final Set<String> MENU_MODELS = ImmutableSet.of(QcadooViewConstants.MODEL_CATEGORY,
+            QcadooViewConstants.MODEL_ITEM, QcadooViewConstants.MODEL_VIEW);
+
+    @Value("${menuCache.maximumSize:500}")
+    private long maximumSize;
+
+    @Autowired
+    private MultiTenantService multiTenantService;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private Cache<String, CachedMenuDefinition> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Returns key of menu for the current tenant, user and given locale.
+     * 
+     * @param locale
+     *            locale
+     * @return cache key
+     */
+    public String createKey(final Locale locale) {
+        return multiTenantService.getCurrentTenantId() + "|" + getRolesSignature() + "|" + locale;
+    }
+
+    /**
+     * Returns current generation of cache, it has to be taken before menu is built and passed to
+     * {@link #put(String, long, MenuDefinition)}.
+     * 
+     * @return current generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Returns cached menu or null if there is no valid menu for given key.
+     * 
+     * @param key
+     *            cache key
+     * @return cached menu or null
+     */
+    public MenuDefinition get(final String key) {
+        CachedMenuDefinition cachedMenuDefinition = cache.getIfPresent(key);
+
+        if (cachedMenuDefinition == null) {
+            return null;
+        }
+        if (cachedMenuDefinition.getGeneration() != generation.get()) {
+            cache.invalidate(key);
+
+            return null;
+        }
+
+        return cachedMenuDefinition.getMenuDefinition();
+    }
+
+    public void put(final String key, final long menuGeneration, final MenuDefinition menuDefinition) {
+        if (menuGeneration == generation.get()) {
+            cache.put(key, new CachedMenuDefinition(menuDefinition, menuGeneration));
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    generation.incrementAndGet();
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onSave(final DataDefinition dataDefinition, final Entity savedEntity) {
+        invalidateIfAffectsMenu(dataDefinition);
+    }
+
+    @Override
+    public void onDelete(final DataDefinition dataDefinition, final Long entityId) {
+        invalidateIfAffectsMenu(dataDefinition);
+    }
+
+    @Override
+    public void onBulkUpdate(final DataDefinition dataDefinition) {
+        invalidateIfAffectsMenu(dataDefinition);
+    }
+
+    @Override
+    public void onPluginStateChange(final Plugin plugin) {
+        invalidate();
+    }
+
+    private void invalidateIfAffectsMenu(final DataDefinition dataDefinition) {
+        String pluginIdentifier = dataDefinition.getPluginIdentifier();
+
+        if ((QcadooViewConstants.PLUGIN_IDENTIFIER.equals(pluginIdentifier) && MENU_MODELS.contains(dataDefinition.getName()))
+                || L_CUSTOM_TRANSLATION_PLUGIN_IDENTIFIER.equals(pluginIdentifier)) {
+            invalidate();
+        }
+    }
+
+    private String getRolesSignature() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null) {
+            return "";
+        }
+
+        Set<String> roles = Sets.newTreeSet();
+
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            roles.add(authority.getAuthority());
+        }
+
+        return roles.toString();
+    }
+
+    private static final class CachedMenuDefinition {
+
+        private final MenuDefinition menuDefinition;
+
+        private final long generation;
+
+        private CachedMenuDefinition(final MenuDefinition menuDefinition, final long generation) {
+            this.menuDefinition = menuDefinition;
+            this.generation = generation;
+        }
+
+        public MenuDefinition getMenuDefinition() {
+            return menuDefinition;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+    }
+
+}
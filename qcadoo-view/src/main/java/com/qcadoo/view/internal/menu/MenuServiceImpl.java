@@ -72,10 +72,29 @@ public final class MenuServiceImpl implements InternalMenuService {
     @Autowired
     private ViewDefinitionService viewDefinitionService;
 
+    @Autowired
+    private MenuDefinitionCache menuDefinitionCache;
+
     @Override
     @Transactional(readOnly = true)
     @Monitorable
     public MenuDefinition getMenu(final Locale locale) {
+        String cacheKey = menuDefinitionCache.createKey(locale);
+
+        MenuDefinition menuDefinition = menuDefinitionCache.get(cacheKey);
+
+        if (menuDefinition == null) {
+            long generation = menuDefinitionCache.getGeneration();
+
+            menuDefinition = buildMenu(locale);
+
+            menuDefinitionCache.put(cacheKey, generation, menuDefinition);
+        }
+
+        return menuDefinition;
+    }
+
+    private MenuDefinition buildMenu(final Locale locale) {
         MenuDefinition menuDefinition = new MenuDefinition();
 
         List<Entity> menuCategories = menuCrudService.getSortedMenuCategories();
@@ -23,6 +23,9 @@
  */
 package com.qcadoo.view.internal.patterns;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.qcadoo.localization.api.TranslationService;
@@ -106,7 +109,7 @@ public abstract class AbstractComponentPattern implements ComponentPattern {
 
     private final List<ComponentOption> options = Lists.newArrayList();
 
-    private final List<ViewEventListenerHook> customEventListeners = Lists.newArrayList();
+    private volatile ImmutableListMultimap<String, ViewEventListenerHook> customEventListeners = ImmutableListMultimap.of();
 
     private String script;
     
@@ -222,9 +225,7 @@ public abstract class AbstractComponentPattern implements ComponentPattern {
         state.setVisible(isDefaultVisible());
         state.setTranslationService(translationService);
         state.setTranslationPath(getTranslationPath());
-        for (ViewEventListenerHook customEventListener : customEventListeners) {
-            state.registerCustomEvent(customEventListener);
-        }
+        state.setCustomEvents(customEventListeners);
         if (viewDefinitionState != null) {
             viewDefinitionState.registerComponent(getReference(), state);
         }
@@ -631,13 +632,17 @@ public abstract class AbstractComponentPattern implements ComponentPattern {
     }
 
     @Override
-    public void addCustomEvent(final ViewEventListenerHook eventListenerHook) {
-        customEventListeners.add(eventListenerHook);
+    public synchronized void addCustomEvent(final ViewEventListenerHook eventListenerHook) {
+        ListMultimap<String, ViewEventListenerHook> listeners = ArrayListMultimap.create(customEventListeners);
+        listeners.put(eventListenerHook.getEventName(), eventListenerHook);
+        customEventListeners = ImmutableListMultimap.copyOf(listeners);
     }
 
     @Override
-    public void removeCustomEvent(final ViewEventListenerHook eventListenerHook) {
-        customEventListeners.remove(eventListenerHook);
+    public synchronized void removeCustomEvent(final ViewEventListenerHook eventListenerHook) {
+        ListMultimap<String, ViewEventListenerHook> listeners = ArrayListMultimap.create(customEventListeners);
+        listeners.remove(eventListenerHook.getEventName(), eventListenerHook);
+        customEventListeners = ImmutableListMultimap.copyOf(listeners);
     }
 
     @Override
@@ -23,6 +23,7 @@
  */
 package com.qcadoo.view.internal.states;
 
+import com.google.common.collect.ImmutableListMultimap;
 import com.qcadoo.localization.api.TranslationService;
 import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.validators.ErrorMessage;
@@ -277,6 +278,10 @@ public abstract class AbstractComponentState implements InternalComponentState,
 
     protected abstract void initializeContent(final JSONObject json) throws JSONException;
 
+    public final void setCustomEvents(final ImmutableListMultimap<String, ViewEventListenerHook> customEventListeners) {
+        eventHandlerHolder.setCustomEvents(customEventListeners);
+    }
+
     public final void registerCustomEvent(final ViewEventListenerHook eventListenerHook) {
         eventHandlerHolder.registerCustomEvent(eventListenerHook);
     }
@@ -126,45 +126,65 @@ QCD.Notifications = function () {
         var audio = new Audio('/qcadooView/public/alarm.mp3');
 
         if (dbNotificationsEnabled) {
-            var dbNotifications = function () {
+            var showDbNotifications = function (data) {
+                if (data instanceof Array) {
+                    for (var k in data) {
+                        var n = noty(
+                        {
+                            layout: 'top',
+                            theme: 'relax', // or 'relax'
+                            type: data[k].type,
+                            text: data[k].message,
+                            dismissQueue: true, // If you want to use queue feature set this true
+                            template: '<div class="noty_message"><span class="noty_text"></span><div class="noty_close"></div></div>',
+                            animation: {
+                                open: 'animated fadeInDown', // Animate.css class names
+                                close: 'animated fadeOutUp', // Animate.css class names
+                                easing: 'swing', // unavailable - no need
+                                speed: 500 // unavailable - no need
+                            },
+                            timeout: false, // delay for closing event. Set false for sticky notifications
+                            force: false, // adds notification to the beginning of queue when set to true
+                            modal: false,
+                            maxVisible: 3, // you can set max visible notification for dismissQueue true option,
+                            killer: false, // for close all notifications before show
+                            closeWith: ['button'], // ['click', 'button', 'hover', 'backdrop'] // backdrop click will close all notifications
+                            buttons: false // an array of buttons
+                        });
+
+                        if (data[k].sound) {
+                            audio.play();
+                        }
+                    }
+                }
+            };
 
-                $.get('/rest/alert', function(data) {
-                    if (data instanceof Array) {
-                        for (var k in data) {
-                            var n = noty(
-                            {
-                                layout: 'top',
-                                theme: 'relax', // or 'relax'
-                                type: data[k].type,
-                                text: data[k].message,
-                                dismissQueue: true, // If you want to use queue feature set this true
-                                template: '<div class="noty_message"><span class="noty_text"></span><div class="noty_close"></div></div>',
-                                animation: {
-                                    open: 'animated fadeInDown', // Animate.css class names
-                                    close: 'animated fadeOutUp', // Animate.css class names
-                                    easing: 'swing', // unavailable - no need
-                                    speed: 500 // unavailable - no need
-                                },
-                                timeout: false, // delay for closing event. Set false for sticky notifications
-                                force: false, // adds notification to the beginning of queue when set to true
-                                modal: false,
-                                maxVisible: 3, // you can set max visible notification for dismissQueue true option,
-                                killer: false, // for close all notifications before show
-                                closeWith: ['button'], // ['click', 'button', 'hover', 'backdrop'] // backdrop click will close all notifications
-                                buttons: false // an array of buttons
-                            });
+            var dbNotifications = function () {
+                $.get('/rest/alert', showDbNotifications);
+            };
 
-                            if (data[k].sound) {
-                                audio.play();
-                            }
-                        }
+            // waits for alerts pushed by the server, falls back to polling every 15 minutes when long-poll is unavailable
+            var awaitDbNotifications = function () {
+                $.ajax({
+                    url: '/rest/alert/await',
+                    type: "GET",
+                    dataType: "json"
+                }).done(function (newAlerts) {
+                    if (newAlerts) {
+                        dbNotifications();
                     }
-                });
 
-                setTimeout(dbNotifications, 900000);
-            }
+                    awaitDbNotifications();
+                }).fail(function () {
+                    setTimeout(function () {
+                        dbNotifications();
+                        awaitDbNotifications();
+                    }, 900000);
+                });
+            };
 
             dbNotifications();
+            awaitDbNotifications();
         }
 
         if (systemNotificationsEnabled) {
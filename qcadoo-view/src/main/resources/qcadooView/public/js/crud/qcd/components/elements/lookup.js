@@ -326,6 +326,10 @@ QCD.components.elements.Lookup = function(_element, _mainController) {
 		}
 
 		if (viewState.isFocused) {
+			if (isAutocompleteOutdated()) {
+				// matches of an earlier keystroke, the ones for the current code are still to come
+				return;
+			}
 			lookupDropdown.updateAutocomplete(dataState.autocomplete.matches,
 					dataState.autocomplete.entitiesNumber);
 			lookupDropdown.show();
@@ -345,6 +349,11 @@ QCD.components.elements.Lookup = function(_element, _mainController) {
 		}
 	}
 
+	function isAutocompleteOutdated() {
+		return dataState.autocomplete.code != dataState.currentCode
+				&& (autocompleteRefreshTimeout || elements.loading.is(':visible'));
+	}
+
 	function onInputValueChange(immidiateRefresh) {
 		if (autocompleteRefreshTimeout) {
 			window.clearTimeout(autocompleteRefreshTimeout);
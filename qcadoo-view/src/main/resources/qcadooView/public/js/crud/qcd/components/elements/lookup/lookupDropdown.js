@@ -59,7 +59,7 @@ QCD.components.elements.lookup.Dropdown = function(_lookupDropdownElement, _cont
 		lookupDropdownElement.scrollTop(0);
 		
 		if (_autocompleteEntitiesNumber > MAX_RESULTS) {
-			var noRecordsElement = $("<div>").addClass("lookupMatch_noRecords").html(translations.tooManyResultsInfo+" ("+_autocompleteEntitiesNumber+")");
+			var noRecordsElement = $("<div>").addClass("lookupMatch_noRecords").html(translations.tooManyResultsInfo+" (> "+MAX_RESULTS+")");
 			lookupDropdownElement.append(noRecordsElement);
 			lookupDropdownElement.css("height", (RESULT_HEIGHT-1)+"px");
 		} else if (autocompleteMatches.length == 0) {
@@ -253,6 +253,9 @@ QCD.PageController = function() {
 			if (completeFunction) {
 				completeFunction();
 			}
+			if (response.profiling) {
+				QCD.debug(response.profiling);
+			}
 			if (response.redirect) {
 				var contextPath = window.location.protocol+"//"+window.location.host;
 				var redirectUrl = response.redirect.url.replace(/\$\{root\}/, contextPath);
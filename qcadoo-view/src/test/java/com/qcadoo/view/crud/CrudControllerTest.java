@@ -38,6 +38,8 @@ import org.mockito.Mockito;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.qcadoo.model.api.metrics.MetricsService;
+import com.qcadoo.model.api.metrics.QueryProfilingService;
 import com.qcadoo.view.api.crud.CrudService;
 import com.qcadoo.view.internal.api.InternalComponentState;
 import com.qcadoo.view.internal.api.InternalViewDefinition;
@@ -118,6 +120,8 @@ public class CrudControllerTest {
 
         CrudService crud = new CrudServiceImpl();
         ReflectionTestUtils.setField(crud, "viewDefinitionService", viewDefinitionService);
+        ReflectionTestUtils.setField(crud, "metricsService", mock(MetricsService.class));
+        ReflectionTestUtils.setField(crud, "queryProfilingService", mock(QueryProfilingService.class));
 
         given(viewDefinition.performEvent(jsonBody, Locale.ENGLISH)).willReturn(state);
         given(((InternalComponentState) state).render()).willReturn(jsonResult);
@@ -0,0 +1,68 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.alerts.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.context.request.async.DeferredResult;
+
+public class AlertsNotifierTest {
+
+    private AlertsNotifier alertsNotifier;
+
+    @Before
+    public void init() {
+        alertsNotifier = new AlertsNotifier();
+
+        setField(alertsNotifier, "longPollTimeout", 60L);
+    }
+
+    @Test
+    public void shouldCompleteWaitingResultsWhenNewAlertsAreRegistered() {
+        // given
+        DeferredResult<Boolean> firstResult = alertsNotifier.awaitNewAlerts();
+        DeferredResult<Boolean> secondResult = alertsNotifier.awaitNewAlerts();
+
+        // when
+        alertsNotifier.notifyNewAlerts();
+
+        // then
+        assertTrue(firstResult.isSetOrExpired());
+        assertTrue(secondResult.isSetOrExpired());
+    }
+
+    @Test
+    public void shouldNotCompleteResultsWithoutNewAlerts() {
+        // when
+        DeferredResult<Boolean> result = alertsNotifier.awaitNewAlerts();
+
+        // then
+        assertFalse(result.isSetOrExpired());
+    }
+
+}
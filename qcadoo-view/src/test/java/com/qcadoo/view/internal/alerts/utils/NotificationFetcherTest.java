@@ -0,0 +1,160 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.alerts.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.RestTemplate;
+
+import com.qcadoo.tenant.api.MultiTenantCallback;
+import com.qcadoo.tenant.api.MultiTenantService;
+import com.qcadoo.view.internal.alerts.model.AlertDto;
+
+public class NotificationFetcherTest {
+
+    private NotificationFetcher notificationFetcher;
+
+    @Mock
+    private AlertsDbHelper alertsDbHelper;
+
+    @Mock
+    private AlertsNotifier alertsNotifier;
+
+    @Mock
+    private MultiTenantService multiTenantService;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+
+        willAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                ((MultiTenantCallback) invocation.getArguments()[0]).invoke();
+                return null;
+            }
+
+        }).given(multiTenantService).doInMultiTenantContext(any(MultiTenantCallback.class));
+
+        notificationFetcher = new NotificationFetcher();
+
+        setField(notificationFetcher, "url", "http://sender/alerts/");
+        setField(notificationFetcher, "instanceName", "instance");
+        setField(notificationFetcher, "alertsDbHelper", alertsDbHelper);
+        setField(notificationFetcher, "alertsNotifier", alertsNotifier);
+        setField(notificationFetcher, "multiTenantService", multiTenantService);
+        setField(notificationFetcher, "restTemplate", restTemplate);
+    }
+
+    @After
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldRegisterAlertsWithoutAnyUser() {
+        // given
+        AlertDto alert = new AlertDto();
+        alert.setId(7L);
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("admin", "password"));
+
+        given(
+                restTemplate.exchange(eq("http://sender/alerts/?instanceName=instance"), eq(HttpMethod.GET),
+                        any(HttpEntity.class), Matchers.<ParameterizedTypeReference<List<AlertDto>>> any())).willReturn(
+                new ResponseEntity<List<AlertDto>>(Collections.singletonList(alert), HttpStatus.OK));
+
+        final AtomicBoolean registeredWithoutUser = new AtomicBoolean();
+
+        willAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                registeredWithoutUser.set(SecurityContextHolder.getContext().getAuthentication() == null);
+                return null;
+            }
+
+        }).given(alertsDbHelper).registerAlerts(anyListOf(AlertDto.class));
+
+        // when
+        notificationFetcher.fetchWithoutUser();
+
+        // then
+        assertTrue(registeredWithoutUser.get());
+        assertEquals("admin", SecurityContextHolder.getContext().getAuthentication().getName());
+        verify(restTemplate).exchange(eq("http://sender/alerts/7"), eq(HttpMethod.PUT), any(HttpEntity.class), eq(Void.class));
+        verify(alertsNotifier).notifyNewAlerts();
+    }
+
+    @Test
+    public void shouldNotPropagateFetchingFailure() {
+        // given
+        given(
+                restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                        Matchers.<ParameterizedTypeReference<List<AlertDto>>> any())).willThrow(
+                new IllegalStateException("sender unavailable"));
+
+        // when
+        notificationFetcher.fetchWithoutUser();
+
+        // then
+        verifyZeroInteractions(alertsDbHelper);
+        verify(alertsNotifier, never()).notifyNewAlerts();
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.components.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.google.common.collect.Lists;
+import com.qcadoo.localization.api.TranslationService;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.api.Entity;
+import com.qcadoo.model.api.FieldDefinition;
+import com.qcadoo.model.api.types.FieldType;
+import com.qcadoo.model.internal.types.EnumType;
+
+public class GridComponentColumnPlanTest {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    @Mock
+    private DataDefinition dataDefinition;
+
+    @Mock
+    private TranslationService translationService;
+
+    @Mock
+    private Entity firstEntity;
+
+    @Mock
+    private Entity secondEntity;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+
+        given(dataDefinition.getPluginIdentifier()).willReturn("somePlugin");
+        given(dataDefinition.getName()).willReturn("someModel");
+    }
+
+    private GridComponentColumn mockColumn(final String name, final FieldType fieldType, final boolean hidden) {
+        FieldDefinition fieldDefinition = mock(FieldDefinition.class);
+        given(fieldDefinition.getType()).willReturn(fieldType);
+
+        GridComponentColumn column = mock(GridComponentColumn.class);
+        given(column.getName()).willReturn(name);
+        given(column.getFields()).willReturn(Lists.newArrayList(fieldDefinition));
+        given(column.isHidden()).willReturn(hidden);
+
+        return column;
+    }
+
+    @Test
+    public void shouldTranslateEnumValueOnlyOnce() {
+        // given
+        GridComponentColumn column = mockColumn("state", mock(EnumType.class), false);
+        given(column.getValue(firstEntity, LOCALE)).willReturn("01draft");
+        given(column.getValue(secondEntity, LOCALE)).willReturn("01draft");
+        given(translationService.translate("somePlugin.someModel.state.value.01draft", LOCALE)).willReturn("Draft");
+
+        GridComponentColumnPlan columnPlan = new GridComponentColumnPlan(Lists.newArrayList(column), dataDefinition,
+                translationService, LOCALE);
+
+        // when
+        Map<String, String> firstValues = columnPlan.convertEntityToMap(firstEntity);
+        Map<String, String> secondValues = columnPlan.convertEntityToMap(secondEntity);
+
+        // then
+        assertEquals("Draft", firstValues.get("state"));
+        assertEquals("Draft", secondValues.get("state"));
+        verify(translationService, times(1)).translate("somePlugin.someModel.state.value.01draft", LOCALE);
+    }
+
+    @Test
+    public void shouldTranslateBooleanValues() {
+        // given
+        FieldType fieldType = mock(FieldType.class);
+        given(fieldType.getType()).willAnswer(invocation -> Boolean.class);
+
+        GridComponentColumn column = mockColumn("active", fieldType, false);
+        given(column.getValue(firstEntity, LOCALE)).willReturn("1");
+        given(column.getValue(secondEntity, LOCALE)).willReturn("0");
+        given(translationService.translate("qcadooView.true", LOCALE)).willReturn("yes");
+        given(translationService.translate("qcadooView.false", LOCALE)).willReturn("no");
+
+        GridComponentColumnPlan columnPlan = new GridComponentColumnPlan(Lists.newArrayList(column), dataDefinition,
+                translationService, LOCALE);
+
+        // when
+        Map<String, String> firstValues = columnPlan.convertEntityToMap(firstEntity);
+        Map<String, String> secondValues = columnPlan.convertEntityToMap(secondEntity);
+
+        // then
+        assertEquals("yes", firstValues.get("active"));
+        assertEquals("no", secondValues.get("active"));
+    }
+
+    @Test
+    public void shouldSkipHiddenColumnsInExportedValues() {
+        // given
+        FieldType fieldType = mock(FieldType.class);
+        given(fieldType.getType()).willAnswer(invocation -> String.class);
+
+        GridComponentColumn visibleColumn = mockColumn("number", fieldType, false);
+        GridComponentColumn hiddenColumn = mockColumn("name", fieldType, true);
+        given(visibleColumn.getValue(firstEntity, LOCALE)).willReturn("0001");
+
+        GridComponentColumnPlan columnPlan = new GridComponentColumnPlan(Lists.newArrayList(visibleColumn, hiddenColumn),
+                dataDefinition, translationService, LOCALE);
+
+        // when
+        Map<String, String> values = columnPlan.convertEntityToMap(firstEntity);
+
+        // then
+        assertEquals(1, values.size());
+        assertEquals("0001", values.get("number"));
+        assertEquals(2, columnPlan.getAccessibleColumns().size());
+    }
+
+    @Test
+    public void shouldExportExpressionOnlyColumnValuesAsTheyAre() {
+        // given
+        GridComponentColumn column = mock(GridComponentColumn.class);
+        given(column.getName()).willReturn("fullName");
+        given(column.getFields()).willReturn(Lists.<FieldDefinition> newArrayList());
+        given(column.getValue(firstEntity, LOCALE)).willReturn("John Smith");
+
+        GridComponentColumnPlan columnPlan = new GridComponentColumnPlan(Lists.newArrayList(column), dataDefinition,
+                translationService, LOCALE);
+
+        // when
+        Map<String, String> values = columnPlan.convertEntityToMap(firstEntity);
+
+        // then
+        assertEquals("John Smith", values.get("fullName"));
+        verifyZeroInteractions(translationService);
+    }
+
+}
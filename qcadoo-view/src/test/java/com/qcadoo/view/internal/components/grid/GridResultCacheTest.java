@@ -0,0 +1,235 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.components.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.model.internal.DefaultEntity;
+import com.qcadoo.tenant.api.MultiTenantService;
+import com.qcadoo.view.internal.components.grid.GridResultCache.CachedGridResult;
+import com.qcadoo.view.internal.components.grid.GridResultCache.CachedGridRow;
+import com.qcadoo.view.internal.components.grid.GridResultCache.GridResultCacheKey;
+
+public class GridResultCacheTest {
+
+    private static final int TTL = 60;
+
+    private GridResultCache gridResultCache;
+
+    @Mock
+    private MultiTenantService multiTenantService;
+
+    @Mock
+    private DataDefinition dataDefinition;
+
+    @Mock
+    private DataDefinition otherDataDefinition;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+
+        given(multiTenantService.getCurrentTenantId()).willReturn(1);
+        given(dataDefinition.getPluginIdentifier()).willReturn("somePlugin");
+        given(dataDefinition.getName()).willReturn("someModel");
+        given(otherDataDefinition.getPluginIdentifier()).willReturn("somePlugin");
+        given(otherDataDefinition.getName()).willReturn("otherModel");
+
+        gridResultCache = new GridResultCache();
+
+        setField(gridResultCache, "multiTenantService", multiTenantService);
+        setField(gridResultCache, "maximumSize", 10L);
+        setField(gridResultCache, "maximumTtl", 600L);
+
+        gridResultCache.init();
+    }
+
+    @After
+    public void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private List<CachedGridRow> createRows() {
+        Map<String, String> values = Maps.newLinkedHashMap();
+        values.put("name", "someName");
+        values.put("description", null);
+
+        return Lists.newArrayList(new CachedGridRow(1L, true, values));
+    }
+
+    private void put(final GridResultCacheKey key) {
+        gridResultCache.put(key, createRows(), Collections.<Long, Set<String>> emptyMap(), 1, 0);
+    }
+
+    @Test
+    public void shouldReturnCachedRows() {
+        // given
+        Map<Long, Set<String>> rowStyles = ImmutableMap.<Long, Set<String>> of(1L, ImmutableSet.of("red"));
+        gridResultCache.put(gridResultCache.createKey(dataDefinition, "signature"), createRows(), rowStyles, 1, 0);
+
+        // when
+        CachedGridResult result = gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL);
+
+        // then
+        assertNotNull(result);
+        assertEquals(1, result.getTotalEntities());
+        assertEquals(1, result.getRows().size());
+        assertEquals(Long.valueOf(1L), result.getRows().get(0).getId());
+        assertEquals("someName", result.getRows().get(0).getValues().get("name"));
+        assertNull(result.getRows().get(0).getValues().get("description"));
+        assertEquals(ImmutableSet.of("red"), result.getRowStyles().get(1L));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowToModifyCachedRows() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+        CachedGridResult result = gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL);
+
+        // when
+        result.getRows().get(0).getValues().put("name", "otherName");
+    }
+
+    @Test
+    public void shouldInvalidateResultsAfterBulkUpdate() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        gridResultCache.onBulkUpdate(dataDefinition);
+
+        // then
+        assertNull(gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL));
+    }
+
+    @Test
+    public void shouldNotReturnResultForDifferentSignature() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        CachedGridResult result = gridResultCache.get(gridResultCache.createKey(dataDefinition, "otherSignature"), TTL);
+
+        // then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldInvalidateResultsAfterSave() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        gridResultCache.onSave(dataDefinition, new DefaultEntity(dataDefinition, 1L));
+
+        // then
+        assertNull(gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL));
+    }
+
+    @Test
+    public void shouldNotShareResultsBetweenUsersWithSameRoles() {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("firstUser", null, "ROLE_USER"));
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("secondUser", null, "ROLE_USER"));
+        CachedGridResult result = gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL);
+
+        // then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldInvalidateResultsAfterDelete() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        gridResultCache.onDelete(dataDefinition, 1L);
+
+        // then
+        assertNull(gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL));
+    }
+
+    @Test
+    public void shouldKeepResultsAfterChangeOfOtherDataDefinition() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        gridResultCache.onDelete(otherDataDefinition, 1L);
+
+        // then
+        assertNotNull(gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL));
+    }
+
+    @Test
+    public void shouldNotReturnResultCachedBeforeInvalidation() {
+        // given
+        GridResultCacheKey key = gridResultCache.createKey(dataDefinition, "signature");
+        gridResultCache.onSave(dataDefinition, new DefaultEntity(dataDefinition, 1L));
+
+        // when
+        put(key);
+
+        // then
+        assertNull(gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), TTL));
+    }
+
+    @Test
+    public void shouldNotReturnExpiredResult() {
+        // given
+        put(gridResultCache.createKey(dataDefinition, "signature"));
+
+        // when
+        CachedGridResult result = gridResultCache.get(gridResultCache.createKey(dataDefinition, "signature"), -1);
+
+        // then
+        assertNull(result);
+    }
+
+}
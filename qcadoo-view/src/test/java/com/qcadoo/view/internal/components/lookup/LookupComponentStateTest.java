@@ -23,8 +23,14 @@
  */
 package com.qcadoo.view.internal.components.lookup;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 
 import org.json.JSONException;
@@ -41,7 +47,12 @@ import com.qcadoo.model.api.DataDefinition;
 import com.qcadoo.model.api.Entity;
 import com.qcadoo.model.api.ExpressionService;
 import com.qcadoo.model.api.FieldDefinition;
+import com.qcadoo.model.api.search.SearchCriteriaBuilder;
+import com.qcadoo.model.api.search.SearchOrder;
+import com.qcadoo.model.api.search.SearchResult;
+import com.qcadoo.model.api.search.SearchRestrictions.SearchMatchMode;
 import com.qcadoo.model.internal.ExpressionServiceImpl;
+import com.qcadoo.view.api.ViewDefinitionState;
 
 public class LookupComponentStateTest {
 
@@ -188,4 +199,30 @@ public class LookupComponentStateTest {
         // then
         Assert.assertFalse(result);
     }
+
+    @Test
+    public void shouldLimitAutocompleteMatchesWithoutCountingThem() throws Exception {
+        // given
+        when(componentPattern.getAutocompleteMatchMode()).thenReturn(SearchMatchMode.START);
+        LookupComponentState unscopedLookup = new LookupComponentState(null, "fieldCode", "expression", componentPattern);
+        unscopedLookup.initialize(json, Locale.ENGLISH);
+        unscopedLookup.setDataDefinition(dataDefinition);
+
+        SearchCriteriaBuilder searchCriteriaBuilder = mock(SearchCriteriaBuilder.class);
+        SearchResult searchResult = mock(SearchResult.class);
+        when(dataDefinition.find()).thenReturn(searchCriteriaBuilder);
+        when(searchCriteriaBuilder.addOrder(any(SearchOrder.class))).thenReturn(searchCriteriaBuilder);
+        when(searchCriteriaBuilder.setMaxResults(26)).thenReturn(searchCriteriaBuilder);
+        when(searchCriteriaBuilder.listWithoutCount()).thenReturn(searchResult);
+        when(searchResult.getEntities()).thenReturn(Collections.nCopies(26, entity));
+
+        // when
+        unscopedLookup.performEvent(mock(ViewDefinitionState.class), "autompleteSearch");
+
+        // then
+        verify(searchCriteriaBuilder).setMaxResults(26);
+        verify(searchCriteriaBuilder, never()).list();
+        Assert.assertEquals(26, ReflectionTestUtils.getField(unscopedLookup, "autocompleteEntitiesNumber"));
+        Assert.assertTrue(((List<?>) ReflectionTestUtils.getField(unscopedLookup, "autocompleteMatches")).isEmpty());
+    }
 }
@@ -0,0 +1,59 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.controllers;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.qcadoo.model.api.metrics.MetricSample;
+import com.qcadoo.model.api.metrics.MetricSample.Type;
+
+public class MetricsControllerTest {
+
+    @Test
+    public void shouldFormatSamplesAsPrometheusText() throws Exception {
+        // given
+        MetricSample unlabelled = new MetricSample(Type.COUNTER, "qcadoo_hibernate_queries_total", 12);
+        MetricSample bucket = new MetricSample("qcadoo_view_event_duration_seconds", Type.HISTOGRAM,
+                "qcadoo_view_event_duration_seconds_bucket", ImmutableMap.of("view", "basic/\"products\"", "le", "+Inf"), 3);
+        MetricSample fractional = new MetricSample("qcadoo_hibernate_cache_hit_ratio", "region", "basic", 0.25);
+        MetricSample count = new MetricSample("qcadoo_view_event_duration_seconds", Type.HISTOGRAM,
+                "qcadoo_view_event_duration_seconds_count", ImmutableMap.of("view", "basic/\"products\""), 3);
+
+        // when
+        String text = MetricsController.formatPrometheusText(Lists.newArrayList(unlabelled, bucket, fractional, count));
+
+        // then
+        assertEquals("# TYPE qcadoo_hibernate_queries_total counter\n" + "qcadoo_hibernate_queries_total 12\n"
+                + "# TYPE qcadoo_view_event_duration_seconds histogram\n"
+                + "qcadoo_view_event_duration_seconds_bucket{view=\"basic/\\\"products\\\"\",le=\"+Inf\"} 3\n"
+                + "qcadoo_view_event_duration_seconds_count{view=\"basic/\\\"products\\\"\"} 3\n"
+                + "# TYPE qcadoo_hibernate_cache_hit_ratio gauge\n" + "qcadoo_hibernate_cache_hit_ratio{region=\"basic\"} 0.25\n",
+                text);
+    }
+
+}
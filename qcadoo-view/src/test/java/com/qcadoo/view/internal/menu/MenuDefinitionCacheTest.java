@@ -0,0 +1,144 @@
+/**
+ * ***************************************************************************
+ * Copyright (c) 2010 Qcadoo Limited
+ * Project: Qcadoo Framework
+ * Version: 1.4
+ *
+ * This file is part of Qcadoo.
+ *
+ * Qcadoo is free software; you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published
+ * by the Free Software Foundation; either version 3 of the License,
+ * or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301  USA
+ * ***************************************************************************
+ */
+package com.qcadoo.view.internal.menu;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.qcadoo.model.api.DataDefinition;
+import com.qcadoo.plugin.api.Plugin;
+import com.qcadoo.tenant.api.MultiTenantService;
+import com.qcadoo.view.constants.QcadooViewConstants;
+
+public class MenuDefinitionCacheTest {
+
+    private MenuDefinitionCache menuDefinitionCache;
+
+    @Mock
+    private MultiTenantService multiTenantService;
+
+    @Mock
+    private DataDefinition menuItemDataDefinition;
+
+    @Mock
+    private DataDefinition otherDataDefinition;
+
+    @Mock
+    private Plugin plugin;
+
+    private MenuDefinition menuDefinition;
+
+    private String key;
+
+    @Before
+    public void init() {
+        MockitoAnnotations.initMocks(this);
+
+        given(multiTenantService.getCurrentTenantId()).willReturn(1);
+        given(menuItemDataDefinition.getPluginIdentifier()).willReturn(QcadooViewConstants.PLUGIN_IDENTIFIER);
+        given(menuItemDataDefinition.getName()).willReturn(QcadooViewConstants.MODEL_ITEM);
+        given(otherDataDefinition.getPluginIdentifier()).willReturn(QcadooViewConstants.PLUGIN_IDENTIFIER);
+        given(otherDataDefinition.getName()).willReturn(QcadooViewConstants.MODEL_ALERT);
+
+        menuDefinitionCache = new MenuDefinitionCache();
+
+        setField(menuDefinitionCache, "multiTenantService", multiTenantService);
+        setField(menuDefinitionCache, "maximumSize", 10L);
+
+        menuDefinitionCache.init();
+
+        menuDefinition = new MenuDefinition();
+        key = menuDefinitionCache.createKey(Locale.ENGLISH);
+
+        menuDefinitionCache.put(key, menuDefinitionCache.getGeneration(), menuDefinition);
+    }
+
+    @Test
+    public final void shouldReturnCachedMenu() {
+        // when
+        MenuDefinition cachedMenuDefinition = menuDefinitionCache.get(key);
+
+        // then
+        assertSame(menuDefinition, cachedMenuDefinition);
+    }
+
+    @Test
+    public final void shouldNotReturnMenuForOtherLocale() {
+        // when
+        MenuDefinition cachedMenuDefinition = menuDefinitionCache.get(menuDefinitionCache.createKey(Locale.GERMAN));
+
+        // then
+        assertNull(cachedMenuDefinition);
+    }
+
+    @Test
+    public final void shouldInvalidateMenuWhenMenuItemIsSaved() {
+        // when
+        menuDefinitionCache.onSave(menuItemDataDefinition, null);
+
+        // then
+        assertNull(menuDefinitionCache.get(key));
+    }
+
+    @Test
+    public final void shouldNotInvalidateMenuWhenOtherEntityIsDeleted() {
+        // when
+        menuDefinitionCache.onDelete(otherDataDefinition, 1L);
+
+        // then
+        assertSame(menuDefinition, menuDefinitionCache.get(key));
+    }
+
+    @Test
+    public final void shouldInvalidateMenuWhenPluginStateChanges() {
+        // when
+        menuDefinitionCache.onPluginStateChange(plugin);
+
+        // then
+        assertNull(menuDefinitionCache.get(key));
+    }
+
+    @Test
+    public final void shouldNotCacheMenuBuiltBeforeInvalidation() {
+        // given
+        long generation = menuDefinitionCache.getGeneration();
+        menuDefinitionCache.invalidate();
+
+        // when
+        menuDefinitionCache.put(key, generation, menuDefinition);
+
+        // then
+        assertNull(menuDefinitionCache.get(key));
+    }
+
+}
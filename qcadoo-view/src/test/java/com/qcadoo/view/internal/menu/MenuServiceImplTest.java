@@ -96,6 +96,9 @@ public class MenuServiceImplTest {
     @Mock
     private ViewDefinitionService viewDefinitionService;
 
+    @Mock
+    private MenuDefinitionCache menuDefinitionCache;
+
     @Captor
     private ArgumentCaptor<Entity> entityCaptor;
 
@@ -111,6 +114,7 @@ public class MenuServiceImplTest {
         ReflectionTestUtils.setField(menuService, "viewDefinitionRoleResolver", viewDefinitionRoleResolver);
         ReflectionTestUtils.setField(menuService, "translationUtilsService", translationUtilsService);
         ReflectionTestUtils.setField(menuService, "viewDefinitionService", viewDefinitionService);
+        ReflectionTestUtils.setField(menuService, "menuDefinitionCache", menuDefinitionCache);
 
         stubSecurityRole(ROLE_VISIBLE, true);
         stubSecurityRole(ROLE_INVISIBLE, false);
@@ -410,6 +414,36 @@ public class MenuServiceImplTest {
         assertEquals(0, menuDefinition.getItems().size());
     }
 
+    @Test
+    public final void shouldReturnCachedMenu() {
+        // given
+        MenuDefinition cachedMenuDefinition = new MenuDefinition();
+        given(menuDefinitionCache.createKey(Locale.ENGLISH)).willReturn("menuKey");
+        given(menuDefinitionCache.get("menuKey")).willReturn(cachedMenuDefinition);
+
+        // when
+        MenuDefinition menuDefinition = menuService.getMenu(Locale.ENGLISH);
+
+        // then
+        Assert.assertSame(cachedMenuDefinition, menuDefinition);
+        verify(menuCrudService, never()).getSortedMenuCategories();
+        verify(menuDefinitionCache, never()).put(any(String.class), anyLong(), any(MenuDefinition.class));
+    }
+
+    @Test
+    public final void shouldBuildAndCacheMenu() {
+        // given
+        given(menuDefinitionCache.createKey(Locale.ENGLISH)).willReturn("menuKey");
+        given(menuDefinitionCache.getGeneration()).willReturn(3L);
+
+        // when
+        MenuDefinition menuDefinition = menuService.getMenu(Locale.ENGLISH);
+
+        // then
+        verify(menuCrudService).getSortedMenuCategories();
+        verify(menuDefinitionCache).put("menuKey", 3L, menuDefinition);
+    }
+
     @Test
     public final void shouldReturnMenu() {
         // given
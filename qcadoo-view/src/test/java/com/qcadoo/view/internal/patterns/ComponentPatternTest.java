@@ -59,7 +59,6 @@ import com.qcadoo.view.internal.internal.EventHandlerHolder;
 public class ComponentPatternTest extends AbstractPatternTest {
 
     @Test
-    @SuppressWarnings("unchecked")
     public void shouldHaveValidInstance() throws Exception {
         // given
         InternalViewDefinitionState viewDefinitionState = mock(InternalViewDefinitionState.class);
@@ -82,10 +81,8 @@ public class ComponentPatternTest extends AbstractPatternTest {
         assertTrue(state instanceof FormComponent);
 
         EventHandlerHolder eventHandlerHolder = (EventHandlerHolder) getField(state, "eventHandlerHolder");
-        Map<String, List<EventHandlerHolder.EventHandler>> eventHandlers = (Map<String, List<EventHandlerHolder.EventHandler>>) getField(
-                eventHandlerHolder, "eventHandlers");
 
-        List<EventHandlerHolder.EventHandler> handlers = eventHandlers.get("save");
+        List<EventHandlerHolder.EventHandler> handlers = eventHandlerHolder.getEventHandlers("save");
 
         assertNotNull(handlers);
         assertEquals(2, handlers.size());
@@ -24,6 +24,8 @@
 package com.qcadoo.view.internal.states;
 
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.springframework.test.util.ReflectionTestUtils.setField;
@@ -33,6 +35,8 @@ import org.junit.Test;
 import org.mockito.Mockito;
 import org.springframework.context.ApplicationContext;
 
+import com.google.common.collect.ImmutableListMultimap;
+
 import com.qcadoo.view.api.ComponentState;
 import com.qcadoo.view.api.ViewDefinitionState;
 import com.qcadoo.view.internal.components.form.FormComponentPattern;
@@ -118,6 +122,52 @@ public class DefaultEventHandlerTest {
         Mockito.verify(eventListener2).invokeEvent(viewDefinitionState, component, new String[0]);
     }
 
+    @Test
+    public void shouldCallCustomEventsSharedByPattern() throws Exception {
+        // given
+        ViewDefinitionState viewDefinitionState = mock(ViewDefinitionState.class);
+
+        ViewEventListenerHook eventListener = mock(ViewEventListenerHook.class);
+        ImmutableListMultimap<String, ViewEventListenerHook> customEvents = ImmutableListMultimap.of("custom", eventListener);
+
+        ComponentStateMock component1 = new ComponentStateMock();
+        component1.setCustomEvents(customEvents);
+        ComponentStateMock component2 = new ComponentStateMock();
+        component2.setCustomEvents(customEvents);
+
+        // when
+        component1.performEvent(viewDefinitionState, "custom", "arg0");
+        component2.performEvent(viewDefinitionState, "custom", "arg1");
+
+        // then
+        Mockito.verify(eventListener).invokeEvent(viewDefinitionState, component1, new String[] { "arg0" });
+        Mockito.verify(eventListener).invokeEvent(viewDefinitionState, component2, new String[] { "arg1" });
+    }
+
+    @Test
+    public void shouldPropagateErrorThrownByEventMethodUnchanged() throws Exception {
+        // given
+        final AssertionError error = new AssertionError("event failed");
+        ComponentStateMock component = new ComponentStateMock();
+        component.registerTestEvent("failing", new ComponentStateMock.TestEvent() {
+
+            @Override
+            public void invoke(final String... args) {
+                throw error;
+            }
+
+        });
+
+        // when
+        try {
+            component.performEvent(mock(ViewDefinitionState.class), "failing");
+            fail();
+        } catch (AssertionError e) {
+            // then
+            assertSame(error, e);
+        }
+    }
+
     @Test
     public void shouldNotThrowExceptionWhenEventNotExists() throws Exception {
         // given